@@ -13,6 +13,8 @@
 
 import net.sf.oval.context.OValContext;
 import net.sf.oval.expression.ExpressionLanguage;
+import net.sf.oval.internal.CompiledTarget;
+import net.sf.oval.internal.ProfileMasks;
 import net.sf.oval.internal.util.StringUtils;
 
 /**
@@ -30,9 +32,15 @@ public abstract class AbstractCheck implements Check {
    private Map<String, ? extends Serializable> messageVariablesUnmodifiable;
    private boolean messageVariablesUpToDate = true;
    private String[] profiles;
+
+   /**
+    * the profiles as bitmask, lazily computed, <code>0</code> if not yet computed
+    */
+   private transient volatile long profilesMask;
    private int severity;
    private ConstraintTarget[] appliesTo;
    private String target;
+   private transient CompiledTarget compiledTarget;
    private String when;
    private transient String whenFormula;
    private transient String whenLang;
@@ -122,11 +130,35 @@ public String[] getProfiles() {
       return profiles;
    }
 
+   /**
+    * @return the profiles as bitmask or {@link ProfileMasks#NOT_REPRESENTABLE} if the profiles are not representable as
+    *         bitmask
+    */
+   long getProfilesMask() {
+      long mask = profilesMask;
+      if (mask == 0) {
+         mask = ProfileMasks.ofCheckProfiles(getProfiles());
+         profilesMask = mask;
+      }
+      return mask;
+   }
+
    @Override
    public int getSeverity() {
       return severity;
    }
 
+   /**
+    * @return the parsed target expression or <code>null</code> if no target is set
+    */
+   CompiledTarget getCompiledTarget() {
+      // this triggers parsing of target, happens when this check instance was deserialized
+      if (compiledTarget == null && target != null) {
+         compiledTarget = CompiledTarget.of(target);
+      }
+      return compiledTarget;
+   }
+
    @Override
    public String getTarget() {
       return target;
@@ -186,6 +218,7 @@ public void setMessage(final String message) {
    @Override
    public void setProfiles(final String... profiles) {
       this.profiles = profiles;
+      profilesMask = 0;
    }
 
    @Override
@@ -196,6 +229,7 @@ public void setSeverity(final int severity) {
    @Override
    public void setTarget(final String target) {
       this.target = target;
+      compiledTarget = CompiledTarget.of(target);
    }
 
    @Override
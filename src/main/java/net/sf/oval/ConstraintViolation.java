@@ -9,6 +9,7 @@
 import java.util.Arrays;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Locale;
 import java.util.Map;
 
 import net.sf.oval.context.IterableElementContext;
@@ -16,8 +17,8 @@
 import net.sf.oval.context.MapValueContext;
 import net.sf.oval.context.OValContext;
 import net.sf.oval.internal.Log;
+import net.sf.oval.internal.ReusableElementContexts;
 import net.sf.oval.internal.util.Assert;
-import net.sf.oval.internal.util.CollectionUtils;
 import net.sf.oval.localization.context.DefaultOValContextRenderer;
 
 /**
@@ -43,10 +44,23 @@ public class ConstraintViolation implements Serializable {
    private transient Object invalidValue;
    private final List<OValContext> contextPath;
 
-   private final String message;
+   /**
+    * the rendered message, lazily initialized if {@link #messageRenderer} is set
+    */
+   private String message;
    private final String messageTemplate;
    private final Map<String, ? extends Serializable> messageVariables;
 
+   /**
+    * the validator used to render the message on first access, null if the message was provided on construction
+    */
+   private transient Validator messageRenderer;
+
+   /**
+    * the locale that was active when the constraint violation occurred
+    */
+   private transient Locale messageLocale;
+
    /**
     * @since 3.1
     */
@@ -79,10 +93,26 @@ private ConstraintViolation( //
       severity = check.getSeverity();
       this.validatedObject = validatedObject;
       this.invalidValue = invalidValue;
-      contextPath = CollectionUtils.clone(invalidValuePath);
+      contextPath = ReusableElementContexts.snapshot(invalidValuePath);
       this.causes = causes != null && causes.length == 0 ? null : causes;
    }
 
+   /**
+    * Creates a constraint violation whose message is rendered by the given validator on first access.
+    */
+   ConstraintViolation( //
+      final Check check, //
+      final Validator messageRenderer, //
+      final Locale messageLocale, //
+      final Object validatedObject, //
+      final Object invalidValue, //
+      final List<OValContext> invalidValuePath //
+   ) {
+      this(check, null, validatedObject, invalidValue, invalidValuePath, (ConstraintViolation[]) null);
+      this.messageRenderer = messageRenderer;
+      this.messageLocale = messageLocale;
+   }
+
    /**
     * @deprecated use {@link #ConstraintViolation(Check, String, Object, Object, List)}
     */
@@ -218,9 +248,24 @@ public Object getInvalidValue() {
     * @return the localized and rendered message
     */
    public String getMessage() {
+      if (message == null && messageRenderer != null) {
+         message = messageRenderer.renderMessage(contextPath, invalidValue, messageTemplate, messageVariables, messageLocale);
+      }
       return message;
    }
 
+   /**
+    * @return the message rendered for the given locale. If the message was not created by the validator but provided
+    *         by a check implementation the provided message is returned.
+    */
+   public String getMessage(final Locale locale) {
+      Assert.argumentNotNull("locale", locale);
+
+      if (messageRenderer == null || locale.equals(messageLocale))
+         return getMessage();
+      return messageRenderer.renderMessage(contextPath, invalidValue, messageTemplate, messageVariables, locale);
+   }
+
    /**
     * @return the raw message specified for the constraint without variable resolution and localization
     */
@@ -258,13 +303,16 @@ private void readObject(final java.io.ObjectInputStream in) throws IOException,
 
    @Override
    public String toString() {
-      return getClass().getName() + ": " + message;
+      return getClass().getName() + ": " + getMessage();
    }
 
    /**
     * @see Serializable
     */
    private void writeObject(final java.io.ObjectOutputStream out) throws IOException {
+      // ensure the message is rendered since the message renderer is not serialized
+      getMessage();
+
       out.defaultWriteObject();
 
       if (validatedObject instanceof Serializable) {
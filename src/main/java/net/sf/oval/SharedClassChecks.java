@@ -0,0 +1,78 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import net.sf.oval.configuration.Configurer;
+import net.sf.oval.internal.ClassChecks;
+import net.sf.oval.internal.util.Assert;
+import net.sf.oval.internal.util.WeakClassCache;
+
+/**
+ * Cache of the checks created from the configurers of a validator that can be shared by multiple {@link Validator} and
+ * {@link net.sf.oval.guard.Guard} instances, see {@link Validator#setSharedClassChecks(SharedClassChecks)}.
+ *
+ * The checks are cached per list of configurers and class. Configurers are compared via {@link Object#equals(Object)},
+ * i.e. usually the validators need to be created with the same configurer instances to share checks. Shared checks are
+ * never modified, checks added or removed programmatically are applied to a copy owned by the modifying validator.
+ *
+ * The checks of a class are removed once the class is garbage collected.
+ *
+ * Validators sharing checks should use the same {@link net.sf.oval.guard.ParameterNameResolver} since it is
+ * used when the checks are created.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class SharedClassChecks {
+
+   private final ConcurrentMap<List<Configurer>, WeakClassCache<Class<?>, ClassChecks>> checksByConfigurers = Validator.getCollectionFactory()
+      .createConcurrentMap(4);
+
+   /**
+    * Removes all cached checks. Validators keep using the checks they already obtained until they are reconfigured.
+    */
+   public void clear() {
+      checksByConfigurers.clear();
+   }
+
+   /**
+    * @return the number of cached class checks
+    */
+   public int size() {
+      int size = 0;
+      for (final WeakClassCache<Class<?>, ClassChecks> checksByClass : checksByConfigurers.values()) {
+         size += checksByClass.size();
+      }
+      return size;
+   }
+
+   ClassChecks getClassChecks(final List<Configurer> configurers, final Class<?> clazz, final Function<Class<?>, ClassChecks> factory) {
+      Assert.argumentNotNull("clazz", clazz);
+
+      return checksByConfigurers.computeIfAbsent(configurers, k -> new WeakClassCache<>(c -> c)) //
+         .computeIfAbsent(clazz, k -> {
+            final ClassChecks cc = factory.apply(k);
+            cc.isShared = true;
+            return cc;
+         });
+   }
+
+   void remove(final List<Configurer> configurers) {
+      checksByConfigurers.remove(configurers);
+   }
+
+   void remove(final List<Configurer> configurers, final Collection<Class<?>> classes) {
+      final WeakClassCache<Class<?>, ClassChecks> checksByClass = checksByConfigurers.get(configurers);
+      if (checksByClass != null) {
+         for (final Class<?> clazz : classes) {
+            checksByClass.remove(clazz);
+         }
+      }
+   }
+}
@@ -9,15 +9,28 @@
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.ConcurrentMap;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import net.sf.oval.collection.CollectionFactory;
 import net.sf.oval.collection.CollectionFactoryJDKImpl;
@@ -40,16 +53,11 @@
 import net.sf.oval.constraint.AssertValidCheck;
 import net.sf.oval.constraint.ConstraintsCheck;
 import net.sf.oval.constraint.NotNullCheck;
-import net.sf.oval.context.ClassContext;
 import net.sf.oval.context.ConstructorParameterContext;
 import net.sf.oval.context.FieldContext;
-import net.sf.oval.context.IterableElementContext;
-import net.sf.oval.context.MapKeyContext;
-import net.sf.oval.context.MapValueContext;
 import net.sf.oval.context.MethodParameterContext;
 import net.sf.oval.context.MethodReturnValueContext;
 import net.sf.oval.context.OValContext;
-import net.sf.oval.context.ObjectGraphNavigationContext;
 import net.sf.oval.exception.ConstraintSetAlreadyDefinedException;
 import net.sf.oval.exception.ConstraintsViolatedException;
 import net.sf.oval.exception.ExceptionTranslator;
@@ -64,15 +72,22 @@
 import net.sf.oval.guard.ParameterNameResolver;
 import net.sf.oval.guard.ParameterNameResolverEnumerationImpl;
 import net.sf.oval.internal.ClassChecks;
+import net.sf.oval.internal.CompiledTarget;
+import net.sf.oval.internal.InvariantChecks;
 import net.sf.oval.internal.ContextCache;
 import net.sf.oval.internal.Log;
 import net.sf.oval.internal.MessageRenderer;
+import net.sf.oval.internal.ProfileMasks;
+import net.sf.oval.internal.ReusableElementContexts;
+import net.sf.oval.internal.ValidationPlan;
 import net.sf.oval.internal.util.ArrayUtils;
 import net.sf.oval.internal.util.Assert;
 import net.sf.oval.internal.util.CollectionUtils;
 import net.sf.oval.internal.util.IdentityHashSet;
+import net.sf.oval.internal.util.MemberAccessor;
 import net.sf.oval.internal.util.ReflectionUtils;
 import net.sf.oval.internal.util.StringUtils;
+import net.sf.oval.internal.util.WeakClassCache;
 import net.sf.oval.localization.context.DefaultOValContextRenderer;
 import net.sf.oval.localization.context.OValContextRenderer;
 import net.sf.oval.localization.locale.LocaleProvider;
@@ -103,6 +118,17 @@ public class Validator implements IValidator {
 
    protected static final Check[] EMPTY_CHECKS = {};
 
+   /**
+    * The checks, validation plans and constraint sets created from the configurers. Replaced as a whole by
+    * {@link Validator#reconfigureChecks()} and {@link Validator#reloadChecks(Collection)} so that running validation cycles
+    * are not affected by a reconfiguration.
+    */
+   private static final class ConfiguredChecks {
+      final WeakClassCache<Class<?>, ClassChecks> checksByClass = new WeakClassCache<>(c -> c);
+      final WeakClassCache<Class<?>, ValidationPlan> validationPlansByClass = new WeakClassCache<>(c -> c);
+      final Map<String, ConstraintSet> constraintSetsById = collectionFactory.createConcurrentMap(4);
+   }
+
    protected static final class DelegatingParameterNameResolver implements ParameterNameResolver {
       private ParameterNameResolver delegate;
 
@@ -131,6 +157,36 @@ public void setDelegate(final ParameterNameResolver delegate) {
 
    protected final class InternalValidationCycle implements ValidationCycle {
       public final String[] profiles;
+
+      /**
+       * the profiles as bitmask, only relevant if {@link #profiles} is not null
+       */
+      public final long profilesMask;
+
+      /**
+       * the bits of the profiles interned when {@link #profilesMask} was computed, see {@link ProfileMasks#internedMask()}
+       */
+      public final long profilesMaskCoverage;
+
+      /**
+       * the maximum number of constraint violations to collect, <code>0</code> for no limit
+       */
+      public final int maxViolations;
+
+      /**
+       * if true, detected constraint violations are only counted, i.e. no messages are rendered
+       * and no {@link ConstraintViolation} objects are created
+       */
+      public final boolean discardViolations;
+      /**
+       * if not null, detected constraint violations are passed to the sink instead of being collected in {@link #violations}
+       */
+      public final ViolationSink violationSink;
+      /**
+       * the configuration snapshot used during the whole validation cycle
+       */
+      private final ConfiguredChecks configuredChecks = Validator.this.configuredChecks;
+      private int violationsCount;
       public IdentityHashSet<Object> validatedObjects = new IdentityHashSet<>(4);
       public final Object rootValidatedObject;
       public List<ConstraintViolation> violations = Collections.emptyList();
@@ -138,17 +194,76 @@ protected final class InternalValidationCycle implements ValidationCycle {
       public final List<OValContext> contextPathImmutable = Collections.unmodifiableList(contextPath);
 
       public InternalValidationCycle(final Object rootValidatedObject, final String[] profiles) {
+         this(rootValidatedObject, profiles, Validator.this.maxViolations);
+      }
+
+      public InternalValidationCycle(final Object rootValidatedObject, final String[] profiles, final int maxViolations) {
+         this(rootValidatedObject, profiles, maxViolations, false);
+      }
+
+      public InternalValidationCycle(final Object rootValidatedObject, final String[] profiles, final int maxViolations, final boolean discardViolations) {
+         this(rootValidatedObject, profiles, maxViolations, discardViolations, null);
+      }
+
+      public InternalValidationCycle(final Object rootValidatedObject, final String[] profiles, final int maxViolations, final ViolationSink violationSink) {
+         this(rootValidatedObject, profiles, maxViolations, false, violationSink);
+      }
+
+      private InternalValidationCycle(final Object rootValidatedObject, final String[] profiles, final int maxViolations, final boolean discardViolations,
+         final ViolationSink violationSink) {
          this.profiles = profiles;
+         profilesMaskCoverage = ProfileMasks.internedMask();
+         profilesMask = profiles == null ? 0 : ProfileMasks.ofProfiles(profiles);
          this.rootValidatedObject = rootValidatedObject;
+         this.maxViolations = maxViolations;
+         this.discardViolations = discardViolations;
+         this.violationSink = violationSink;
       }
 
       @Override
       public void addConstraintViolation(final Check check, final String message, final Object invalidValue) {
+         if (discardViolations) {
+            if (!isMaxViolationsReached()) {
+               violationsCount++;
+            }
+            return;
+         }
          addConstraintViolation(new ConstraintViolation(check, message, rootValidatedObject, invalidValue, contextPathImmutable));
       }
 
+      /**
+       * Adds a constraint violation for the given check whose message is rendered on first access if supported, see
+       * {@link Validator#renderMessage(List, Object, String, Map, Locale)}.
+       */
+      public void addConstraintViolation(final Check check, final Object invalidValue) {
+         if (discardViolations) {
+            if (!isMaxViolationsReached()) {
+               violationsCount++;
+            }
+            return;
+         }
+         if (!_isLazyMessageRendering()) {
+            addConstraintViolation(check, renderMessage(contextPath, invalidValue, check.getMessage(), check.getMessageVariables()), invalidValue);
+            return;
+         }
+         addConstraintViolation(new ConstraintViolation(check, Validator.this, localeProvider.getLocale(), rootValidatedObject, invalidValue,
+            contextPathImmutable));
+      }
+
       @Override
       public void addConstraintViolation(final ConstraintViolation violation) {
+         if (isMaxViolationsReached())
+            return;
+
+         violationsCount++;
+         if (discardViolations)
+            return;
+
+         if (violationSink != null) {
+            violationSink.accept(violation);
+            return;
+         }
+
          if (violations.isEmpty()) {
             violations = collectionFactory.createList();
          }
@@ -165,6 +280,20 @@ public Object getRootObject() {
          return rootValidatedObject;
       }
 
+      /**
+       * @return true if the maximum number of constraint violations has been collected and the validation cycle shall be aborted
+       */
+      public boolean isMaxViolationsReached() {
+         return maxViolations > 0 && violationsCount >= maxViolations;
+      }
+
+      /**
+       * @return the number of constraint violations detected so far
+       */
+      public int getViolationsCount() {
+         return violationsCount;
+      }
+
       @Override
       public Validator getValidator() {
          return Validator.this;
@@ -173,12 +302,67 @@ public Validator getValidator() {
 
    private static final Log LOG = Log.getLog(Validator.class);
 
+   /**
+    * if a message resolver class overrides {@link MessageResolver#getLocalizedMessage(String, Locale)}
+    */
+   private static final ClassValue<Boolean> IS_LOCALE_AWARE_MESSAGE_RESOLVER = new ClassValue<Boolean>() {
+      @Override
+      protected Boolean computeValue(final Class<?> type) {
+         try {
+            return type.getMethod("getLocalizedMessage", String.class, Locale.class).getDeclaringClass() != MessageResolver.class;
+         } catch (final NoSuchMethodException ex) {
+            return false;
+         }
+      }
+   };
+
+   /**
+    * number of objects validated by one task in {@link #validateAll(Iterable, Executor)}
+    */
+   private static final int VALIDATE_ALL_BATCH_SIZE = 64;
+
    private static CollectionFactory collectionFactory = _createDefaultCollectionFactory();
    private static OValContextRenderer contextRenderer = DefaultOValContextRenderer.INSTANCE;
    private static LocaleProvider localeProvider = new ThreadLocalLocaleProvider();
    private static MessageResolver messageResolver;
    private static MessageValueFormatter messageValueFormatter = ToStringMessageValueFormatter.INSTANCE;
 
+   private static boolean _isAnyProfileEnabledOverridden(final Class<?> clazz) {
+      for (Class<?> c = clazz; c != Validator.class; c = c.getSuperclass()) {
+         try {
+            c.getDeclaredMethod("isAnyProfileEnabled", String[].class, String[].class);
+            return true;
+         } catch (final NoSuchMethodException ex) {
+            // check super class
+         }
+      }
+      return false;
+   }
+
+   private static boolean _isCheckConstraintOverridden(final Class<?> clazz) {
+      for (Class<?> c = clazz; c != Validator.class; c = c.getSuperclass()) {
+         try {
+            c.getDeclaredMethod("checkConstraint", Check.class, Object.class, Object.class, OValContext.class, InternalValidationCycle.class, boolean.class);
+            return true;
+         } catch (final NoSuchMethodException ex) {
+            // check super class
+         }
+      }
+      return false;
+   }
+
+   private static boolean _isRenderMessageOverridden(final Class<?> clazz) {
+      for (Class<?> c = clazz; c != Validator.class; c = c.getSuperclass()) {
+         try {
+            c.getDeclaredMethod("renderMessage", List.class, Object.class, String.class, Map.class);
+            return true;
+         } catch (final NoSuchMethodException ex) {
+            // check super class
+         }
+      }
+      return false;
+   }
+
    private static CollectionFactory _createDefaultCollectionFactory() {
       // if Javolution collection classes are found use them by default
       if (ReflectionUtils.isClassPresent("javolution.util.FastMap") //
@@ -269,25 +453,54 @@ public static void setMessageValueFormatter(final MessageValueFormatter formatte
       Validator.messageValueFormatter = formatter;
    }
 
-   private final ConcurrentMap<Class<?>, ClassChecks> checksByClass = collectionFactory.createConcurrentMap();
+   private volatile ConfiguredChecks configuredChecks = new ConfiguredChecks();
    private final Set<Configurer> configurers = new LinkedHashSet<>(4);
-   private final Map<String, ConstraintSet> constraintSetsById = collectionFactory.createConcurrentMap(4);
+   private final WeakClassCache<Field, Class<?>[]> containerElementTypesByField = new WeakClassCache<>(Field::getDeclaringClass);
 
    protected final ThreadLocal<LinkedList<InternalValidationCycle>> currentValidationCycles = ThreadLocal.withInitial(LinkedList::new);
 
    private ExceptionTranslator exceptionTranslator;
 
+   private volatile int maxViolations = 0;
+
+   private volatile int fastPathThreshold = 100;
+
+   private volatile SharedClassChecks sharedClassChecks;
+
+   /**
+    * false if a sub class overrides {@link #checkConstraint(Check, Object, Object, OValContext, InternalValidationCycle, boolean)}
+    * which the fast path would bypass
+    */
+   private final boolean isFastPathSupported = !_isCheckConstraintOverridden(getClass());
+
+   /**
+    * messages are rendered eagerly via {@link #renderMessage(List, Object, String, Map)} if a subclass overrides it
+    */
+   private final boolean isLazyMessageRenderingSupported = !_isRenderMessageOverridden(getClass());
+
+   /**
+    * profiles are always checked via {@link #isAnyProfileEnabled(String[], String[])} if a subclass overrides it
+    */
+   private final boolean isProfilesMaskSupported = !_isAnyProfileEnabledOverridden(getClass());
+
    protected final ExpressionLanguageRegistry expressionLanguageRegistry = new ExpressionLanguageRegistry();
 
    private final Set<String> disabledProfiles = collectionFactory.createSet();
    private final Set<String> enabledProfiles = collectionFactory.createSet();
-   private boolean isAllProfilesEnabledByDefault = true;
+   private volatile long disabledProfilesMask;
+   private volatile long enabledProfilesMask;
+
+   /**
+    * the bits of the profiles interned when {@link #disabledProfilesMask} and {@link #enabledProfilesMask} were computed
+    */
+   private volatile long profilesMasksCoverage;
+   private volatile boolean isAllProfilesEnabledByDefault = true;
 
    /**
     * Flag that indicates any configuration method related to profiles was called.
     * Used for performance improvements.
     */
-   private boolean isProfilesFeatureUsed = false;
+   private volatile boolean isProfilesFeatureUsed = false;
 
    protected final ObjectGraphNavigatorRegistry ognRegistry = new ObjectGraphNavigatorRegistry();
 
@@ -550,6 +763,14 @@ private void _addChecks(final ClassChecks cc, final ClassConfiguration classCfg)
       }
    }
 
+   private void _addConstraintSet(final ConfiguredChecks configured, final ConstraintSet constraintSet, final boolean overwrite)
+      throws ConstraintSetAlreadyDefinedException {
+      if (!overwrite && configured.constraintSetsById.containsKey(constraintSet.getId()))
+         throw new ConstraintSetAlreadyDefinedException(constraintSet.getId());
+
+      configured.constraintSetsById.put(constraintSet.getId(), constraintSet);
+   }
+
    private void _checkConstraint(final Check check, final Object validatedObject, final Object valueToValidate, final InternalValidationCycle cycle) {
       /*
        * special handling of the AssertValid constraint
@@ -589,15 +810,57 @@ private void _checkConstraint(final Check check, final Object validatedObject, f
        * standard constraints handling
        */
       if (!check.isSatisfied(validatedObject, valueToValidate, cycle)) {
-         final String errorMessage = renderMessage(cycle.contextPath, valueToValidate, check.getMessage(), check.getMessageVariables());
-         cycle.addConstraintViolation(check, errorMessage, valueToValidate);
+         cycle.addConstraintViolation(check, valueToValidate);
+      }
+   }
+
+   private ClassChecks _createClassChecks(final Class<?> clazz) throws InvalidConfigurationException, ReflectionException {
+      final ClassChecks newCC = new ClassChecks(clazz, parameterNameResolver);
+      // publish the invariant checks once instead of after each added check
+      newCC.beginBatchUpdate();
+      try {
+         for (final Configurer configurer : configurers) {
+            final ClassConfiguration classConfig = configurer.getClassConfiguration(clazz);
+            if (classConfig != null) {
+               _addChecks(newCC, classConfig);
+            }
+         }
+      } finally {
+         newCC.endBatchUpdate();
+      }
+      return newCC;
+   }
+
+   private ClassChecks _getClassChecks(final ConfiguredChecks configured, final Class<?> clazz) throws InvalidConfigurationException, ReflectionException {
+      return configured.checksByClass.computeIfAbsent(clazz, k -> {
+         final SharedClassChecks shared = sharedClassChecks;
+         if (shared == null)
+            return _createClassChecks(k);
+         return shared.getClassChecks(new ArrayList<>(configurers), k, this::_createClassChecks);
+      });
+   }
+
+   private ConstraintSet _getConstraintSet(final ConfiguredChecks configured, final String constraintSetId) throws InvalidConfigurationException {
+      ConstraintSet cs = configured.constraintSetsById.get(constraintSetId);
+      if (cs == null) {
+         for (final Configurer configurer : configurers) {
+            final ConstraintSetConfiguration csc = configurer.getConstraintSetConfiguration(constraintSetId);
+            if (csc != null) {
+               cs = new ConstraintSet(csc.id);
+               cs.setChecks(csc.checks);
+
+               _addConstraintSet(configured, cs, csc.overwrite != null && csc.overwrite);
+            }
+         }
       }
+      return cs;
    }
 
    private Class<?> _getContainerElementType(final OValContext containerContext, final int typeArgumentIndex) {
       if (containerContext instanceof FieldContext) {
-         final FieldContext ctx = (FieldContext) containerContext;
-         return ReflectionUtils.getTypeArgument(ctx.getField(), typeArgumentIndex);
+         final Class<?>[] typeArguments = containerElementTypesByField.computeIfAbsent(((FieldContext) containerContext).getField(),
+            ReflectionUtils::getTypeArguments);
+         return typeArguments.length > typeArgumentIndex ? typeArguments[typeArgumentIndex] : null;
       }
       if (containerContext instanceof MethodParameterContext) {
          final MethodParameterContext ctx = (MethodParameterContext) containerContext;
@@ -607,56 +870,217 @@ private Class<?> _getContainerElementType(final OValContext containerContext, fi
    }
 
    /**
-    * Validate validatedObject based on the constraints of the given class.
+    * Returns the validation plan for the given class, (re-)building it if it does not exist yet or if the checks of the
+    * class or any of its super classes have been modified since it was built.
     */
-   private void _validateObjectInvariants(final Object validatedObject, final Class<?> clazz, final InternalValidationCycle cycle)
-      throws ValidationFailedException {
-
-      // abort if the root class has been reached
-      if (clazz == Object.class)
-         return;
+   private ValidationPlan _getValidationPlan(final ConfiguredChecks configured, final Class<?> clazz) {
+      ValidationPlan plan = configured.validationPlansByClass.get(clazz);
+      if (plan == null || plan.isOutdated()) {
+         final List<ClassChecks> hierarchy = new ArrayList<>(4);
+         for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.add(_getClassChecks(configured, c));
+         }
+         plan = new ValidationPlan(clazz, hierarchy);
+         configured.validationPlansByClass.put(clazz, plan);
+      }
+      return plan;
+   }
 
-      try {
-         final ClassChecks cc = getClassChecks(clazz);
+   /**
+    * Determines if any profile of the given check is enabled for the given validation cycle by comparing the profile
+    * bitmasks, falling back to {@link #isAnyProfileEnabled(String[], String[])} for checks whose profiles are not
+    * representable as bitmask or if a subclass overrides it.
+    */
+   private boolean _isAnyProfileEnabled(final Check check, final InternalValidationCycle cycle) {
+      if (!isProfilesMaskSupported)
+         return isAnyProfileEnabled(check.getProfiles(), cycle.profiles);
+
+      final long checkProfilesMask = check instanceof AbstractCheck ? ((AbstractCheck) check).getProfilesMask() : ProfileMasks.NOT_REPRESENTABLE;
+      if (checkProfilesMask == ProfileMasks.NOT_REPRESENTABLE)
+         return isAnyProfileEnabled(check.getProfiles(), cycle.profiles);
+
+      if (cycle.profiles != null) {
+         // a profile of the check was interned after the validation cycle was created
+         if ((checkProfilesMask & ~cycle.profilesMaskCoverage) != 0)
+            return isAnyProfileEnabled(check.getProfiles(), cycle.profiles);
+         return (checkProfilesMask & cycle.profilesMask) != 0;
+      }
 
-         // validate field constraints
-         for (final Field field : cc.constrainedFields) {
-            final Collection<Check> checks = cc.checksForFields.get(field);
+      // use the global profile configuration
+      if (!isProfilesFeatureUsed)
+         return true;
+      if ((checkProfilesMask & ~profilesMasksCoverage) != 0) {
+         // a profile of the check was interned after the masks were computed
+         synchronized (this) {
+            _updateProfilesMasks();
+         }
+      }
+      if (isAllProfilesEnabledByDefault)
+         return (checkProfilesMask & ~disabledProfilesMask) != 0;
+      return (checkProfilesMask & enabledProfilesMask) != 0;
+   }
 
-            if (checks != null && !checks.isEmpty()) {
-               final FieldContext ctx = ContextCache.getFieldContext(field);
-               final Object valueToValidate = resolveValue(ctx, validatedObject);
+   /**
+    * Messages are only rendered on first access if {@link #renderMessage(List, Object, String, Map)} is not overridden and
+    * the message resolver resolves messages for a given locale instead of the locale of the current thread.
+    */
+   private boolean _isLazyMessageRendering() {
+      return isLazyMessageRenderingSupported && IS_LOCALE_AWARE_MESSAGE_RESOLVER.get(getMessageResolver().getClass());
+   }
 
-               for (final Check check : checks) {
-                  checkConstraint(check, validatedObject, valueToValidate, ctx, cycle, false);
-               }
+   /**
+    * Loads the constraint sets referenced by the given checks (and recursively by the checks of these constraint sets).
+    */
+   private void _loadConstraintSets(final ConfiguredChecks configured, final Check[] checks) throws InvalidConfigurationException {
+      for (final Check check : checks) {
+         if (check instanceof AssertConstraintSetCheck && !configured.constraintSetsById.containsKey(((AssertConstraintSetCheck) check).getId())) {
+            final ConstraintSet cs = _getConstraintSet(configured, ((AssertConstraintSetCheck) check).getId());
+            if (cs != null && cs.getChecks() != null) {
+               _loadConstraintSets(configured, cs.getChecks().toArray(EMPTY_CHECKS));
             }
          }
+      }
+   }
 
-         // validate constraints on getter methods
-         for (final Method getter : cc.constrainedMethods) {
-            final Collection<Check> checks = cc.checksForMethodReturnValues.get(getter);
+   /**
+    * Recomputes the bitmasks of the globally enabled/disabled profiles.
+    */
+   private void _updateProfilesMasks() {
+      final long coverage = ProfileMasks.internedMask();
+      disabledProfilesMask = ProfileMasks.ofProfiles(disabledProfiles);
+      enabledProfilesMask = ProfileMasks.ofProfiles(enabledProfiles);
+      profilesMasksCoverage = coverage;
+   }
 
-            if (checks != null && !checks.isEmpty()) {
-               final MethodReturnValueContext ctx = ContextCache.getMethodReturnValueContext(getter);
-               final Object valueToValidate = resolveValue(ctx, validatedObject);
+   /**
+    * Validates the objects provided by the given iterator in parallel batches using the given executor.
+    *
+    * If reading the objects or submitting a batch fails, the batches already submitted are stopped and awaited before the
+    * exception is rethrown.
+    */
+   private SortedMap<Integer, List<ConstraintViolation>> _validateAll(final Iterator<?> it, final Executor executor) throws IllegalArgumentException,
+      ValidationFailedException {
+      final SortedMap<Integer, List<ConstraintViolation>> result = new ConcurrentSkipListMap<>();
+      final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+      final Semaphore queuedBatches = new Semaphore(Runtime.getRuntime().availableProcessors() * 4);
+      final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+      int index = 0;
+      try {
+         while (it.hasNext() && failure.get() == null) {
+            final int batchStartIndex = index;
+            final Object[] batch = new Object[VALIDATE_ALL_BATCH_SIZE];
+            int batchSize = 0;
+            while (batchSize < batch.length && it.hasNext()) {
+               final Object validatedObject = it.next();
+               if (validatedObject == null)
+                  throw new IllegalArgumentException("[validatedObjects] must not contain null elements, found null at index " + index);
+               batch[batchSize++] = validatedObject;
+               index++;
+            }
+            final int batchLength = batchSize;
 
-               for (final Check check : checks) {
-                  checkConstraint(check, validatedObject, valueToValidate, ctx, cycle, false);
-               }
+            try {
+               queuedBatches.acquire();
+            } catch (final InterruptedException ex) {
+               Thread.currentThread().interrupt();
+               throw new ValidationFailedException("Interrupted while waiting for validation of objects", ex);
             }
-         }
 
-         // validate class-level constraints
-         if (!cc.checksForObject.isEmpty()) {
-            final ClassContext ctx = ContextCache.getClassContext(clazz);
-            for (final Check check : cc.checksForObject) {
-               checkConstraint(check, validatedObject, validatedObject, ctx, cycle, false);
+            try {
+               futures.add(CompletableFuture.runAsync(() -> {
+                  try {
+                     for (int i = 0; i < batchLength && failure.get() == null; i++) {
+                        final List<ConstraintViolation> violations = validate(batch[i]);
+                        if (!violations.isEmpty()) {
+                           result.put(batchStartIndex + i, violations);
+                        }
+                     }
+                  } catch (final RuntimeException ex) {
+                     failure.compareAndSet(null, ex);
+                  } finally {
+                     queuedBatches.release();
+                  }
+               }, executor));
+            } catch (final RuntimeException ex) {
+               // e.g. the executor rejected the task
+               queuedBatches.release();
+               throw ex;
             }
          }
+      } catch (final RuntimeException ex) {
+         // let the already submitted batches stop early
+         failure.compareAndSet(null, ex);
+         throw ex;
+      } finally {
+         // do not return while submitted batches are still running on the executor
+         CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).join();
+      }
+
+      final RuntimeException ex = failure.get();
+      if (ex != null) {
+         if (ex instanceof ValidationFailedException)
+            throw (ValidationFailedException) ex;
+         throw new ValidationFailedException("Validation of objects failed", ex);
+      }
+      return result;
+   }
+
+   /**
+    * Evaluates a built-in check without pushing the context path, resolving targets and inspecting containers.
+    *
+    * @return true if the check is satisfied or not applicable, false if the check needs to be processed via
+    *         {@link #checkConstraint(Check, Object, Object, OValContext, InternalValidationCycle, boolean)}
+    */
+   private boolean _isSatisfiedFastPath(final Check check, final byte fastPathMode, final Object validatedObject, final Object valueToValidate,
+      final InternalValidationCycle cycle) {
+      if (fastPathMode == ValidationPlan.FAST_PATH_NONE)
+         return false;
+
+      if (valueToValidate == null) {
+         if (fastPathMode == ValidationPlan.FAST_PATH_NULL_SATISFIED)
+            return true;
+      } else if (valueToValidate instanceof Iterable || valueToValidate instanceof Map || valueToValidate.getClass().isArray())
+         return false;
+
+      return !_isAnyProfileEnabled(check, cycle) || check.isSatisfied(validatedObject, valueToValidate, cycle);
+   }
+
+   /**
+    * Validate validatedObject based on the constraints of the given class and its super classes.
+    */
+   private void _validateObjectInvariants(final Object validatedObject, final Class<?> clazz, final InternalValidationCycle cycle)
+      throws ValidationFailedException {
+
+      // abort if the root class has been reached
+      if (clazz == Object.class)
+         return;
 
-         // validate checks applied to the super class (if any)
-         _validateObjectInvariants(validatedObject, clazz.getSuperclass(), cycle);
+      try {
+         final ValidationPlan plan = _getValidationPlan(cycle.configuredChecks, clazz);
+         final OValContext[] contexts = plan.contexts;
+         final Check[][] checks = plan.checks;
+         final byte[][] fastPathModes = isFastPathSupported ? plan.getFastPathModes(fastPathThreshold) : null;
+
+         for (int i = 0; i < contexts.length && !cycle.isMaxViolationsReached(); i++) {
+            final OValContext ctx = contexts[i];
+            final Object valueToValidate;
+            if (ctx instanceof FieldContext) {
+               valueToValidate = resolveValue((FieldContext) ctx, validatedObject);
+            } else if (ctx instanceof MethodReturnValueContext) {
+               valueToValidate = resolveValue((MethodReturnValueContext) ctx, validatedObject);
+            } else {
+               valueToValidate = validatedObject;
+            }
+
+            final Check[] stepChecks = checks[i];
+            for (int j = 0; j < stepChecks.length; j++) {
+               final Check check = stepChecks[j];
+               if (fastPathModes == null || !_isSatisfiedFastPath(check, fastPathModes[i][j], validatedObject, valueToValidate, cycle)) {
+                  checkConstraint(check, validatedObject, valueToValidate, ctx, cycle, false);
+               }
+            }
+         }
       } catch (final OValException ex) {
          throw new ValidationFailedException("Object validation failed. Class: " + clazz + " Validated object: " + validatedObject, ex);
       }
@@ -669,33 +1093,25 @@ private void _validateObjectInvariants(final Object validatedObject, final Class
     */
    private void _validateStaticInvariants(final Class<?> validatedClass, final InternalValidationCycle cycle) throws ValidationFailedException {
 
-      final ClassChecks cc = getClassChecks(validatedClass);
+      final InvariantChecks ic = _getClassChecks(cycle.configuredChecks, validatedClass).getInvariantChecks();
 
       // validate static field constraints
-      for (final Field field : cc.constrainedStaticFields) {
-         final Collection<Check> checks = cc.checksForFields.get(field);
-
-         if (checks != null && !checks.isEmpty()) {
-            final FieldContext ctx = ContextCache.getFieldContext(field);
-            final Object valueToValidate = resolveValue(ctx, null);
+      for (int i = 0; i < ic.staticFields.length; i++) {
+         final FieldContext ctx = ContextCache.getFieldContext(ic.staticFields[i]);
+         final Object valueToValidate = resolveValue(ctx, null);
 
-            for (final Check check : checks) {
-               checkConstraint(check, validatedClass, valueToValidate, ctx, cycle, false);
-            }
+         for (final Check check : ic.staticFieldChecks[i]) {
+            checkConstraint(check, validatedClass, valueToValidate, ctx, cycle, false);
          }
       }
 
       // validate constraints on getter methods
-      for (final Method getter : cc.constrainedStaticMethods) {
-         final Collection<Check> checks = cc.checksForMethodReturnValues.get(getter);
+      for (int i = 0; i < ic.staticMethods.length; i++) {
+         final MethodReturnValueContext ctx = ContextCache.getMethodReturnValueContext(ic.staticMethods[i]);
+         final Object valueToValidate = resolveValue(ctx, null);
 
-         if (checks != null && !checks.isEmpty()) {
-            final MethodReturnValueContext ctx = ContextCache.getMethodReturnValueContext(getter);
-            final Object valueToValidate = resolveValue(ctx, null);
-
-            for (final Check check : checks) {
-               checkConstraint(check, validatedClass, valueToValidate, ctx, cycle, false);
-            }
+         for (final Check check : ic.staticMethodChecks[i]) {
+            checkConstraint(check, validatedClass, valueToValidate, ctx, cycle, false);
          }
       }
    }
@@ -711,7 +1127,7 @@ public void addChecks(final Class<?> clazz, final Check... checks) throws Illega
       Assert.argumentNotNull("clazz", clazz);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(clazz).addObjectChecks(checks);
+      getModifiableClassChecks(clazz).addObjectChecks(checks);
    }
 
    /**
@@ -725,7 +1141,7 @@ public void addChecks(final Field field, final Check... checks) throws IllegalAr
       Assert.argumentNotNull("field", field);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(field.getDeclaringClass()).addFieldChecks(field, checks);
+      getModifiableClassChecks(field.getDeclaringClass()).addFieldChecks(field, checks);
    }
 
    /**
@@ -740,7 +1156,7 @@ public void addChecks(final Method invariantMethod, final Check... checks) throw
       Assert.argumentNotNull("invariantMethod", invariantMethod);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(invariantMethod.getDeclaringClass()).addMethodReturnValueChecks(invariantMethod, TRUE, checks);
+      getModifiableClassChecks(invariantMethod.getDeclaringClass()).addMethodReturnValueChecks(invariantMethod, TRUE, checks);
    }
 
    /**
@@ -759,10 +1175,7 @@ public void addConstraintSet(final ConstraintSet constraintSet, final boolean ov
       Assert.argumentNotNull("constraintSet", constraintSet);
       Assert.argumentNotBlank("constraintSet.id", constraintSet.getId());
 
-      if (!overwrite && constraintSetsById.containsKey(constraintSet.getId()))
-         throw new ConstraintSetAlreadyDefinedException(constraintSet.getId());
-
-      constraintSetsById.put(constraintSet.getId(), constraintSet);
+      _addConstraintSet(configuredChecks, constraintSet, overwrite);
    }
 
    @Override
@@ -785,7 +1198,10 @@ public void assertValidFieldValue(final Object validatedObject, final Field vali
     */
    protected void checkConstraint(final Check check, Object validatedObject, Object valueToValidate, OValContext context, final InternalValidationCycle cycle,
       final boolean isContainerValue) throws OValException {
-      if (!(check instanceof ConstraintsCheck) && !isAnyProfileEnabled(check.getProfiles(), cycle.profiles))
+      if (cycle.isMaxViolationsReached())
+         return;
+
+      if (!(check instanceof ConstraintsCheck) && !_isAnyProfileEnabled(check, cycle))
          return;
 
       if (!check.isActive(validatedObject, valueToValidate, cycle))
@@ -798,40 +1214,31 @@ protected void checkConstraint(final Check check, Object validatedObject, Object
 
       // only process the target expression if we are not already on a value inside the container object (collection, array, map)
       if (!isContainerValue) {
-         String target = check.getTarget();
+         final CompiledTarget target = check instanceof AbstractCheck //
+            ? ((AbstractCheck) check).getCompiledTarget()
+            : CompiledTarget.of(check.getTarget());
          if (target != null) {
-            target = target.trim();
-            if (target.length() > 0) {
-               if (valueToValidate == null)
-                  return;
-               final List<String> chunks = StringUtils.split(target, ':', 2);
-               final String ognId, path;
-               if (chunks.size() == 1) {
-                  ognId = "";
-                  path = chunks.get(0);
-               } else {
-                  ognId = chunks.get(0);
-                  path = chunks.get(1);
-               }
-               final ObjectGraphNavigationResult ognResult = ognRegistry.getObjectGraphNavigator(ognId) //
-                  .navigateTo(valueToValidate, path);
-               if (ognResult == null)
-                  return;
-
-               if (ognResult.path.indexOf('.') > -1) {
-                  cycle.contextPath.add(new ObjectGraphNavigationContext(StringUtils.substringBeforeLast(path, '.')));
-                  contextPathElementsAdded++;
-               }
-
-               validatedObject = ognResult.targetParent;
-               valueToValidate = ognResult.target;
-               context = ognResult.targetAccessor instanceof Field //
-                  ? ContextCache.getFieldContext((Field) ognResult.targetAccessor) //
-                  : ContextCache.getMethodReturnValueContext((Method) ognResult.targetAccessor);
+            final ObjectGraphNavigationResult ognResult = valueToValidate == null //
+               ? null
+               : ognRegistry.getObjectGraphNavigator(target.ognId).navigateTo(valueToValidate, target.path);
+            if (ognResult == null) {
+               CollectionUtils.removeLast(cycle.contextPath);
+               return;
+            }
 
-               cycle.contextPath.add(context);
+            if (ognResult.path.indexOf('.') > -1) {
+               cycle.contextPath.add(target.parentPathContext);
                contextPathElementsAdded++;
             }
+
+            validatedObject = ognResult.targetParent;
+            valueToValidate = ognResult.target;
+            context = ognResult.targetAccessor instanceof Field //
+               ? ContextCache.getFieldContext((Field) ognResult.targetAccessor) //
+               : ContextCache.getMethodReturnValueContext((Method) ognResult.targetAccessor);
+
+            cycle.contextPath.add(context);
+            contextPathElementsAdded++;
          }
       }
 
@@ -860,39 +1267,43 @@ protected void checkConstraint(final Check check, Object validatedObject, Object
             if (ArrayUtils.containsSame(targets, ConstraintTarget.VALUES) //
                && (!isContainerValue || ArrayUtils.containsSame(targets, ConstraintTarget.RECURSIVE))) {
                int i = 0;
-               final Class<?> elementType = _getContainerElementType(context, 0);
+               final ReusableElementContexts.IterableElement ctx = new ReusableElementContexts.IterableElement(_getContainerElementType(context, 0));
                for (final Object item : (Iterable<?>) valueToValidate) {
-                  final OValContext ctx = new IterableElementContext(elementType, i);
-                  checkConstraint(check, validatedObject, item, ctx, cycle, true);
+                  if (cycle.isMaxViolationsReached()) {
+                     break;
+                  }
+                  checkConstraint(check, validatedObject, item, ctx.set(i), cycle, true);
                   i++;
                }
             }
          } else if (isMap) {
             if (ArrayUtils.containsSame(targets, ConstraintTarget.KEYS) //
                && (!isContainerValue || ArrayUtils.containsSame(targets, ConstraintTarget.RECURSIVE))) {
-               final Class<?> elementType = _getContainerElementType(context, 0);
+               final ReusableElementContexts.MapKey ctx = new ReusableElementContexts.MapKey(_getContainerElementType(context, 0));
                for (final Object key : ((Map<?, ?>) valueToValidate).keySet()) {
-                  final OValContext ctx = new MapKeyContext(elementType, key);
-                  checkConstraint(check, validatedObject, key, ctx, cycle, true);
+                  if (cycle.isMaxViolationsReached()) {
+                     break;
+                  }
+                  checkConstraint(check, validatedObject, key, ctx.set(key), cycle, true);
                }
             }
             if (ArrayUtils.containsSame(targets, ConstraintTarget.VALUES) //
                && (!isContainerValue || ArrayUtils.containsSame(targets, ConstraintTarget.RECURSIVE))) {
-               final Class<?> elementType = _getContainerElementType(context, 1);
+               final ReusableElementContexts.MapValue ctx = new ReusableElementContexts.MapValue(_getContainerElementType(context, 1));
                for (final Entry<?, ?> entry : ((Map<?, ?>) valueToValidate).entrySet()) {
-                  final OValContext ctx = new MapValueContext(elementType, entry.getKey());
-                  checkConstraint(check, validatedObject, entry.getValue(), ctx, cycle, true);
+                  if (cycle.isMaxViolationsReached()) {
+                     break;
+                  }
+                  checkConstraint(check, validatedObject, entry.getValue(), ctx.set(entry.getKey()), cycle, true);
                }
             }
          } else { // array
             if (ArrayUtils.containsSame(targets, ConstraintTarget.VALUES) //
                && (!isContainerValue || ArrayUtils.containsSame(targets, ConstraintTarget.RECURSIVE))) {
                final Object fValidatedObject = validatedObject;
-               final Class<?> elementType = valueToValidate.getClass().getComponentType();
-               ArrayUtils.iterate(valueToValidate, (i, item) -> {
-                  final OValContext ctx = new IterableElementContext(elementType, i);
-                  checkConstraint(check, fValidatedObject, item, ctx, cycle, true);
-               });
+               final ReusableElementContexts.IterableElement ctx = new ReusableElementContexts.IterableElement(valueToValidate.getClass().getComponentType());
+               ArrayUtils.iterate(valueToValidate, cycle::isMaxViolationsReached, //
+                  (item, i) -> checkConstraint(check, fValidatedObject, item, ctx.set(i), cycle, true));
             }
          }
       }
@@ -908,7 +1319,7 @@ protected void checkConstraint(final Check check, Object validatedObject, Object
 
    protected void checkConstraintAssertConstraintSet(final AssertConstraintSetCheck check, final Object validatedObject, final Object valueToValidate,
       final InternalValidationCycle cycle) throws OValException {
-      final ConstraintSet cs = getConstraintSet(check.getId());
+      final ConstraintSet cs = _getConstraintSet(cycle.configuredChecks, check.getId());
 
       if (cs == null)
          throw new UndefinedConstraintSetException(check.getId());
@@ -973,12 +1384,8 @@ protected void checkConstraintAssertFieldConstraints(final AssertFieldConstraint
       if (field == null)
          throw new FieldNotFoundException("Field <" + fieldName + "> not found in class <" + targetClass + "> or its super classes.");
 
-      final ClassChecks cc = getClassChecks(field.getDeclaringClass());
-      final Collection<Check> referencedChecks = cc.checksForFields.get(field);
-      if (referencedChecks != null && !referencedChecks.isEmpty()) {
-         for (final Check referencedCheck : referencedChecks) {
-            checkConstraint(referencedCheck, validatedObject, valueToValidate, context, cycle, false);
-         }
+      for (final Check referencedCheck : _getClassChecks(cycle.configuredChecks, field.getDeclaringClass()).getInvariantChecks().getFieldChecks(field)) {
+         checkConstraint(referencedCheck, validatedObject, valueToValidate, context, cycle, false);
       }
 
       cycle.contextPath.add(context);
@@ -1004,6 +1411,7 @@ public synchronized void disableAllProfiles() {
 
       enabledProfiles.clear();
       disabledProfiles.clear();
+      _updateProfilesMasks();
    }
 
    /**
@@ -1011,7 +1419,7 @@ public synchronized void disableAllProfiles() {
     *
     * @param profile the id of the profile
     */
-   public void disableProfile(final String profile) {
+   public synchronized void disableProfile(final String profile) {
       isProfilesFeatureUsed = true;
 
       if (isAllProfilesEnabledByDefault) {
@@ -1019,6 +1427,7 @@ public void disableProfile(final String profile) {
       } else {
          enabledProfiles.remove(profile);
       }
+      _updateProfilesMasks();
    }
 
    /**
@@ -1030,6 +1439,7 @@ public synchronized void enableAllProfiles() {
 
       enabledProfiles.clear();
       disabledProfiles.clear();
+      _updateProfilesMasks();
    }
 
    /**
@@ -1037,7 +1447,7 @@ public synchronized void enableAllProfiles() {
     *
     * @param profile the id of the profile
     */
-   public void enableProfile(final String profile) {
+   public synchronized void enableProfile(final String profile) {
       isProfilesFeatureUsed = true;
 
       if (isAllProfilesEnabledByDefault) {
@@ -1045,6 +1455,7 @@ public void enableProfile(final String profile) {
       } else {
          enabledProfiles.add(profile);
       }
+      _updateProfilesMasks();
    }
 
    //CHECKSTYLE:IGNORE NoFinalize FOR NEXT LINE
@@ -1067,9 +1478,7 @@ protected void finalize() throws Throwable {
    public Check[] getChecks(final Class<?> clazz) throws IllegalArgumentException {
       Assert.argumentNotNull("clazz", clazz);
 
-      final ClassChecks cc = getClassChecks(clazz);
-      final Set<Check> checks = cc.checksForObject;
-      return checks == null ? EMPTY_CHECKS : checks.toArray(new Check[checks.size()]);
+      return getClassChecks(clazz).getInvariantChecks().objectChecks.clone();
    }
 
    /**
@@ -1081,9 +1490,7 @@ public Check[] getChecks(final Class<?> clazz) throws IllegalArgumentException {
    public Check[] getChecks(final Field field) throws IllegalArgumentException {
       Assert.argumentNotNull("field", field);
 
-      final ClassChecks cc = getClassChecks(field.getDeclaringClass());
-      final Set<Check> checks = cc.checksForFields.get(field);
-      return checks == null ? EMPTY_CHECKS : checks.toArray(new Check[checks.size()]);
+      return getClassChecks(field.getDeclaringClass()).getInvariantChecks().getFieldChecks(field).clone();
    }
 
    /**
@@ -1095,9 +1502,7 @@ public Check[] getChecks(final Field field) throws IllegalArgumentException {
    public Check[] getChecks(final Method method) throws IllegalArgumentException {
       Assert.argumentNotNull("method", method);
 
-      final ClassChecks cc = getClassChecks(method.getDeclaringClass());
-      final Set<Check> checks = cc.checksForMethodReturnValues.get(method);
-      return checks == null ? EMPTY_CHECKS : checks.toArray(new Check[checks.size()]);
+      return getClassChecks(method.getDeclaringClass()).getInvariantChecks().getMethodReturnValueChecks(method).clone();
    }
 
    /**
@@ -1110,16 +1515,32 @@ public Check[] getChecks(final Method method) throws IllegalArgumentException {
    protected ClassChecks getClassChecks(final Class<?> clazz) throws IllegalArgumentException, InvalidConfigurationException, ReflectionException {
       Assert.argumentNotNull("clazz", clazz);
 
-      return checksByClass.computeIfAbsent(clazz, k -> {
-         final ClassChecks newCC = new ClassChecks(k, parameterNameResolver);
-         for (final Configurer configurer : configurers) {
-            final ClassConfiguration classConfig = configurer.getClassConfiguration(k);
-            if (classConfig != null) {
-               _addChecks(newCC, classConfig);
-            }
-         }
-         return newCC;
-      });
+      return _getClassChecks(configuredChecks, clazz);
+   }
+
+   /**
+    * Returns the ClassChecks object for the particular class to add or remove checks. If the current checks of the
+    * class are cached by the {@link SharedClassChecks} registry they are replaced by a copy owned by this validator so
+    * that other validators are not affected.
+    *
+    * @param clazz cannot be null
+    * @return returns the modifiable ClassChecks for the given class
+    * @throws IllegalArgumentException if <code>clazz == null</code>
+    */
+   protected ClassChecks getModifiableClassChecks(final Class<?> clazz) throws IllegalArgumentException, InvalidConfigurationException,
+      ReflectionException {
+      Assert.argumentNotNull("clazz", clazz);
+
+      final ConfiguredChecks configured = configuredChecks;
+      final ClassChecks cc = _getClassChecks(configured, clazz);
+      if (!cc.isShared)
+         return cc;
+
+      final ClassChecks copy = configured.checksByClass.compute(clazz, (k, current) -> current == null || current.isShared ? _createClassChecks(k)
+         : current);
+      // validation plans referencing the shared checks are not notified about modifications of the copy
+      configured.validationPlansByClass.removeIf(clazz::isAssignableFrom);
+      return copy;
    }
 
    /**
@@ -1132,19 +1553,7 @@ protected ClassChecks getClassChecks(final Class<?> clazz) throws IllegalArgumen
    public ConstraintSet getConstraintSet(final String constraintSetId) throws InvalidConfigurationException, IllegalArgumentException {
       Assert.argumentNotNull("constraintSetId", constraintSetId);
 
-      ConstraintSet cs = constraintSetsById.get(constraintSetId);
-      if (cs == null) {
-         for (final Configurer configurer : configurers) {
-            final ConstraintSetConfiguration csc = configurer.getConstraintSetConfiguration(constraintSetId);
-            if (csc != null) {
-               cs = new ConstraintSet(csc.id);
-               cs.setChecks(csc.checks);
-
-               addConstraintSet(cs, csc.overwrite != null && csc.overwrite);
-            }
-         }
-      }
-      return cs;
+      return _getConstraintSet(configuredChecks, constraintSetId);
    }
 
    public ExceptionTranslator getExceptionTranslator() {
@@ -1155,10 +1564,47 @@ public ExpressionLanguageRegistry getExpressionLanguageRegistry() {
       return expressionLanguageRegistry;
    }
 
+   /**
+    * Returns the statistics of the caches holding the checks, validation plans and reflection metadata of the validated
+    * classes. The entries of a class are removed once the class is garbage collected.
+    *
+    * @return the statistics by cache name
+    */
+   public Map<String, WeakClassCache.Statistics> getCacheStatistics() {
+      final ConfiguredChecks configured = configuredChecks;
+      final Map<String, WeakClassCache.Statistics> statistics = new LinkedHashMap<>(4);
+      statistics.put("classChecks", configured.checksByClass.getStatistics());
+      statistics.put("validationPlans", configured.validationPlansByClass.getStatistics());
+      statistics.put("containerElementTypes", containerElementTypesByField.getStatistics());
+      return statistics;
+   }
+
+   /**
+    * @return the number of validations of a class after which built-in checks are evaluated via the fast path, negative
+    *         if the fast path is disabled
+    */
+   public int getFastPathThreshold() {
+      return fastPathThreshold;
+   }
+
+   /**
+    * @return the maximum number of constraint violations collected per validation cycle, <code>0</code> for no limit
+    */
+   public int getMaxViolations() {
+      return maxViolations;
+   }
+
    public ObjectGraphNavigatorRegistry getObjectGraphNavigatorRegistry() {
       return ognRegistry;
    }
 
+   /**
+    * @return the registry used to share class checks with other validators or null if not shared
+    */
+   public SharedClassChecks getSharedClassChecks() {
+      return sharedClassChecks;
+   }
+
    /**
     * Determines if at least one of the given profiles is enabled
     *
@@ -1215,13 +1661,170 @@ public boolean isProfileEnabled(final String profileId) {
       return true;
    }
 
+   /**
+    * Checks if the field and getter constraints of the given object are satisfied.
+    *
+    * In contrast to {@link #validate(Object)} the validation stops at the first constraint violation and
+    * no constraint violation messages and {@link ConstraintViolation} objects are created.
+    *
+    * @param validatedObject the object to validate, cannot be null
+    * @return true if no constraint violation is detected
+    * @throws IllegalArgumentException if <code>validatedObject == null</code>
+    */
+   public boolean isValid(final Object validatedObject) throws IllegalArgumentException, ValidationFailedException {
+      return isValid(validatedObject, (String[]) null);
+   }
+
+   /**
+    * Checks if the field and getter constraints of the given object are satisfied.
+    *
+    * In contrast to {@link #validate(Object, String...)} the validation stops at the first constraint violation and
+    * no constraint violation messages and {@link ConstraintViolation} objects are created.
+    *
+    * @param validatedObject the object to validate, cannot be null
+    * @param profiles constraint profiles to validate against, if none are specified the globally enabled profiles are used.
+    * @return true if no constraint violation is detected
+    * @throws IllegalArgumentException if <code>validatedObject == null</code>
+    */
+   public boolean isValid(final Object validatedObject, final String... profiles) throws IllegalArgumentException, ValidationFailedException {
+      Assert.argumentNotNull("validatedObject", validatedObject);
+
+      final InternalValidationCycle cycle = new InternalValidationCycle(validatedObject, profiles, 1, true);
+      currentValidationCycles.get().add(cycle);
+      try {
+         validateInvariants(validatedObject, cycle);
+         return cycle.getViolationsCount() == 0;
+      } finally {
+         currentValidationCycles.get().removeLast();
+      }
+   }
+
    /**
     * clears the checks and constraint sets => a reconfiguration using the
     * currently registered configurers will automatically happen
+    *
+    * Validation cycles that are already running finish using the previous configuration.
+    */
+   public synchronized void reconfigureChecks() {
+      final SharedClassChecks shared = sharedClassChecks;
+      if (shared != null) {
+         shared.remove(new ArrayList<>(configurers));
+      }
+      configuredChecks = new ConfiguredChecks();
+   }
+
+   /**
+    * clears the checks of the given classes and the given constraint sets => a reconfiguration of them using the
+    * currently registered configurers will automatically happen. The checks of all other classes are kept.
+    *
+    * Validation cycles that are already running finish using the previous configuration.
+    *
+    * @param classes the classes whose configuration changed
+    * @param constraintSetIds the ids of the constraint sets whose configuration changed
+    * @throws IllegalArgumentException if <code>classes == null</code> or <code>constraintSetIds == null</code>
+    * @see net.sf.oval.configuration.ConfigurationChangeListener
     */
-   public void reconfigureChecks() {
-      checksByClass.clear();
-      constraintSetsById.clear();
+   public synchronized void reconfigureChecks(final Collection<Class<?>> classes, final Collection<String> constraintSetIds)
+      throws IllegalArgumentException {
+      Assert.argumentNotNull("classes", classes);
+      Assert.argumentNotNull("constraintSetIds", constraintSetIds);
+
+      final SharedClassChecks shared = sharedClassChecks;
+      if (shared != null) {
+         shared.remove(new ArrayList<>(configurers), classes);
+      }
+
+      final ConfiguredChecks current = configuredChecks;
+      final ConfiguredChecks reconfigured = new ConfiguredChecks();
+      current.checksByClass.forEach((clazz, cc) -> {
+         if (!classes.contains(clazz)) {
+            reconfigured.checksByClass.put(clazz, cc);
+         }
+      });
+      current.validationPlansByClass.forEach((clazz, plan) -> {
+         for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            if (classes.contains(c))
+               return;
+         }
+         reconfigured.validationPlansByClass.put(clazz, plan);
+      });
+      current.constraintSetsById.forEach((id, cs) -> {
+         if (!constraintSetIds.contains(id)) {
+            reconfigured.constraintSetsById.put(id, cs);
+         }
+      });
+      configuredChecks = reconfigured;
+   }
+
+   /**
+    * Rebuilds the checks of the given classes and their super classes as well as the constraint sets referenced by them
+    * using the currently registered configurers and then atomically replaces the current configuration.
+    *
+    * In contrast to {@link #reconfigureChecks()} the configuration of the given classes is already complete once it is
+    * activated, i.e. subsequent validations do not need to query the configurers. Checks of other classes are loaded on
+    * demand. Validation cycles that are already running finish using the previous configuration.
+    *
+    * Checks and constraint sets added or removed programmatically are discarded. This includes modifications via
+    * {@link #addChecks(Field, Check...)}, {@link #removeChecks(Field, Check...)}, {@link #addConstraintSet(ConstraintSet, boolean)}
+    * etc. that are performed concurrently while the new configuration is built, since they are applied to the previous
+    * configuration. To keep such checks, apply them again once this method has returned.
+    *
+    * @param classes the classes to preload, may be empty
+    * @throws IllegalArgumentException if <code>classes == null</code>
+    * @throws InvalidConfigurationException if the configuration of one of the classes is invalid, in that case the current
+    *            configuration remains active
+    */
+   public void reloadChecks(final Collection<Class<?>> classes) throws IllegalArgumentException, InvalidConfigurationException, ReflectionException {
+      Assert.argumentNotNull("classes", classes);
+
+      final SharedClassChecks shared = sharedClassChecks;
+      if (shared != null) {
+         final List<Class<?>> hierarchy = new ArrayList<>();
+         for (final Class<?> clazz : classes) {
+            for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+               hierarchy.add(c);
+            }
+         }
+         shared.remove(new ArrayList<>(configurers), hierarchy);
+      }
+
+      final ConfiguredChecks reloaded = new ConfiguredChecks();
+      for (final Class<?> clazz : classes) {
+         Assert.argumentNotNull("classes[]", clazz);
+
+         final ValidationPlan plan = _getValidationPlan(reloaded, clazz);
+         for (final Check[] checks : plan.checks) {
+            _loadConstraintSets(reloaded, checks);
+         }
+         for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            final InvariantChecks ic = _getClassChecks(reloaded, c).getInvariantChecks();
+            for (final Check[] checks : ic.staticFieldChecks) {
+               _loadConstraintSets(reloaded, checks);
+            }
+            for (final Check[] checks : ic.staticMethodChecks) {
+               _loadConstraintSets(reloaded, checks);
+            }
+         }
+      }
+      synchronized (this) {
+         configuredChecks = reloaded;
+      }
+   }
+
+   /**
+    * Asynchronously executes {@link #reloadChecks(Collection)} using the given executor.
+    *
+    * The current configuration stays active until the reload has completed.
+    *
+    * @return a future that completes once the new configuration is active
+    * @throws IllegalArgumentException if <code>classes == null</code> or <code>executor == null</code>
+    */
+   public CompletableFuture<Void> reloadChecks(final Collection<Class<?>> classes, final Executor executor) throws IllegalArgumentException {
+      Assert.argumentNotNull("classes", classes);
+      Assert.argumentNotNull("executor", executor);
+
+      final List<Class<?>> classesCopy = new ArrayList<>(classes);
+      return CompletableFuture.runAsync(() -> reloadChecks(classesCopy), executor);
    }
 
    /**
@@ -1233,7 +1836,7 @@ public void removeChecks(final Class<?> clazz, final Check... checks) throws Ill
       Assert.argumentNotNull("clazz", clazz);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(clazz).removeObjectChecks(checks);
+      getModifiableClassChecks(clazz).removeObjectChecks(checks);
    }
 
    /**
@@ -1245,7 +1848,7 @@ public void removeChecks(final Field field, final Check... checks) throws Illega
       Assert.argumentNotNull("field", field);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(field.getDeclaringClass()).removeFieldChecks(field, checks);
+      getModifiableClassChecks(field.getDeclaringClass()).removeFieldChecks(field, checks);
    }
 
    /**
@@ -1258,7 +1861,7 @@ public void removeChecks(final Method getter, final Check... checks) throws Ille
       Assert.argumentNotNull("getter", getter);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(getter.getDeclaringClass()).removeMethodReturnValueChecks(getter, checks);
+      getModifiableClassChecks(getter.getDeclaringClass()).removeMethodReturnValueChecks(getter, checks);
    }
 
    /**
@@ -1271,11 +1874,27 @@ public void removeChecks(final Method getter, final Check... checks) throws Ille
    public ConstraintSet removeConstraintSet(final String id) throws IllegalArgumentException {
       Assert.argumentNotNull("id", id);
 
-      return constraintSetsById.remove(id);
+      return configuredChecks.constraintSetsById.remove(id);
    }
 
+   /**
+    * Renders the message of a constraint violation for the locale of the current thread.
+    *
+    * If a subclass overrides this method, the messages of constraint violations are rendered eagerly via this method
+    * instead of on first access.
+    */
    protected String renderMessage(final List<OValContext> contextPath, final Object invalidValue, final String messageKey, final Map<String, ?> messageValues) {
-      String message = MessageRenderer.renderMessage(messageKey, messageValues);
+      return renderMessage(contextPath, invalidValue, messageKey, messageValues, localeProvider.getLocale());
+   }
+
+   /**
+    * Renders the message of a constraint violation for the given locale. This is the method to override to customize
+    * message rendering while keeping the messages of constraint violations rendered on first access, see
+    * {@link ConstraintViolation#getMessage()} and {@link ConstraintViolation#getMessage(Locale)}.
+    */
+   protected String renderMessage(final List<OValContext> contextPath, final Object invalidValue, final String messageKey, final Map<String, ?> messageValues,
+      final Locale locale) {
+      String message = MessageRenderer.renderMessage(messageKey, messageValues, locale);
 
       // if there are no place holders in the message simply return it
       if (message.indexOf('{') == -1)
@@ -1310,20 +1929,61 @@ public void reportConstraintViolation(final ConstraintViolation constraintViolat
     * @param validatedObject may be null for static fields
     */
    protected Object resolveValue(final FieldContext ctx, final Object validatedObject) {
-      return ReflectionUtils.getFieldValue(ctx.getField(), validatedObject);
+      return MemberAccessor.of(ctx.getField()).get(validatedObject);
    }
 
    /**
     * @param validatedObject may be null for static methods
     */
    protected Object resolveValue(final MethodReturnValueContext ctx, final Object validatedObject) {
-      return ReflectionUtils.invokeMethod(ctx.getMethod(), validatedObject);
+      return MemberAccessor.of(ctx.getMethod()).get(validatedObject);
    }
 
    public void setExceptionTranslator(final ExceptionTranslator exceptionTranslator) {
       this.exceptionTranslator = exceptionTranslator;
    }
 
+   /**
+    * Sets the number of validations of a class after which its built-in checks without <code>when</code> formula and
+    * target, e.g. {@link net.sf.oval.constraint.NotNullCheck} or {@link net.sf.oval.constraint.LengthCheck}, are
+    * evaluated via a fast path that only falls back to the generic check processing for container values and
+    * constraint violations. The default is <code>100</code>.
+    *
+    * @param threshold the number of validations, <code>0</code> to use the fast path immediately, negative to disable it
+    */
+   public void setFastPathThreshold(final int threshold) {
+      fastPathThreshold = threshold;
+   }
+
+   /**
+    * Sets the registry used to share the checks created from the configurers with other validators using the same
+    * configurers, e.g. multiple validator instances of a multi-tenant deployment. Checks added or removed
+    * programmatically only affect this validator. The current checks are discarded.
+    *
+    * @param sharedClassChecks the registry, null to not share class checks
+    */
+   public synchronized void setSharedClassChecks(final SharedClassChecks sharedClassChecks) {
+      this.sharedClassChecks = sharedClassChecks;
+      configuredChecks = new ConfiguredChecks();
+   }
+
+   /**
+    * Sets the maximum number of constraint violations collected per validation cycle. Once the limit is reached the
+    * remaining constraints are not evaluated anymore, i.e. <code>1</code> enables a fail-fast mode that stops at the first
+    * constraint violation.
+    *
+    * The limit applies to all validation methods not taking an explicit limit, including the pre-/post-condition and
+    * invariant checks performed by a {@link net.sf.oval.guard.Guard}.
+    *
+    * @param maxViolations the maximum number of constraint violations, <code>0</code> for no limit
+    * @throws IllegalArgumentException if <code>maxViolations &lt; 0</code>
+    */
+   public void setMaxViolations(final int maxViolations) throws IllegalArgumentException {
+      Assert.argumentMinValue("maxViolations", maxViolations, 0);
+
+      this.maxViolations = maxViolations;
+   }
+
    protected RuntimeException translateException(final OValException ex) {
       if (exceptionTranslator != null) {
          final RuntimeException rex = exceptionTranslator.translateException(ex);
@@ -1347,6 +2007,33 @@ public List<ConstraintViolation> validate(final Object validatedObject) throws V
       }
    }
 
+   /**
+    * validates the field and getter constrains of the given object and stops as soon as the given number of
+    * constraint violations has been detected
+    *
+    * @param validatedObject the object to validate, cannot be null
+    * @param maxViolations the maximum number of constraint violations to detect, e.g. <code>1</code> to stop at the first
+    *           constraint violation, <code>0</code> for no limit
+    * @param profiles constraint profiles to validate against, if none are specified the globally enabled profiles are used.
+    * @return a list with the detected constraint violations. if no violations are detected an empty list is returned
+    * @throws IllegalArgumentException if <code>validatedObject == null</code> or <code>maxViolations &lt; 0</code>
+    */
+   public List<ConstraintViolation> validate(final Object validatedObject, final int maxViolations, final String... profiles) throws IllegalArgumentException,
+      ValidationFailedException {
+      Assert.argumentNotNull("validatedObject", validatedObject);
+      Assert.argumentMinValue("maxViolations", maxViolations, 0);
+
+      final InternalValidationCycle cycle = new InternalValidationCycle(validatedObject, profiles == null || profiles.length == 0 ? null : profiles,
+         maxViolations);
+      currentValidationCycles.get().add(cycle);
+      try {
+         validateInvariants(validatedObject, cycle);
+         return cycle.violations;
+      } finally {
+         currentValidationCycles.get().removeLast();
+      }
+   }
+
    @Override
    public List<ConstraintViolation> validate(final Object validatedObject, final String... profiles) throws ValidationFailedException {
       Assert.argumentNotNull("validatedObject", validatedObject);
@@ -1361,6 +2048,112 @@ public List<ConstraintViolation> validate(final Object validatedObject, final St
       }
    }
 
+   /**
+    * validates the field and getter constrains of the given object and passes each detected constraint violation to the
+    * given sink instead of collecting them in a list
+    *
+    * @param validatedObject the object to validate, cannot be null
+    * @param violationSink the sink receiving the detected constraint violations, cannot be null
+    * @return the number of detected constraint violations
+    * @throws IllegalArgumentException if <code>validatedObject == null</code> or <code>violationSink == null</code>
+    */
+   public int validate(final Object validatedObject, final ViolationSink violationSink) throws IllegalArgumentException, ValidationFailedException {
+      return validate(validatedObject, violationSink, maxViolations);
+   }
+
+   /**
+    * validates the field and getter constrains of the given object and passes each detected constraint violation to the
+    * given sink instead of collecting them in a list. the validation stops as soon as the given number of constraint
+    * violations has been detected
+    *
+    * @param validatedObject the object to validate, cannot be null
+    * @param violationSink the sink receiving the detected constraint violations, cannot be null
+    * @param maxViolations the maximum number of constraint violations to detect, <code>0</code> for no limit
+    * @param profiles constraint profiles to validate against, if none are specified the globally enabled profiles are used.
+    * @return the number of detected constraint violations
+    * @throws IllegalArgumentException if <code>validatedObject == null</code>, <code>violationSink == null</code> or
+    *            <code>maxViolations &lt; 0</code>
+    */
+   public int validate(final Object validatedObject, final ViolationSink violationSink, final int maxViolations, final String... profiles)
+      throws IllegalArgumentException, ValidationFailedException {
+      Assert.argumentNotNull("validatedObject", validatedObject);
+      Assert.argumentNotNull("violationSink", violationSink);
+      Assert.argumentMinValue("maxViolations", maxViolations, 0);
+
+      final InternalValidationCycle cycle = new InternalValidationCycle(validatedObject, profiles == null || profiles.length == 0 ? null : profiles,
+         maxViolations, violationSink);
+      currentValidationCycles.get().add(cycle);
+      try {
+         validateInvariants(validatedObject, cycle);
+         return cycle.getViolationsCount();
+      } finally {
+         currentValidationCycles.get().removeLast();
+      }
+   }
+
+   /**
+    * Validates the field and getter constraints of the given objects in parallel using the common fork-join pool.
+    *
+    * @see #validateAll(Iterable, Executor)
+    */
+   public SortedMap<Integer, List<ConstraintViolation>> validateAll(final Iterable<?> validatedObjects) throws IllegalArgumentException,
+      ValidationFailedException {
+      return validateAll(validatedObjects, ForkJoinPool.commonPool());
+   }
+
+   /**
+    * Validates the field and getter constraints of the given objects in parallel using the given executor.
+    *
+    * The objects are split into batches that are validated by the executor's threads, each object in its own validation
+    * cycle. The objects are pulled lazily from the given iterable and the number of batches queued at the same time is
+    * bounded, thus huge collections or streams can be validated with bounded memory.
+    * The method does not return or throw before all submitted batches have completed.
+    * <p>
+    * Note: The messages of the returned constraint violations are rendered for the locale of the thread that
+    * validated the respective object.
+    *
+    * @param validatedObjects the objects to validate, must not contain null elements
+    * @param executor the executor to validate the objects with
+    * @return the constraint violations of the invalid objects keyed by the index of the object in the given iterable and
+    *         sorted by index. valid objects have no entry
+    * @throws IllegalArgumentException if <code>validatedObjects == null</code>, <code>executor == null</code> or if
+    *            validatedObjects contains a null element
+    * @throws ValidationFailedException if the validation of any object failed, in this case no new batches are scheduled
+    */
+   public SortedMap<Integer, List<ConstraintViolation>> validateAll(final Iterable<?> validatedObjects, final Executor executor)
+      throws IllegalArgumentException, ValidationFailedException {
+      Assert.argumentNotNull("validatedObjects", validatedObjects);
+      Assert.argumentNotNull("executor", executor);
+
+      return _validateAll(validatedObjects.iterator(), executor);
+   }
+
+   /**
+    * Validates the field and getter constraints of the given objects in parallel using the given executor.
+    *
+    * @see #validateAll(Iterable, Executor)
+    */
+   public SortedMap<Integer, List<ConstraintViolation>> validateAll(final Spliterator<?> validatedObjects, final Executor executor)
+      throws IllegalArgumentException, ValidationFailedException {
+      Assert.argumentNotNull("validatedObjects", validatedObjects);
+      Assert.argumentNotNull("executor", executor);
+
+      return _validateAll(Spliterators.iterator(validatedObjects), executor);
+   }
+
+   /**
+    * Validates the field and getter constraints of the given objects in parallel using the given executor.
+    *
+    * @see #validateAll(Iterable, Executor)
+    */
+   public SortedMap<Integer, List<ConstraintViolation>> validateAll(final Stream<?> validatedObjects, final Executor executor)
+      throws IllegalArgumentException, ValidationFailedException {
+      Assert.argumentNotNull("validatedObjects", validatedObjects);
+      Assert.argumentNotNull("executor", executor);
+
+      return _validateAll(validatedObjects.iterator(), executor);
+   }
+
    @Override
    public List<ConstraintViolation> validateFieldValue(final Object validatedObject, final Field validatedField, final Object fieldValueToValidate)
       throws ValidationFailedException {
@@ -1370,10 +2163,9 @@ public List<ConstraintViolation> validateFieldValue(final Object validatedObject
       final InternalValidationCycle cycle = new InternalValidationCycle(validatedObject, null);
       currentValidationCycles.get().add(cycle);
       try {
-         final ClassChecks cc = getClassChecks(validatedField.getDeclaringClass());
-         final Collection<Check> checks = cc.checksForFields.get(validatedField);
-
-         if (checks == null || checks.isEmpty())
+         final Check[] checks = _getClassChecks(cycle.configuredChecks, validatedField.getDeclaringClass()).getInvariantChecks().getFieldChecks(
+            validatedField);
+         if (checks.length == 0)
             return cycle.violations;
 
          final FieldContext context = ContextCache.getFieldContext(validatedField);
@@ -0,0 +1,22 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval;
+
+/**
+ * Receives the constraint violations of a validation cycle one by one as soon as they are detected, e.g. to write them
+ * to a file or to count them without keeping all violations in memory.
+ *
+ * @see Validator#validate(Object, ViolationSink)
+ *
+ * @author Sebastian Thomschke
+ */
+@FunctionalInterface
+public interface ViolationSink {
+
+   /**
+    * @param violation the detected constraint violation
+    */
+   void accept(ConstraintViolation violation);
+}
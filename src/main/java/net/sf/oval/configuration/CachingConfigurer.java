@@ -0,0 +1,351 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.configuration;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+import net.sf.oval.Validator;
+import net.sf.oval.configuration.pojo.elements.ClassConfiguration;
+import net.sf.oval.configuration.pojo.elements.ConstraintSetConfiguration;
+import net.sf.oval.exception.InvalidConfigurationException;
+import net.sf.oval.internal.Log;
+import net.sf.oval.internal.util.Assert;
+
+/**
+ * Configurer that caches the class configurations of another configurer in a binary file, e.g. of an
+ * {@link net.sf.oval.configuration.annotation.AnnotationsConfigurer}, so they do not need to be resolved again after a
+ * restart.
+ *
+ * The cache file is read when the configurer is created and each class configuration is deserialized when it is first
+ * requested. Entries are keyed by class name and a hash of the bytecode of the class and its interfaces. If
+ * the bytecode changed, the entry is discarded and the configuration is resolved via the delegate. Call
+ * {@link #save()} after warm-up to write the resolved configurations to the cache file.
+ *
+ * Only use this configurer for delegates whose configuration is derived from the bytecode of the configured classes.
+ * {@link CheckInitializationListener}s of the delegate are not notified about checks loaded from the cache. The cache
+ * file is read via Java serialization and must only be writable by the application. Only OVal types, JDK value and
+ * collection types and the types of the configured class hierarchy are deserialized, configurations referencing other
+ * serializable types are resolved via the delegate.
+ *
+ * @author Sebastian Thomschke
+ */
+public class CachingConfigurer implements Configurer {
+
+   private static final class Entry {
+      private final long bytecodeHash;
+
+      /**
+       * the serialized class configuration, null if the delegate has no configuration for the class
+       */
+      private final ByteBuffer data;
+
+      private Entry(final long bytecodeHash, final ByteBuffer data) {
+         this.bytecodeHash = bytecodeHash;
+         this.data = data;
+      }
+   }
+
+   private static final Log LOG = Log.getLog(CachingConfigurer.class);
+
+   private static final int MAGIC = 0x4F56434D; // OVCM
+   private static final int FORMAT_VERSION = 1;
+
+   /**
+    * the hash of the bytecode of a single class, <code>0</code> if not available
+    */
+   private static final ClassValue<Long> BYTECODE_HASHES = new ClassValue<Long>() {
+      @Override
+      protected Long computeValue(final Class<?> type) {
+         long length = 0;
+         final CRC32 crc = new CRC32();
+         final byte[] buf = new byte[8192];
+         try (InputStream in = type.getClassLoader().getResourceAsStream(type.getName().replace('.', '/') + ".class")) {
+            if (in == null)
+               return 0L;
+            int read;
+            while ((read = in.read(buf)) != -1) {
+               crc.update(buf, 0, read);
+               length += read;
+            }
+         } catch (final IOException ex) {
+            LOG.debug("Cannot read bytecode of {1}", type, ex);
+            return 0L;
+         }
+         return length << 32 | crc.getValue();
+      }
+   };
+
+   private static void _collectTypes(final Class<?> clazz, final Set<Class<?>> types) {
+      if (clazz == null || clazz == Object.class || !types.add(clazz))
+         return;
+      _collectTypes(clazz.getSuperclass(), types);
+      for (final Class<?> iface : clazz.getInterfaces()) {
+         _collectTypes(iface, types);
+      }
+   }
+
+   private static ClassConfiguration _deserialize(final Class<?> clazz, final ByteBuffer data) throws IOException, ClassNotFoundException {
+      final byte[] bytes = new byte[data.remaining()];
+      data.duplicate().get(bytes);
+      final ClassLoader classLoader = clazz.getClassLoader();
+      final Set<Class<?>> configuredTypes = new HashSet<>();
+      _collectTypes(clazz, configuredTypes);
+      // acts as an ObjectInputFilter, which is not available on Java 8
+      try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes)) {
+         @Override
+         protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            Class<?> type = null;
+            if (classLoader != null) {
+               try {
+                  type = Class.forName(desc.getName(), false, classLoader);
+               } catch (final ClassNotFoundException ex) {
+                  // fall through
+               }
+            }
+            if (type == null) {
+               type = super.resolveClass(desc);
+            }
+            if (!_isDeserializationAllowed(type, configuredTypes))
+               throw new InvalidClassException(type.getName(), "Deserialization of type not allowed.");
+            return type;
+         }
+
+         @Override
+         protected Class<?> resolveProxyClass(final String[] interfaces) throws IOException {
+            throw new InvalidClassException("Deserialization of proxy classes not allowed.");
+         }
+      }) {
+         return (ClassConfiguration) in.readObject();
+      }
+   }
+
+   /**
+    * @return true if instances of the given type or references to it may be deserialized from the cache file
+    */
+   private static boolean _isDeserializationAllowed(final Class<?> type, final Set<Class<?>> configuredTypes) {
+      Class<?> componentType = type;
+      while (componentType.isArray()) {
+         componentType = componentType.getComponentType();
+      }
+      if (componentType.isPrimitive() || configuredTypes.contains(componentType))
+         return true;
+
+      // no instances of non-serializable classes can be created, i.e. only references to them are deserialized
+      if (!Serializable.class.isAssignableFrom(componentType))
+         return true;
+
+      final String name = componentType.getName();
+      return name.startsWith("net.sf.oval.") //
+         || name.startsWith("java.lang.") && !name.startsWith("java.lang.invoke.") && !name.startsWith("java.lang.reflect.") //
+         || name.startsWith("java.math.") //
+         || name.startsWith("java.time.") //
+         || name.startsWith("java.util.") && !name.startsWith("java.util.concurrent.");
+   }
+
+   private static ByteBuffer _serialize(final ClassConfiguration classConfig) throws IOException {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+      try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+         out.writeObject(classConfig);
+      }
+      return ByteBuffer.wrap(bytes.toByteArray());
+   }
+
+   private final Configurer delegate;
+   private final File cacheFile;
+   private final ConcurrentMap<String, Entry> entries = Validator.getCollectionFactory().createConcurrentMap();
+   private volatile boolean isModified;
+
+   /**
+    * @param delegate the configurer to resolve class configurations that are not cached or outdated
+    * @param cacheFile the cache file, loaded if it exists
+    */
+   public CachingConfigurer(final Configurer delegate, final File cacheFile) {
+      Assert.argumentNotNull("delegate", delegate);
+      Assert.argumentNotNull("cacheFile", cacheFile);
+
+      this.delegate = delegate;
+      this.cacheFile = cacheFile;
+
+      if (cacheFile.exists()) {
+         try {
+            _load();
+         } catch (final IOException | RuntimeException ex) {
+            LOG.warn("Ignoring unreadable configuration cache file {1}.", cacheFile, ex);
+            entries.clear();
+         }
+      }
+   }
+
+   /**
+    * Returns a hash of the bytecode of the given class, its super classes and its interfaces. The bytecode of each class
+    * is only read once.
+    *
+    * @return <code>0</code> if the bytecode is not available, i.e. the configuration of the class cannot be cached
+    */
+   protected long getBytecodeHash(final Class<?> clazz) {
+      final Set<Class<?>> types = new LinkedHashSet<>();
+      _collectTypes(clazz, types);
+
+      long hash = 17;
+      for (final Class<?> type : types) {
+         if (type.getClassLoader() == null) {
+            continue; // JDK class
+         }
+         final long typeHash = BYTECODE_HASHES.get(type);
+         if (typeHash == 0)
+            return 0;
+         hash = 31 * hash + typeHash;
+      }
+      return hash == 0 ? 1 : hash;
+   }
+
+   @Override
+   public ClassConfiguration getClassConfiguration(final Class<?> clazz) throws InvalidConfigurationException {
+      final long bytecodeHash = getBytecodeHash(clazz);
+      if (bytecodeHash == 0)
+         return delegate.getClassConfiguration(clazz);
+
+      final String className = clazz.getName();
+      final Entry entry = entries.get(className);
+      if (entry != null && entry.bytecodeHash == bytecodeHash) {
+         if (entry.data == null)
+            return null;
+         try {
+            return _deserialize(clazz, entry.data);
+         } catch (final IOException | ClassNotFoundException | RuntimeException ex) {
+            LOG.debug("Discarding cached configuration of {1}", className, ex);
+         }
+      }
+
+      final ClassConfiguration classConfig = delegate.getClassConfiguration(clazz);
+      try {
+         entries.put(className, new Entry(bytecodeHash, classConfig == null ? null : _serialize(classConfig)));
+      } catch (final IOException ex) {
+         LOG.debug("Cannot cache configuration of {1}", className, ex);
+         entries.remove(className);
+      }
+      isModified = true;
+      return classConfig;
+   }
+
+   @Override
+   public ConstraintSetConfiguration getConstraintSetConfiguration(final String constraintSetId) throws InvalidConfigurationException {
+      return delegate.getConstraintSetConfiguration(constraintSetId);
+   }
+
+   public File getCacheFile() {
+      return cacheFile;
+   }
+
+   public Configurer getDelegate() {
+      return delegate;
+   }
+
+   /**
+    * @return true if class configurations were resolved via the delegate since the cache file was loaded or saved
+    */
+   public boolean isModified() {
+      return isModified;
+   }
+
+   /**
+    * Writes the cached class configurations to the cache file if configurations were resolved via the delegate since the
+    * cache file was loaded or saved.
+    */
+   public synchronized void save() throws IOException {
+      if (!isModified)
+         return;
+      isModified = false;
+
+      final Path target = cacheFile.getAbsoluteFile().toPath();
+      final Path tmp = Files.createTempFile(target.getParent(), cacheFile.getName(), ".tmp");
+      try {
+         try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            final Map<String, Entry> snapshot = Validator.getCollectionFactory().createMap(entries.size());
+            snapshot.putAll(entries);
+            out.writeInt(snapshot.size());
+            for (final Map.Entry<String, Entry> e : snapshot.entrySet()) {
+               final byte[] className = e.getKey().getBytes(StandardCharsets.UTF_8);
+               out.writeInt(className.length);
+               out.write(className);
+               out.writeLong(e.getValue().bytecodeHash);
+               final ByteBuffer data = e.getValue().data;
+               if (data == null) {
+                  out.writeInt(-1);
+               } else {
+                  final byte[] bytes = new byte[data.remaining()];
+                  data.duplicate().get(bytes);
+                  out.writeInt(bytes.length);
+                  out.write(bytes);
+               }
+            }
+         }
+         try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         } catch (final AtomicMoveNotSupportedException ex) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+         }
+      } catch (final IOException ex) {
+         isModified = true;
+         Files.deleteIfExists(tmp);
+         throw ex;
+      }
+   }
+
+   private void _load() throws IOException {
+      // the file is read into the heap instead of being memory-mapped, a mapping of the entries would prevent replacing the
+      // file via save() on Windows
+      final ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(cacheFile.toPath()));
+
+      try {
+         if (buf.getInt() != MAGIC)
+            throw new IOException("Not a configuration cache file.");
+         if (buf.getInt() != FORMAT_VERSION)
+            throw new IOException("Unsupported configuration cache file version.");
+
+         for (int i = buf.getInt(); i > 0; i--) {
+            final byte[] className = new byte[buf.getInt()];
+            buf.get(className);
+            final long bytecodeHash = buf.getLong();
+            final int length = buf.getInt();
+            ByteBuffer data = null;
+            if (length >= 0) {
+               data = buf.slice();
+               data.limit(length);
+               buf.position(buf.position() + length);
+            }
+            entries.put(new String(className, StandardCharsets.UTF_8), new Entry(bytecodeHash, data));
+         }
+      } catch (final BufferUnderflowException | IllegalArgumentException ex) {
+         throw new IOException("Truncated configuration cache file.", ex);
+      }
+   }
+}
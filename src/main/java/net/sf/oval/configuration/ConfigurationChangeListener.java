@@ -0,0 +1,22 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.configuration;
+
+import java.util.Set;
+
+/**
+ * Is notified by a configurer when its configuration changed, e.g. <code>validator::reconfigureChecks</code>.
+ *
+ * @author Sebastian Thomschke
+ */
+@FunctionalInterface
+public interface ConfigurationChangeListener {
+
+   /**
+    * @param changedClasses the classes whose configuration was added, modified or removed
+    * @param changedConstraintSetIds the ids of the constraint sets that were added, modified or removed
+    */
+   void onConfigurationChanged(Set<Class<?>> changedClasses, Set<String> changedConstraintSetIds);
+}
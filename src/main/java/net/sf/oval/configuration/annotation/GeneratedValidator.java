@@ -0,0 +1,33 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.configuration.annotation;
+
+import java.util.function.Function;
+
+/**
+ * Implemented by the <code>&lt;Class&gt;$OValValidator</code> classes generated by the
+ * {@link net.sf.oval.configuration.annotation.processor.GeneratedValidatorProcessor} for classes with constraint
+ * annotated fields.
+ *
+ * The validator discovers the generated class at runtime and reads the values of the constrained fields via the
+ * returned readers which access the fields directly instead of via reflection.
+ *
+ * @author Sebastian Thomschke
+ */
+public interface GeneratedValidator {
+
+   /**
+    * Suffix appended to the binary name of the validated class to determine the name of the generated class.
+    */
+   String CLASS_NAME_SUFFIX = "$OValValidator";
+
+   /**
+    * @param fieldName the name of a field declared by the validated class
+    * @return a function returning the value of the given field for an instance of the validated class (the argument is
+    *         ignored for static fields) or null if the field cannot be accessed by the generated class, e.g. because it is
+    *         private
+    */
+   Function<Object, Object> getFieldReader(String fieldName);
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.configuration.annotation.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import net.sf.oval.configuration.annotation.Constraint;
+import net.sf.oval.configuration.annotation.Constraints;
+import net.sf.oval.configuration.annotation.GeneratedValidator;
+
+/**
+ * Annotation processor that generates a {@link GeneratedValidator} named <code>&lt;Class&gt;$OValValidator</code> for
+ * each class with constraint annotated fields. The generated class reads the values of the non-private constrained
+ * fields directly, private fields are still read via method handles at runtime.
+ *
+ * The processor is not registered as service and must be enabled explicitly, e.g. via
+ * <code>javac -processor net.sf.oval.configuration.annotation.processor.GeneratedValidatorProcessor</code> or the
+ * <code>annotationProcessors</code> setting of the maven-compiler-plugin.
+ *
+ * @author Sebastian Thomschke
+ */
+@SupportedAnnotationTypes("*")
+public class GeneratedValidatorProcessor extends AbstractProcessor {
+
+   private static boolean _isAccessible(final TypeElement type) {
+      for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+         final TypeElement t = (TypeElement) e;
+         if (t.getModifiers().contains(Modifier.PRIVATE) || t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS)
+            return false;
+      }
+      return true;
+   }
+
+   private static boolean _isConstrained(final VariableElement field) {
+      for (final AnnotationMirror anno : field.getAnnotationMirrors()) {
+         final Element annoType = anno.getAnnotationType().asElement();
+         if (annoType.getAnnotation(Constraint.class) != null || annoType.getAnnotation(Constraints.class) != null)
+            return true;
+      }
+      return false;
+   }
+
+   @Override
+   public SourceVersion getSupportedSourceVersion() {
+      return SourceVersion.latestSupported();
+   }
+
+   @Override
+   public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+      for (final TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+         _process(type);
+      }
+      // other processors may process the same annotations
+      return false;
+   }
+
+   private void _generate(final TypeElement type, final List<VariableElement> fields) throws IOException {
+      final PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+      final String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+      final String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+      final String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + GeneratedValidator.CLASS_NAME_SUFFIX;
+      final String typeName = type.getQualifiedName().toString();
+
+      try (Writer w = processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? simpleName : packageName + "." + simpleName, type).openWriter();
+           PrintWriter out = new PrintWriter(w)) {
+         if (!packageName.isEmpty()) {
+            out.println("package " + packageName + ";");
+            out.println();
+         }
+         out.println("/**");
+         out.println(" * Generated by " + GeneratedValidatorProcessor.class.getName() + ", do not edit.");
+         out.println(" */");
+         out.println("@SuppressWarnings({\"rawtypes\", \"deprecation\"})");
+         out.println("public final class " + simpleName + " implements " + GeneratedValidator.class.getName() + " {");
+         out.println();
+         out.println("   @Override");
+         out.println("   public java.util.function.Function<Object, Object> getFieldReader(final String fieldName) {");
+         out.println("      switch (fieldName) {");
+         for (final VariableElement field : fields) {
+            final String fieldName = field.getSimpleName().toString();
+            out.println("         case \"" + fieldName + "\":");
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+               out.println("            return obj -> " + typeName + "." + fieldName + ";");
+            } else {
+               out.println("            return obj -> ((" + typeName + ") obj)." + fieldName + ";");
+            }
+         }
+         out.println("         default:");
+         out.println("            return null;");
+         out.println("      }");
+         out.println("   }");
+         out.println("}");
+      }
+   }
+
+   private void _process(final TypeElement type) {
+      if (type.getKind() == ElementKind.CLASS || type.getKind() == ElementKind.ENUM) {
+         boolean hasConstrainedFields = false;
+         final List<VariableElement> accessibleFields = new ArrayList<>();
+         for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (_isConstrained(field)) {
+               hasConstrainedFields = true;
+               if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+                  accessibleFields.add(field);
+               }
+            }
+         }
+
+         if (hasConstrainedFields) {
+            if (accessibleFields.isEmpty() || !_isAccessible(type)) {
+               processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "No " + GeneratedValidator.CLASS_NAME_SUFFIX
+                  + " generated since no constrained field is accessible.", type);
+            } else {
+               try {
+                  _generate(type, accessibleFields);
+               } catch (final IOException ex) {
+                  processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot generate " + GeneratedValidator.CLASS_NAME_SUFFIX + ": " + ex,
+                     type);
+               }
+            }
+         }
+      }
+
+      for (final TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+         _process(nested);
+      }
+   }
+}
@@ -5,7 +5,11 @@
 package net.sf.oval.configuration.pojo;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import net.sf.oval.configuration.Configurer;
 import net.sf.oval.configuration.pojo.elements.ClassConfiguration;
@@ -17,18 +21,49 @@
 public class POJOConfigurer implements Configurer, Serializable {
    private static final long serialVersionUID = 1L;
 
+   /**
+    * Lookup index of a configuration collection.
+    *
+    * The index is rebuilt if the collection was replaced or its size changed, other in-place modifications of the
+    * collection or its configurations are not detected.
+    */
+   private static final class Index<K, V> {
+      private final Collection<V> indexed;
+      private final int indexedSize;
+      private final Map<K, V> byKey;
+
+      private Index(final Collection<V> indexed, final Function<V, K> keyFunction) {
+         this.indexed = indexed;
+         indexedSize = indexed == null ? 0 : indexed.size();
+         byKey = new HashMap<>(indexedSize * 4 / 3 + 1);
+         if (indexed != null) {
+            for (final V value : indexed) {
+               // the first configuration wins, same as with a linear search
+               byKey.putIfAbsent(keyFunction.apply(value), value);
+            }
+         }
+      }
+
+      private boolean isValid(final Collection<V> values) {
+         return indexed == values && indexedSize == (values == null ? 0 : values.size());
+      }
+   }
+
    protected Set<ClassConfiguration> classConfigurations;
    protected Set<ConstraintSetConfiguration> constraintSetConfigurations;
 
+   private transient volatile Index<Class<?>, ClassConfiguration> classConfigurationsIndex;
+   private transient volatile Index<String, ConstraintSetConfiguration> constraintSetConfigurationsIndex;
+
    @Override
    public ClassConfiguration getClassConfiguration(final Class<?> clazz) {
-      if (classConfigurations != null) {
-         for (final ClassConfiguration classConfig : classConfigurations) {
-            if (classConfig.type == clazz)
-               return classConfig;
-         }
+      final Set<ClassConfiguration> classConfigs = classConfigurations;
+      Index<Class<?>, ClassConfiguration> index = classConfigurationsIndex;
+      if (index == null || !index.isValid(classConfigs)) {
+         index = new Index<>(classConfigs, cc -> cc.type);
+         classConfigurationsIndex = index;
       }
-      return null;
+      return index.byKey.get(clazz);
    }
 
    public Set<ClassConfiguration> getClassConfigurations() {
@@ -37,25 +72,36 @@ public Set<ClassConfiguration> getClassConfigurations() {
 
    @Override
    public ConstraintSetConfiguration getConstraintSetConfiguration(final String constraintSetId) {
-      if (constraintSetConfigurations == null)
-         return null;
-
-      for (final ConstraintSetConfiguration csc : constraintSetConfigurations) {
-         if (constraintSetId.equals(csc.id))
-            return csc;
+      final Set<ConstraintSetConfiguration> constraintSetConfigs = constraintSetConfigurations;
+      Index<String, ConstraintSetConfiguration> index = constraintSetConfigurationsIndex;
+      if (index == null || !index.isValid(constraintSetConfigs)) {
+         index = new Index<>(constraintSetConfigs, csc -> csc.id);
+         constraintSetConfigurationsIndex = index;
       }
-      return null;
+      return index.byKey.get(constraintSetId);
    }
 
    public Set<ConstraintSetConfiguration> getConstraintSetConfigurations() {
       return constraintSetConfigurations;
    }
 
+   /**
+    * The class configurations are looked up via an index that is only rebuilt if the set is replaced or its size changes.
+    * After other in-place modifications, e.g. replacing an entry or changing the type of an entry, this method must be
+    * called again.
+    */
    public void setClassConfigurations(final Set<ClassConfiguration> classConfigurations) {
       this.classConfigurations = classConfigurations;
+      classConfigurationsIndex = null;
    }
 
+   /**
+    * The constraint set configurations are looked up via an index that is only rebuilt if the set is replaced or its size
+    * changes. After other in-place modifications, e.g. replacing an entry or changing the id of an entry, this method must
+    * be called again.
+    */
    public void setConstraintSetConfigurations(final Set<ConstraintSetConfiguration> constraintSetConfigurations) {
       this.constraintSetConfigurations = constraintSetConfigurations;
+      constraintSetConfigurationsIndex = null;
    }
 }
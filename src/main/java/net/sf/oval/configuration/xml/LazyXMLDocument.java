@@ -0,0 +1,336 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.configuration.xml;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Byte offset index of the child elements of the <code>&lt;oval&gt;</code> element of an XML configuration file.
+ *
+ * The index is created by a lightweight scan of the file that only detects element boundaries. The
+ * <code>&lt;class&gt;</code> and <code>&lt;constraintSet&gt;</code> elements can then be parsed individually when they
+ * are first requested.
+ *
+ * @author Sebastian Thomschke
+ */
+final class LazyXMLDocument {
+
+   /**
+    * A child element of the root element.
+    */
+   static final class Element {
+      /**
+       * local name of the element
+       */
+      final String name;
+
+      /**
+       * the class name of <code>&lt;class&gt;</code> elements, the id of <code>&lt;constraintSet&gt;</code> elements,
+       * otherwise null
+       */
+      final String key;
+      final long offset;
+      final int length;
+      final long crc;
+
+      /**
+       * the configuration parsed from this element, null if not yet parsed
+       */
+      volatile Object configuration;
+
+      private Element(final String name, final String key, final long offset, final int length, final long crc) {
+         this.name = name;
+         this.key = key;
+         this.offset = offset;
+         this.length = length;
+         this.crc = crc;
+      }
+
+      /**
+       * @return a value that changes if the content of the element changes
+       */
+      String getFingerprint() {
+         return length + ":" + crc;
+      }
+   }
+
+   private static final byte[] ASCII_MARKUP = "<>/?!-[]='\" \t\r\nxml".getBytes(StandardCharsets.US_ASCII);
+   private static final Pattern ENCODING_PATTERN = Pattern.compile("^<\\?xml[^>]*\\sencoding\\s*=\\s*[\"']([^\"']+)[\"']");
+   private static final Pattern KEY_ATTRIBUTE_PATTERN = Pattern.compile("\\s(type|id)\\s*=\\s*(\"([^\"]*)\"|'([^']*)')");
+
+   /**
+    * Indexes the given XML configuration file.
+    *
+    * @return null if the file uses an encoding that is not ASCII compatible, e.g. UTF-16
+    */
+   static LazyXMLDocument index(final File file) throws IOException {
+      // the file is read into the heap instead of being memory-mapped, a mapping would keep the file locked on Windows until
+      // the buffer is garbage collected
+      final ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+
+      int start = 0;
+      if (buf.limit() >= 3 && (buf.get(0) & 0xFF) == 0xEF && (buf.get(1) & 0xFF) == 0xBB && (buf.get(2) & 0xFF) == 0xBF) {
+         start = 3; // UTF-8 BOM
+      } else if (buf.limit() >= 2 && ((buf.get(0) & 0xFF) == 0xFE || (buf.get(0) & 0xFF) == 0xFF || buf.get(0) == 0 || buf.get(1) == 0))
+         return null; // UTF-16/UTF-32
+
+      final Charset charset = _getCharset(buf, start);
+      if (charset == null)
+         return null;
+
+      return new LazyXMLDocument(file, charset, buf, start);
+   }
+
+   /**
+    * @return the encoding declared in the XML declaration, UTF-8 if none is declared, null if the encoding is not ASCII compatible
+    */
+   private static Charset _getCharset(final ByteBuffer buf, final int start) throws IOException {
+      if (!_startsWith(buf, start, "<?xml"))
+         return StandardCharsets.UTF_8;
+
+      final int end = _indexOf(buf, start, "?>");
+      final byte[] declaration = new byte[end - start];
+      for (int i = 0; i < declaration.length; i++) {
+         declaration[i] = buf.get(start + i);
+      }
+      final Matcher m = ENCODING_PATTERN.matcher(new String(declaration, StandardCharsets.US_ASCII));
+      if (!m.find())
+         return StandardCharsets.UTF_8;
+
+      final Charset charset;
+      try {
+         charset = Charset.forName(m.group(1));
+      } catch (final IllegalArgumentException ex) {
+         throw new IOException("Unsupported encoding [" + m.group(1) + "]", ex);
+      }
+      return Arrays.equals(ASCII_MARKUP, new String(ASCII_MARKUP, StandardCharsets.US_ASCII).getBytes(charset)) ? charset : null;
+   }
+
+   /**
+    * @return the position directly after the first occurrence of the given ASCII string starting from <code>pos</code>
+    */
+   private static int _indexOf(final ByteBuffer buf, final int pos, final String str) throws IOException {
+      for (int i = pos, max = buf.limit() - str.length(); i <= max; i++) {
+         if (_startsWith(buf, i, str))
+            return i + str.length();
+      }
+      throw new IOException("Unexpected end of document. Missing [" + str + "]");
+   }
+
+   /**
+    * @return the position directly after the start tag beginning at <code>pos</code>
+    */
+   private static int _skipStartTag(final ByteBuffer buf, final int pos) throws IOException {
+      byte quote = 0;
+      for (int i = pos + 1, limit = buf.limit(); i < limit; i++) {
+         final byte b = buf.get(i);
+         if (quote != 0) {
+            if (b == quote) {
+               quote = 0;
+            }
+         } else if (b == '"' || b == '\'') {
+            quote = b;
+         } else if (b == '>')
+            return i + 1;
+      }
+      throw new IOException("Unexpected end of document. Unclosed start tag.");
+   }
+
+   private static boolean _startsWith(final ByteBuffer buf, final int pos, final String prefix) {
+      if (pos + prefix.length() > buf.limit())
+         return false;
+      for (int i = 0; i < prefix.length(); i++) {
+         if (buf.get(pos + i) != prefix.charAt(i))
+            return false;
+      }
+      return true;
+   }
+
+   private static String _unescape(final String value) {
+      return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&apos;", "'").replace("&amp;", "&");
+   }
+
+   final File file;
+   final Charset charset;
+
+   /**
+    * the bytes of the document up to and including the start tag of the root element
+    */
+   private final byte[] header;
+   private final byte[] footer;
+   private final long fileSize;
+
+   /**
+    * the child elements of the root element in document order
+    */
+   final List<Element> elements;
+   final Map<String, Element> classElementsByType = new HashMap<>();
+   final Map<String, Element> constraintSetElementsById = new HashMap<>();
+
+   private LazyXMLDocument(final File file, final Charset charset, final ByteBuffer buf, final int start) throws IOException {
+      this.file = file;
+      this.charset = charset;
+      fileSize = buf.limit();
+
+      final List<Element> elems = new ArrayList<>();
+      byte[] headerBytes = null;
+      String rootName = null;
+      int depth = 0;
+      int elementStart = -1;
+      int pos = start;
+      final int limit = buf.limit();
+      while (pos < limit) {
+         if (buf.get(pos) != '<') {
+            pos++;
+            continue;
+         }
+
+         if (_startsWith(buf, pos, "<?")) {
+            pos = _indexOf(buf, pos, "?>");
+         } else if (_startsWith(buf, pos, "<!--")) {
+            pos = _indexOf(buf, pos, "-->");
+         } else if (_startsWith(buf, pos, "<![CDATA[")) {
+            pos = _indexOf(buf, pos, "]]>");
+         } else if (_startsWith(buf, pos, "<!"))
+            throw new IOException("DOCTYPE is disallowed.");
+         else if (_startsWith(buf, pos, "</")) {
+            pos = _indexOf(buf, pos, ">");
+            depth--;
+            if (depth == 1) {
+               elems.add(_createElement(buf, elementStart, pos));
+            } else if (depth == 0) {
+               break;
+            }
+         } else {
+            final int tagStart = pos;
+            pos = _skipStartTag(buf, pos);
+            final boolean isEmptyElement = buf.get(pos - 2) == '/';
+            if (depth == 0) {
+               headerBytes = new byte[pos];
+               for (int i = 0; i < pos; i++) {
+                  headerBytes[i] = buf.get(i);
+               }
+               rootName = _getElementName(buf, tagStart, pos);
+               if (isEmptyElement) {
+                  break;
+               }
+               depth = 1;
+            } else if (depth == 1) {
+               if (isEmptyElement) {
+                  elems.add(_createElement(buf, tagStart, pos));
+               } else {
+                  elementStart = tagStart;
+                  depth = 2;
+               }
+            } else if (!isEmptyElement) {
+               depth++;
+            }
+         }
+      }
+      if (headerBytes == null)
+         throw new IOException("No root element found.");
+
+      if (buf.get(headerBytes.length - 2) == '/') {
+         // <oval/>
+         headerBytes[headerBytes.length - 2] = ' ';
+      }
+      header = headerBytes;
+      footer = ("</" + rootName + ">").getBytes(charset);
+      elements = Collections.unmodifiableList(elems);
+      for (final Element elem : elements) {
+         if (elem.key != null) {
+            if ("class".equals(elem.name)) {
+               classElementsByType.putIfAbsent(elem.key, elem);
+            } else {
+               constraintSetElementsById.putIfAbsent(elem.key, elem);
+            }
+         }
+      }
+   }
+
+   private Element _createElement(final ByteBuffer buf, final int start, final int end) throws IOException {
+      final String name = _getElementName(buf, start, end);
+      String key = null;
+      if ("class".equals(name) || "constraintSet".equals(name)) {
+         final String keyAttribute = "class".equals(name) ? "type" : "id";
+         final Matcher m = KEY_ATTRIBUTE_PATTERN.matcher(_getString(buf, start, _skipStartTag(buf, start)));
+         while (m.find()) {
+            if (keyAttribute.equals(m.group(1))) {
+               key = _unescape(m.group(3) == null ? m.group(4) : m.group(3));
+               break;
+            }
+         }
+      }
+
+      final ByteBuffer slice = buf.duplicate();
+      slice.position(start);
+      slice.limit(end);
+      final CRC32 crc = new CRC32();
+      crc.update(slice);
+      return new Element(name, key, start, end - start, crc.getValue());
+   }
+
+   private String _getElementName(final ByteBuffer buf, final int start, final int end) {
+      int nameEnd = start + 1;
+      while (nameEnd < end) {
+         final byte b = buf.get(nameEnd);
+         if (b == '>' || b == '/' || b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+            break;
+         }
+         nameEnd++;
+      }
+      final String name = _getString(buf, start + 1, nameEnd);
+      final int colon = name.indexOf(':');
+      return colon < 0 ? name : name.substring(colon + 1);
+   }
+
+   private String _getString(final ByteBuffer buf, final int start, final int end) {
+      final byte[] bytes = new byte[end - start];
+      for (int i = 0; i < bytes.length; i++) {
+         bytes[i] = buf.get(start + i);
+      }
+      return new String(bytes, charset);
+   }
+
+   /**
+    * @return a standalone XML document with the same root element that only contains the given element
+    * @throws IOException if the file cannot be read or its content changed since it was indexed
+    */
+   byte[] getElementAsDocument(final Element element) throws IOException {
+      final byte[] doc = new byte[header.length + element.length + footer.length];
+      System.arraycopy(header, 0, doc, 0, header.length);
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+         if (channel.size() != fileSize)
+            throw new IOException("File [" + file + "] was modified after it was indexed.");
+         final ByteBuffer buf = ByteBuffer.wrap(doc, header.length, element.length);
+         while (buf.hasRemaining()) {
+            if (channel.read(buf, element.offset + buf.position() - header.length) < 0)
+               throw new IOException("Unexpected end of file [" + file + "]");
+         }
+      }
+      final CRC32 crc = new CRC32();
+      crc.update(doc, header.length, element.length);
+      if (crc.getValue() != element.crc)
+         throw new IOException("File [" + file + "] was modified after it was indexed.");
+      System.arraycopy(footer, 0, doc, header.length + element.length, footer.length);
+      return doc;
+   }
+}
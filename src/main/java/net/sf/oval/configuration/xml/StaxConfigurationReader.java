@@ -0,0 +1,328 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.configuration.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.StreamException;
+import com.thoughtworks.xstream.io.naming.NameCoder;
+import com.thoughtworks.xstream.io.xml.QNameMap;
+import com.thoughtworks.xstream.io.xml.StaxReader;
+import com.thoughtworks.xstream.io.xml.XmlFriendlyNameCoder;
+
+import net.sf.oval.configuration.pojo.POJOConfigurer;
+import net.sf.oval.configuration.pojo.elements.ClassConfiguration;
+import net.sf.oval.configuration.pojo.elements.ConstraintSetConfiguration;
+
+/**
+ * Reads an OVal XML configuration document via StAX without building a DOM of the whole document.
+ *
+ * The child elements of the <code>&lt;oval&gt;</code> root element are unmarshalled one after the other by XStream, i.e.
+ * only the configuration model is kept in memory. <code>&lt;xi:include&gt;</code> elements are supported as children
+ * of the root element with an optional <code>element(/1/...)</code> xpointer. XStream <code>reference</code> attributes
+ * are rejected since they may point into other child elements of the root element.
+ *
+ * @author Sebastian Thomschke
+ */
+final class StaxConfigurationReader {
+
+   /**
+    * Exposes the subtree of the element the underlying reader is positioned at as a document.
+    */
+   private static final class SubtreeReader extends StreamReaderDelegate {
+
+      /**
+       * -1 if the start element of the subtree was not yet returned
+       */
+      private int depth = -1;
+
+      SubtreeReader(final XMLStreamReader in) {
+         super(in);
+      }
+
+      @Override
+      public void close() {
+         // the underlying reader is closed by the StaxConfigurationReader
+      }
+
+      @Override
+      public int getEventType() {
+         return depth == 0 ? END_DOCUMENT : super.getEventType();
+      }
+
+      @Override
+      public boolean hasNext() throws XMLStreamException {
+         return depth != 0;
+      }
+
+      @Override
+      public int next() throws XMLStreamException {
+         if (depth < 0) {
+            depth = 1;
+            return START_ELEMENT;
+         }
+         if (depth == 0)
+            return END_DOCUMENT;
+
+         final int event = super.next();
+         if (event == START_ELEMENT) {
+            if (XINCLUDE_NS.equals(getNamespaceURI()))
+               throw new XMLStreamException("<xi:include> is only supported as child of the <oval> element.", getLocation());
+            if (getAttributeValue(null, "reference") != null)
+               throw new XMLStreamException("XStream references are not supported by the streaming parser, element <" + getLocalName()
+                  + "> references another element. Replace the reference with a copy of the referenced element.", getLocation());
+            depth++;
+         } else if (event == END_ELEMENT) {
+            depth--;
+         }
+         return event;
+      }
+
+      /**
+       * Moves the underlying reader to the end element of the subtree.
+       */
+      void skipToEnd() throws XMLStreamException {
+         while (depth != 0) {
+            next();
+         }
+      }
+   }
+
+   private static final String XINCLUDE_NS = "http://www.w3.org/2001/XInclude";
+   private static final NameCoder NAME_CODER = new XmlFriendlyNameCoder();
+   private static final QNameMap QNAME_MAP = new QNameMap();
+
+   private static XMLInputFactory _createInputFactory() {
+      final XMLInputFactory factory = XMLInputFactory.newInstance();
+      factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+      factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+
+      /*
+       * XXE protection
+       */
+      factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+      factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+      return factory;
+   }
+
+   /**
+    * Moves the reader to the start element of the root element.
+    */
+   private static void _moveToRootElement(final XMLStreamReader in) throws XMLStreamException, IOException {
+      while (in.getEventType() != XMLStreamConstants.START_ELEMENT) {
+         if (in.getEventType() == XMLStreamConstants.DTD)
+            throw new IOException("DOCTYPE is disallowed.");
+         in.next();
+      }
+   }
+
+   /**
+    * Moves the reader to the start element of the element referenced by the given <code>element(/1/...)</code> xpointer.
+    */
+   private static void _moveToElement(final XMLStreamReader in, final String xpointer) throws XMLStreamException, IOException {
+      _moveToRootElement(in);
+      if (xpointer == null)
+         return;
+
+      final String path = xpointer.trim();
+      if (!path.startsWith("element(/1") || !path.endsWith(")"))
+         throw new IOException("Unsupported xpointer [" + xpointer + "]");
+
+      for (final String segment : path.substring("element(/1".length(), path.length() - 1).split("/")) {
+         if (segment.isEmpty()) {
+            continue;
+         }
+         int remaining = Integer.parseInt(segment);
+         while (true) {
+            final int event = in.next();
+            if (event == XMLStreamConstants.END_ELEMENT)
+               throw new IOException("Element referenced by xpointer [" + xpointer + "] not found.");
+            if (event == XMLStreamConstants.START_ELEMENT) {
+               if (--remaining == 0) {
+                  break;
+               }
+               _skipElement(in);
+            }
+         }
+      }
+   }
+
+   /**
+    * Moves the reader from the start element to the corresponding end element.
+    */
+   private static void _skipElement(final XMLStreamReader in) throws XMLStreamException {
+      int depth = 1;
+      while (depth > 0) {
+         final int event = in.next();
+         if (event == XMLStreamConstants.START_ELEMENT) {
+            depth++;
+         } else if (event == XMLStreamConstants.END_ELEMENT) {
+            depth--;
+         }
+      }
+   }
+
+   private final XStream xStream;
+   private final XMLInputFactory inputFactory = _createInputFactory();
+   private final Deque<String> includeStack = new ArrayDeque<>(2);
+   private final POJOConfigurer result = new POJOConfigurer();
+
+   StaxConfigurationReader(final XStream xStream) {
+      this.xStream = xStream;
+      result.setClassConfigurations(new LinkedHashSet<>());
+      result.setConstraintSetConfigurations(new LinkedHashSet<>());
+   }
+
+   POJOConfigurer read(final File input) throws StreamException {
+      final String systemId = input.toURI().toASCIIString();
+      try (InputStream is = input.toURI().toURL().openStream()) {
+         _read(inputFactory.createXMLStreamReader(systemId, is), systemId);
+         return _getResult();
+      } catch (final IOException | XMLStreamException ex) {
+         throw new StreamException(ex);
+      }
+   }
+
+   POJOConfigurer read(final InputStream input) throws StreamException {
+      try {
+         _read(inputFactory.createXMLStreamReader(input), null);
+         return _getResult();
+      } catch (final IOException | XMLStreamException ex) {
+         throw new StreamException(ex);
+      }
+   }
+
+   /**
+    * Reads the given elements of the indexed document.
+    */
+   POJOConfigurer read(final LazyXMLDocument document, final List<LazyXMLDocument.Element> elements) throws StreamException {
+      final String systemId = document.file.toURI().toASCIIString();
+      try {
+         for (final LazyXMLDocument.Element element : elements) {
+            _read(inputFactory.createXMLStreamReader(systemId, new ByteArrayInputStream(document.getElementAsDocument(element))), systemId);
+         }
+         return _getResult();
+      } catch (final IOException | XMLStreamException ex) {
+         throw new StreamException(ex);
+      }
+   }
+
+   POJOConfigurer read(final Reader input) throws StreamException {
+      try {
+         _read(inputFactory.createXMLStreamReader(input), null);
+         return _getResult();
+      } catch (final IOException | XMLStreamException ex) {
+         throw new StreamException(ex);
+      }
+   }
+
+   private POJOConfigurer _getResult() {
+      // same as XStream which does not initialize implicit collections without elements
+      if (result.getClassConfigurations().isEmpty()) {
+         result.setClassConfigurations(null);
+      }
+      if (result.getConstraintSetConfigurations().isEmpty()) {
+         result.setConstraintSetConfigurations(null);
+      }
+      return result;
+   }
+
+   private void _include(final XMLStreamReader in, final String systemId) throws XMLStreamException, IOException {
+      final String href = in.getAttributeValue(null, "href");
+      if (href == null)
+         throw new IOException("<xi:include> without href attribute.");
+
+      final URI uri;
+      try {
+         uri = systemId == null ? new URI(href) : new URI(systemId).resolve(href);
+      } catch (final URISyntaxException ex) {
+         throw new IOException(ex);
+      }
+      if (!uri.isAbsolute())
+         throw new IOException("Cannot resolve relative include [" + href + "] of a document without system id.");
+
+      final String includedSystemId = uri.toString();
+      final String path = includedSystemId.toLowerCase().replace('\\', '/');
+      if (!path.endsWith(".xml") || path.startsWith("file:///c:/windows/") || path.startsWith("file://etc/"))
+         throw new IOException("Referencing entity [" + includedSystemId + "] is not allowed!");
+      if (includeStack.contains(includedSystemId))
+         throw new IOException("Recursive include detected: " + includedSystemId);
+
+      includeStack.push(includedSystemId);
+      try (InputStream is = uri.toURL().openStream()) {
+         final XMLStreamReader included = inputFactory.createXMLStreamReader(includedSystemId, is);
+         try {
+            _moveToElement(included, in.getAttributeValue(null, "xpointer"));
+            _readElement(included, includedSystemId);
+         } finally {
+            included.close();
+         }
+      } finally {
+         includeStack.pop();
+      }
+   }
+
+   private void _read(final XMLStreamReader in, final String systemId) throws XMLStreamException, IOException {
+      try {
+         _moveToRootElement(in);
+         _readElement(in, systemId);
+      } finally {
+         in.close();
+      }
+   }
+
+   /**
+    * Reads the element the reader is positioned at. The reader is positioned at the corresponding end element afterwards.
+    */
+   private void _readElement(final XMLStreamReader in, final String systemId) throws XMLStreamException, IOException {
+      final String name = in.getLocalName();
+
+      if (XINCLUDE_NS.equals(in.getNamespaceURI())) {
+         if ("include".equals(name)) {
+            _include(in, systemId);
+         }
+         _skipElement(in);
+         return;
+      }
+
+      if ("oval".equals(name)) {
+         while (true) {
+            final int event = in.next();
+            if (event == XMLStreamConstants.END_ELEMENT)
+               return;
+            if (event == XMLStreamConstants.START_ELEMENT) {
+               _readElement(in, systemId);
+            }
+         }
+      }
+
+      final SubtreeReader subtree = new SubtreeReader(in);
+      final Object element = xStream.unmarshal(new StaxReader(QNAME_MAP, subtree, NAME_CODER));
+      subtree.skipToEnd();
+      if (element instanceof ClassConfiguration) {
+         result.getClassConfigurations().add((ClassConfiguration) element);
+      } else if (element instanceof ConstraintSetConfiguration) {
+         result.getConstraintSetConfigurations().add((ConstraintSetConfiguration) element);
+      } else
+         throw new IOException("Unexpected element <" + name + "> at " + in.getLocation());
+   }
+}
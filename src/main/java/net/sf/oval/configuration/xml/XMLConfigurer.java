@@ -5,19 +5,34 @@
 package net.sf.oval.configuration.xml;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.regex.Pattern;
 
 import com.thoughtworks.xstream.XStream;
@@ -27,8 +42,12 @@
 import com.thoughtworks.xstream.converters.collections.CollectionConverter;
 import com.thoughtworks.xstream.converters.reflection.PureJavaReflectionProvider;
 import com.thoughtworks.xstream.converters.reflection.ReflectionConverter;
+import com.thoughtworks.xstream.core.TreeMarshaller;
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.StreamException;
+import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
+import com.thoughtworks.xstream.io.xml.XmlFriendlyNameCoder;
 import com.thoughtworks.xstream.mapper.Mapper;
 
 import net.sf.oval.AbstractCheck;
@@ -36,6 +55,7 @@
 import net.sf.oval.CheckExclusion;
 import net.sf.oval.ConstraintTarget;
 import net.sf.oval.configuration.CheckInitializationListener;
+import net.sf.oval.configuration.ConfigurationChangeListener;
 import net.sf.oval.configuration.Configurer;
 import net.sf.oval.configuration.annotation.AbstractAnnotationCheck;
 import net.sf.oval.configuration.annotation.Constraint;
@@ -95,12 +115,23 @@
 import net.sf.oval.exception.InvalidConfigurationException;
 import net.sf.oval.guard.PostCheck;
 import net.sf.oval.guard.PreCheck;
+import net.sf.oval.internal.Log;
 import net.sf.oval.internal.util.Assert;
 import net.sf.oval.internal.util.ReflectionUtils;
 
 /**
  * XStream (http://xstream.codehaus.org/) based XML configuration class.
  *
+ * If the streaming parser is enabled via {@link #setStreamingParserEnabled(boolean)} the XML configuration is read via StAX
+ * element by element instead of building a DOM of the whole document first.
+ *
+ * If lazy loading is enabled via {@link #setLazyLoadingEnabled(boolean)}, XML files are only indexed by {@link #fromXML(File)}
+ * and the configuration of a class or constraint set is parsed when it is first requested.
+ *
+ * The XML file loaded via {@link #fromXML(File)} can be watched for modifications via {@link #startWatching()}. Registered
+ * {@link ConfigurationChangeListener}s are notified about the classes and constraint sets whose configuration changed, e.g.
+ * <code>xmlConfigurer.addConfigurationChangeListener(validator::reconfigureChecks)</code>.
+ *
  * @author Sebastian Thomschke
  */
 public class XMLConfigurer implements Configurer {
@@ -279,8 +310,55 @@ public Object newInstance(final Class type) {
       }
    }
 
+   /**
+    * The active configuration, replaced as a whole so that lookups see a consistent state.
+    */
+   private static final class ActiveConfiguration {
+      final POJOConfigurer pojoConfigurer;
+
+      /**
+       * the lazily loaded configurations of the XML file complementing {@link #pojoConfigurer}, may be null
+       */
+      final LazyXMLDocument lazyDocument;
+
+      ActiveConfiguration(final POJOConfigurer pojoConfigurer, final LazyXMLDocument lazyDocument) {
+         this.pojoConfigurer = pojoConfigurer;
+         this.lazyDocument = lazyDocument;
+      }
+   }
+
+   /**
+    * Fingerprints of the configuration of each class and constraint set, used to detect changed configurations.
+    */
+   private static final class ConfigurationFingerprints {
+      final Map<String, String> classes = new HashMap<>();
+      final Map<String, String> constraintSets = new HashMap<>();
+
+      /**
+       * the classes of the parsed class configurations by class name
+       */
+      final Map<String, Class<?>> classesByName = new HashMap<>();
+   }
+
+   private static final Log LOG = Log.getLog(XMLConfigurer.class);
+
    private static final ThreadLocal<Collection<CheckInitializationListener>> CURRENT_LISTENERS = new ThreadLocal<>();
 
+   private static <K> Set<K> _getChangedKeys(final Map<K, String> oldXMLByKey, final Map<K, String> newXMLByKey) {
+      final Set<K> changed = new HashSet<>();
+      oldXMLByKey.forEach((key, xml) -> {
+         if (!xml.equals(newXMLByKey.get(key))) {
+            changed.add(key);
+         }
+      });
+      newXMLByKey.keySet().forEach(key -> {
+         if (!oldXMLByKey.containsKey(key)) {
+            changed.add(key);
+         }
+      });
+      return changed;
+   }
+
    public static XStream createXStream() {
       final XStream xStream = new XStream(new XStreamReflectionProvider(), new XIncludeAwareDOMDriver());
       XStream.setupDefaultSecurity(xStream);
@@ -454,9 +532,23 @@ protected static void onCheckInitialized(final Check check) {
    }
 
    protected final Set<CheckInitializationListener> listeners = new LinkedHashSet<>(2);
-   private POJOConfigurer pojoConfigurer = new POJOConfigurer();
+   protected final Set<ConfigurationChangeListener> changeListeners = new CopyOnWriteArraySet<>();
+   private volatile ActiveConfiguration configuration = new ActiveConfiguration(new POJOConfigurer(), null);
    private final XStream xStream;
 
+   /**
+    * the XML file last loaded via {@link #fromXML(File)}
+    */
+   private volatile File xmlConfigFile;
+   private volatile boolean isStreamingParserEnabled;
+   private volatile boolean isLazyLoadingEnabled;
+
+   /**
+    * fingerprints of the current configuration, null if not yet computed
+    */
+   private ConfigurationFingerprints fingerprints;
+   private WatchService watchService;
+
    /**
     * creates an XMLConfigurer instance backed by a new XStream instance
     * using the com.thoughtworks.xstream.io.xml.StaxDriver for XML parsing
@@ -512,6 +604,15 @@ public XMLConfigurer(final XStream xStream, final String xmlConfigAsString) {
       fromXML(xmlConfigAsString);
    }
 
+   /**
+    * Registers a listener that is notified if loading an XML configuration changed the configuration of classes or
+    * constraint sets.
+    */
+   public boolean addConfigurationChangeListener(final ConfigurationChangeListener listener) {
+      Assert.argumentNotNull("listener", listener);
+      return changeListeners.add(listener);
+   }
+
    public boolean addCheckInitializationListener(final CheckInitializationListener listener) {
       Assert.argumentNotNull("listener", listener);
       return listeners.add(listener);
@@ -520,7 +621,24 @@ public boolean addCheckInitializationListener(final CheckInitializationListener
    public void fromXML(final File input) {
       CURRENT_LISTENERS.set(listeners);
       try {
-         pojoConfigurer = (POJOConfigurer) xStream.fromXML(input);
+         final LazyXMLDocument doc = isLazyLoadingEnabled ? _index(input) : null;
+         if (doc == null) {
+            // the index is only used to fingerprint the configurations if changes are tracked, it is created first so that a
+            // concurrent modification of the file is detected by the next load
+            final LazyXMLDocument index = isLazyLoadingEnabled || changeListeners.isEmpty() && !isWatching() ? null : _indexQuietly(input);
+            _setConfiguration(isStreamingParserEnabled ? new StaxConfigurationReader(xStream).read(input) : (POJOConfigurer) xStream.fromXML(input), null,
+               index);
+         } else {
+            // elements without class name or constraint set id, e.g. includes, are loaded eagerly
+            final List<LazyXMLDocument.Element> eagerElements = new ArrayList<>();
+            for (final LazyXMLDocument.Element element : doc.elements) {
+               if (element.key == null) {
+                  eagerElements.add(element);
+               }
+            }
+            _setConfiguration(new StaxConfigurationReader(xStream).read(doc, eagerElements), doc, null);
+         }
+         xmlConfigFile = input;
       } finally {
          CURRENT_LISTENERS.remove();
       }
@@ -529,7 +647,7 @@ public void fromXML(final File input) {
    public void fromXML(final InputStream input) {
       CURRENT_LISTENERS.set(listeners);
       try {
-         pojoConfigurer = (POJOConfigurer) xStream.fromXML(input);
+         _setConfiguration(isStreamingParserEnabled ? new StaxConfigurationReader(xStream).read(input) : (POJOConfigurer) xStream.fromXML(input), null, null);
       } finally {
          CURRENT_LISTENERS.remove();
       }
@@ -538,7 +656,7 @@ public void fromXML(final InputStream input) {
    public void fromXML(final Reader input) {
       CURRENT_LISTENERS.set(listeners);
       try {
-         pojoConfigurer = (POJOConfigurer) xStream.fromXML(input);
+         _setConfiguration(isStreamingParserEnabled ? new StaxConfigurationReader(xStream).read(input) : (POJOConfigurer) xStream.fromXML(input), null, null);
       } finally {
          CURRENT_LISTENERS.remove();
       }
@@ -547,7 +665,8 @@ public void fromXML(final Reader input) {
    public void fromXML(final String input) {
       CURRENT_LISTENERS.set(listeners);
       try {
-         pojoConfigurer = (POJOConfigurer) xStream.fromXML(input);
+         _setConfiguration(isStreamingParserEnabled ? new StaxConfigurationReader(xStream).read(new StringReader(input))
+            : (POJOConfigurer) xStream.fromXML(input), null, null);
       } finally {
          CURRENT_LISTENERS.remove();
       }
@@ -555,15 +674,62 @@ public void fromXML(final String input) {
 
    @Override
    public ClassConfiguration getClassConfiguration(final Class<?> clazz) throws InvalidConfigurationException {
-      return pojoConfigurer.getClassConfiguration(clazz);
+      final ActiveConfiguration config = configuration;
+      final ClassConfiguration classConfig = config.pojoConfigurer.getClassConfiguration(clazz);
+      if (classConfig != null)
+         return classConfig;
+
+      final LazyXMLDocument doc = config.lazyDocument;
+      if (doc == null)
+         return null;
+      final LazyXMLDocument.Element element = doc.classElementsByType.get(clazz.getName());
+      return element == null ? null : (ClassConfiguration) _load(doc, element);
    }
 
    @Override
    public ConstraintSetConfiguration getConstraintSetConfiguration(final String constraintSetId) throws InvalidConfigurationException {
-      return pojoConfigurer.getConstraintSetConfiguration(constraintSetId);
+      final ActiveConfiguration config = configuration;
+      final ConstraintSetConfiguration constraintSetConfig = config.pojoConfigurer.getConstraintSetConfiguration(constraintSetId);
+      if (constraintSetConfig != null)
+         return constraintSetConfig;
+
+      final LazyXMLDocument doc = config.lazyDocument;
+      if (doc == null)
+         return null;
+      final LazyXMLDocument.Element element = doc.constraintSetElementsById.get(constraintSetId);
+      return element == null ? null : (ConstraintSetConfiguration) _load(doc, element);
    }
 
-   public POJOConfigurer getPojoConfigurer() {
+   /**
+    * @return the configuration model. If lazy loading is enabled, all not yet loaded configurations are loaded.
+    */
+   public synchronized POJOConfigurer getPojoConfigurer() {
+      final ActiveConfiguration active = configuration;
+      final POJOConfigurer pojoConfigurer = active.pojoConfigurer;
+      final LazyXMLDocument doc = active.lazyDocument;
+      if (doc != null) {
+         final POJOConfigurer config = new POJOConfigurer();
+         config.setClassConfigurations(new LinkedHashSet<>());
+         config.setConstraintSetConfigurations(new LinkedHashSet<>());
+         if (pojoConfigurer.getClassConfigurations() != null) {
+            config.getClassConfigurations().addAll(pojoConfigurer.getClassConfigurations());
+         }
+         if (pojoConfigurer.getConstraintSetConfigurations() != null) {
+            config.getConstraintSetConfigurations().addAll(pojoConfigurer.getConstraintSetConfigurations());
+         }
+         for (final LazyXMLDocument.Element element : doc.elements) {
+            if (element.key != null) {
+               final Object elementConfig = _load(doc, element);
+               if (elementConfig instanceof ClassConfiguration) {
+                  config.getClassConfigurations().add((ClassConfiguration) elementConfig);
+               } else {
+                  config.getConstraintSetConfigurations().add((ConstraintSetConfiguration) elementConfig);
+               }
+            }
+         }
+         configuration = new ActiveConfiguration(config, null);
+         return config;
+      }
       return pojoConfigurer;
    }
 
@@ -571,23 +737,332 @@ public XStream getXStream() {
       return xStream;
    }
 
+   /**
+    * @return true if the configurations of XML files are parsed per class and constraint set when first requested
+    */
+   public boolean isLazyLoadingEnabled() {
+      return isLazyLoadingEnabled;
+   }
+
+   /**
+    * @return true if XML configurations are read via StAX instead of XStream's DOM based driver
+    */
+   public boolean isStreamingParserEnabled() {
+      return isStreamingParserEnabled;
+   }
+
+   /**
+    * @return true if the XML file is watched for modifications
+    */
+   public synchronized boolean isWatching() {
+      return watchService != null;
+   }
+
    public boolean removeCheckInitializationListener(final CheckInitializationListener listener) {
       return listeners.remove(listener);
    }
 
+   public boolean removeConfigurationChangeListener(final ConfigurationChangeListener listener) {
+      return changeListeners.remove(listener);
+   }
+
+   /**
+    * Enables lazy loading of XML files via {@link #fromXML(File)}. The file is only indexed and the configuration of a
+    * class or constraint set is parsed via StAX when it is first requested. The file must use an ASCII compatible
+    * encoding, e.g. UTF-8, otherwise it is loaded completely.
+    */
+   public void setLazyLoadingEnabled(final boolean isEnabled) {
+      isLazyLoadingEnabled = isEnabled;
+   }
+
    public void setPojoConfigurer(final POJOConfigurer pojoConfigurer) {
-      this.pojoConfigurer = pojoConfigurer;
+      _setConfiguration(pojoConfigurer, null, null);
    }
 
+   /**
+    * Enables reading XML configurations via StAX element by element without building a DOM of the whole document, which
+    * reduces the memory required to load large configurations. <code>&lt;xi:include&gt;</code> elements are only supported
+    * as children of the <code>&lt;oval&gt;</code> element and only with <code>element(/1/...)</code> xpointers.
+    */
+   public void setStreamingParserEnabled(final boolean isEnabled) {
+      isStreamingParserEnabled = isEnabled;
+   }
+
+   /**
+    * Starts watching the XML file last loaded via {@link #fromXML(File)} for modifications using a daemon thread.
+    * A modified file is reloaded and the registered {@link ConfigurationChangeListener}s are notified about the classes
+    * and constraint sets whose configuration changed. If the modified file cannot be loaded, the current configuration
+    * is kept.
+    *
+    * @throws IllegalStateException if no XML file was loaded
+    */
+   public synchronized void startWatching() throws IOException, IllegalStateException {
+      if (watchService != null)
+         return;
+
+      final File file = xmlConfigFile;
+      if (file == null)
+         throw new IllegalStateException("No XML configuration file was loaded.");
+
+      final Path path = file.toPath().toAbsolutePath();
+      final WatchService ws = path.getFileSystem().newWatchService();
+      path.getParent().register(ws, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+      watchService = ws;
+
+      final Thread watcher = new Thread(() -> _watch(ws, path), "OVal XMLConfigurer [" + path + "]");
+      watcher.setDaemon(true);
+      watcher.start();
+   }
+
+   /**
+    * Stops watching the XML file for modifications.
+    */
+   public synchronized void stopWatching() {
+      if (watchService == null)
+         return;
+
+      try {
+         watchService.close();
+      } catch (final IOException ex) {
+         LOG.warn("Closing watch service failed.", ex);
+      }
+      watchService = null;
+   }
+
+   /**
+    * If the streaming parser or lazy loading is enabled, objects shared by multiple elements, e.g. checks, are written as
+    * copies instead of XStream references, since these readers cannot resolve references.
+    */
    public synchronized String toXML() {
-      return xStream.toXML(pojoConfigurer);
+      final StringWriter out = new StringWriter();
+      _toXML(out);
+      return out.toString();
    }
 
+   /**
+    * @see #toXML()
+    */
    public synchronized void toXML(final OutputStream out) {
-      xStream.toXML(pojoConfigurer, out);
+      _toXML(new OutputStreamWriter(out));
    }
 
+   /**
+    * @see #toXML()
+    */
    public synchronized void toXML(final Writer out) {
-      xStream.toXML(pojoConfigurer, out);
+      _toXML(out);
+   }
+
+   /**
+    * Fingerprints the configurations of lazily loaded or indexed XML elements via the lengths and CRCs computed by
+    * {@link LazyXMLDocument} and only serializes the other configurations, e.g. of included files or of configurations
+    * not loaded from a file.
+    *
+    * @param doc the lazily loaded configurations complementing <code>config</code>, may be null
+    * @param configIndex the index of the file <code>config</code> was loaded from completely, may be null
+    */
+   private ConfigurationFingerprints _getFingerprints(final POJOConfigurer config, final LazyXMLDocument doc, final LazyXMLDocument configIndex) {
+      final ConfigurationFingerprints result = new ConfigurationFingerprints();
+
+      // number of class and constraint set configurations of config covered by the index by key
+      final Map<String, Integer> indexedClasses = new HashMap<>();
+      final Map<String, Integer> indexedConstraintSets = new HashMap<>();
+      for (final LazyXMLDocument index : new LazyXMLDocument[] {doc, configIndex}) {
+         if (index != null) {
+            for (final LazyXMLDocument.Element element : index.elements) {
+               if (element.key != null) {
+                  final boolean isClass = "class".equals(element.name);
+                  (isClass ? result.classes : result.constraintSets).merge(element.key, element.getFingerprint(), String::concat);
+                  if (index == configIndex) {
+                     (isClass ? indexedClasses : indexedConstraintSets).merge(element.key, 1, Integer::sum);
+                  }
+               }
+            }
+         }
+      }
+
+      if (config != null && config.getClassConfigurations() != null) {
+         for (final ClassConfiguration classConfig : config.getClassConfigurations()) {
+            final String className = classConfig.type.getName();
+            result.classesByName.put(className, classConfig.type);
+            if (indexedClasses.merge(className, -1, Integer::sum) < 0) {
+               result.classes.merge(className, xStream.toXML(classConfig), String::concat);
+            }
+         }
+      }
+      if (config != null && config.getConstraintSetConfigurations() != null) {
+         for (final ConstraintSetConfiguration constraintSetConfig : config.getConstraintSetConfigurations()) {
+            if (indexedConstraintSets.merge(constraintSetConfig.id, -1, Integer::sum) < 0) {
+               result.constraintSets.merge(constraintSetConfig.id, xStream.toXML(constraintSetConfig), String::concat);
+            }
+         }
+      }
+      return result;
+   }
+
+   private LazyXMLDocument _index(final File input) throws StreamException {
+      try {
+         final LazyXMLDocument doc = LazyXMLDocument.index(input);
+         if (doc == null) {
+            LOG.debug("Lazy loading not supported for encoding of {1}. Loading file completely.", input);
+         }
+         return doc;
+      } catch (final IOException ex) {
+         throw new StreamException(ex);
+      }
+   }
+
+   /**
+    * @return the index of the given file, null if the file cannot be indexed
+    */
+   private LazyXMLDocument _indexQuietly(final File input) {
+      try {
+         return LazyXMLDocument.index(input);
+      } catch (final IOException | RuntimeException ex) {
+         LOG.debug("Indexing {1} failed.", input, ex);
+         return null;
+      }
+   }
+
+   /**
+    * Parses the configuration of the given element of a lazily loaded XML file if not done yet.
+    */
+   private Object _load(final LazyXMLDocument doc, final LazyXMLDocument.Element element) throws InvalidConfigurationException {
+      Object config = element.configuration;
+      if (config == null) {
+         synchronized (element) {
+            config = element.configuration;
+            if (config == null) {
+               final Collection<CheckInitializationListener> currentListeners = CURRENT_LISTENERS.get();
+               CURRENT_LISTENERS.set(listeners);
+               try {
+                  final POJOConfigurer loaded = new StaxConfigurationReader(xStream).read(doc, Collections.singletonList(element));
+                  config = loaded.getClassConfigurations() == null //
+                     ? loaded.getConstraintSetConfigurations().iterator().next()
+                     : loaded.getClassConfigurations().iterator().next();
+               } catch (final StreamException ex) {
+                  throw new InvalidConfigurationException("Loading <" + element.name + "> element [" + element.key + "] of " + doc.file + " failed.", ex);
+               } finally {
+                  if (currentListeners == null) {
+                     CURRENT_LISTENERS.remove();
+                  } else {
+                     CURRENT_LISTENERS.set(currentListeners);
+                  }
+               }
+               element.configuration = config;
+            }
+         }
+      }
+      return config;
+   }
+
+   /**
+    * @return the class with the given name or null if it cannot be resolved
+    */
+   private Class<?> _resolveClass(final String className) {
+      try {
+         return xStream.getMapper().realClass(className);
+      } catch (final RuntimeException ex) {
+         LOG.debug("Cannot resolve class {1}", className, ex);
+         return null;
+      }
+   }
+
+   /**
+    * Activates the given configuration and notifies the change listeners about the classes and constraint sets whose
+    * configuration differs from the previous configuration. The listeners are notified without holding the lock of this
+    * configurer.
+    *
+    * @param newLazyDocument the lazily loaded configurations complementing <code>newConfig</code>, may be null
+    * @param newConfigIndex the index of the file <code>newConfig</code> was loaded from completely, may be null
+    */
+   private void _setConfiguration(final POJOConfigurer newConfig, final LazyXMLDocument newLazyDocument, final LazyXMLDocument newConfigIndex) {
+      final Set<Class<?>> changedClasses = new HashSet<>();
+      final Set<String> changedConstraintSetIds;
+      synchronized (this) {
+         final ActiveConfiguration oldConfiguration = configuration;
+         final POJOConfigurer oldConfig = oldConfiguration.pojoConfigurer;
+         final LazyXMLDocument oldLazyDocument = oldConfiguration.lazyDocument;
+         ConfigurationFingerprints oldFingerprints = fingerprints;
+         configuration = new ActiveConfiguration(newConfig, newLazyDocument);
+
+         // fingerprinting indexed files is cheap, other configurations are only fingerprinted if needed
+         if (changeListeners.isEmpty()) {
+            fingerprints = newLazyDocument == null && newConfigIndex == null ? null : _getFingerprints(newConfig, newLazyDocument, newConfigIndex);
+            return;
+         }
+
+         ConfigurationFingerprints newFingerprints = _getFingerprints(newConfig, newLazyDocument, newConfigIndex);
+         fingerprints = newFingerprints;
+         if (oldFingerprints == null) {
+            // the previous configuration was not fingerprinted since no listener was registered, i.e. both configurations are
+            // compared via their serialized form once
+            oldFingerprints = _getFingerprints(oldConfig, oldLazyDocument, null);
+            if (newConfigIndex != null) {
+               newFingerprints = _getFingerprints(newConfig, newLazyDocument, null);
+            }
+         }
+
+         for (final String className : _getChangedKeys(oldFingerprints.classes, newFingerprints.classes)) {
+            Class<?> clazz = newFingerprints.classesByName.get(className);
+            if (clazz == null) {
+               clazz = oldFingerprints.classesByName.get(className);
+            }
+            if (clazz == null) {
+               clazz = _resolveClass(className);
+            }
+            if (clazz != null) {
+               changedClasses.add(clazz);
+            }
+         }
+         changedConstraintSetIds = _getChangedKeys(oldFingerprints.constraintSets, newFingerprints.constraintSets);
+      }
+      if (changedClasses.isEmpty() && changedConstraintSetIds.isEmpty())
+         return;
+
+      LOG.debug("Configuration of classes {1} and constraint sets {2} changed.", changedClasses, changedConstraintSetIds);
+      for (final ConfigurationChangeListener listener : changeListeners) {
+         listener.onConfigurationChanged(Collections.unmodifiableSet(changedClasses), Collections.unmodifiableSet(changedConstraintSetIds));
+      }
+   }
+
+   private void _toXML(final Writer out) {
+      if (!isStreamingParserEnabled && !isLazyLoadingEnabled) {
+         xStream.toXML(getPojoConfigurer(), out);
+         return;
+      }
+
+      // the streaming parser and lazy loading unmarshal each child of <oval> separately, i.e. XStream references into
+      // other elements cannot be resolved
+      final HierarchicalStreamWriter writer = new PrettyPrintWriter(out, new XmlFriendlyNameCoder());
+      new TreeMarshaller(writer, xStream.getConverterLookup(), xStream.getMapper()).start(getPojoConfigurer(), null);
+      writer.flush();
+   }
+
+   private void _watch(final WatchService ws, final Path path) {
+      try {
+         while (true) {
+            final WatchKey key = ws.take();
+            boolean isModified = false;
+            for (final WatchEvent<?> event : key.pollEvents()) {
+               if (event.kind() == StandardWatchEventKinds.OVERFLOW || path.getFileName().equals(event.context())) {
+                  isModified = true;
+               }
+            }
+            key.reset();
+
+            if (isModified) {
+               try {
+                  fromXML(path.toFile());
+               } catch (final RuntimeException ex) {
+                  LOG.warn("Reloading XML configuration file {1} failed.", path, ex);
+               }
+            }
+         }
+      } catch (final ClosedWatchServiceException ex) {
+         // watching was stopped
+      } catch (final InterruptedException ex) {
+         Thread.currentThread().interrupt();
+      }
    }
 }
@@ -7,15 +7,18 @@
 import static net.sf.oval.Validator.*;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Map;
 
 import net.sf.oval.ValidationCycle;
 import net.sf.oval.configuration.annotation.AbstractAnnotationCheck;
+import net.sf.oval.exception.ConstraintsViolatedException;
 import net.sf.oval.exception.FieldNotFoundException;
 import net.sf.oval.exception.InvokingMethodFailedException;
 import net.sf.oval.exception.MethodNotFoundException;
 import net.sf.oval.internal.ContextCache;
+import net.sf.oval.internal.util.MemberAccessor;
 import net.sf.oval.internal.util.ReflectionUtils;
 
 /**
@@ -69,9 +72,12 @@ public boolean isSatisfied(final Object validatedObject, final Object valueToVal
             throw new MethodNotFoundException("Getter for field <" + fieldName + "> not found in class <" + clazz + "> or it's super classes.");
 
          try {
-            valueToCompare = getter.invoke(validatedObject);
-         } catch (final Exception ex) {
-            throw new InvokingMethodFailedException(getter.getName(), validatedObject, ContextCache.getMethodReturnValueContext(getter), ex);
+            valueToCompare = MemberAccessor.of(getter).get(validatedObject);
+         } catch (final InvokingMethodFailedException ex) {
+            throw new InvokingMethodFailedException(getter.getName(), validatedObject, ContextCache.getMethodReturnValueContext(getter), ex.getCause());
+         } catch (final ConstraintsViolatedException ex) {
+            throw new InvokingMethodFailedException(getter.getName(), validatedObject, ContextCache.getMethodReturnValueContext(getter),
+               new InvocationTargetException(ex));
          }
       } else {
          final Field field = ReflectionUtils.getFieldRecursive(clazz, fieldName);
@@ -79,7 +85,7 @@ public boolean isSatisfied(final Object validatedObject, final Object valueToVal
          if (field == null)
             throw new FieldNotFoundException("Field <" + fieldName + "> not found in class <" + clazz + "> or it's super classes.");
 
-         valueToCompare = ReflectionUtils.getFieldValue(field, validatedObject);
+         valueToCompare = MemberAccessor.of(field).get(validatedObject);
       }
 
       if (valueToCompare == null)
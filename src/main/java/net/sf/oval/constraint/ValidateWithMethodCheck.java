@@ -6,17 +6,19 @@
 
 import static net.sf.oval.Validator.*;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.concurrent.ConcurrentMap;
 
 import net.sf.oval.ConstraintTarget;
 import net.sf.oval.ValidationCycle;
-import net.sf.oval.Validator;
 import net.sf.oval.configuration.annotation.AbstractAnnotationCheck;
 import net.sf.oval.exception.InvalidConfigurationException;
 import net.sf.oval.exception.ReflectionException;
+import net.sf.oval.internal.util.MemberAccessor;
 import net.sf.oval.internal.util.ReflectionUtils;
+import net.sf.oval.internal.util.WeakClassCache;
 
 /**
  * @author Sebastian Thomschke
@@ -24,7 +26,7 @@
 public class ValidateWithMethodCheck extends AbstractAnnotationCheck<ValidateWithMethod> {
    private static final long serialVersionUID = 1L;
 
-   private final ConcurrentMap<Class<?>, Method> validationMethodsByClass = Validator.getCollectionFactory().createConcurrentMap();
+   private transient WeakClassCache<Class<?>, Method> validationMethodsByClass = new WeakClassCache<>(c -> c);
 
    private boolean ignoreIfNull;
    private String methodName;
@@ -78,7 +80,12 @@ public boolean isSatisfied(final Object validatedObject, final Object valueToVal
       if (method == null)
          throw new InvalidConfigurationException("Method " + clazz.getName() + "." + methodName + "(" + parameterType + ") not found. Is [" + parameterType
             + "] the correct value for [@ValidateWithMethod.parameterType]?");
-      return ReflectionUtils.invokeMethod(method, validatedObject, valueToValidate);
+      return (Boolean) MemberAccessor.of(method).invoke(validatedObject, valueToValidate);
+   }
+
+   private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+      in.defaultReadObject();
+      validationMethodsByClass = new WeakClassCache<>(c -> c);
    }
 
    public void setIgnoreIfNull(final boolean ignoreIfNull) {
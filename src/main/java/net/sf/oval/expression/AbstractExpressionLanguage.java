@@ -13,9 +13,11 @@
  */
 public abstract class AbstractExpressionLanguage implements ExpressionLanguage {
 
-   @Override
-   public boolean evaluateAsBoolean(final String expression, final Map<String, ?> values) throws ExpressionEvaluationException {
-      final Object result = evaluate(expression, values);
+   /**
+    * Converts the result of the given expression to a boolean as described in
+    * {@link ExpressionLanguage#evaluateAsBoolean(String, Map)}.
+    */
+   static boolean toBoolean(final String expression, final Object result) throws ExpressionEvaluationException {
       if (result == null)
          return false;
 
@@ -45,4 +47,9 @@ public boolean evaluateAsBoolean(final String expression, final Map<String, ?> v
       }
       throw new ExpressionEvaluationException("The script [" + expression + "] must return a boolean value but returned [" + result + "]");
    }
+
+   @Override
+   public boolean evaluateAsBoolean(final String expression, final Map<String, ?> values) throws ExpressionEvaluationException {
+      return toBoolean(expression, evaluate(expression, values));
+   }
 }
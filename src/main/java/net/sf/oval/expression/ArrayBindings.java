@@ -0,0 +1,138 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.expression;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map view of the values array passed to a {@link CompiledExpression}, used to hand the values to interpreters that
+ * resolve variables through a {@link Map}.
+ *
+ * Lookups resolve the slot of a variable name via the {@link Layout} shared by all evaluations of the compiled
+ * expression, i.e. creating a view does not copy any values. Variables not part of the layout, e.g. assigned by the
+ * expression, are stored in a lazily created map.
+ *
+ * @author Sebastian Thomschke
+ */
+final class ArrayBindings extends AbstractMap<String, Object> {
+
+   /**
+    * Immutable mapping of variable names to slot indexes, if a name occurs multiple times the last slot wins.
+    */
+   static final class Layout {
+      final String[] names;
+      private final Map<String, Integer> slots;
+
+      Layout(final String... names) {
+         this.names = names.clone();
+         slots = new HashMap<>(names.length * 2);
+         for (int i = 0; i < names.length; i++) {
+            slots.put(names[i], i);
+         }
+      }
+
+      int indexOf(final Object name) {
+         final Integer index = slots.get(name);
+         return index == null ? -1 : index;
+      }
+
+      /**
+       * @return false if the slot is shadowed by a later slot with the same variable name
+       */
+      boolean isVisible(final int index) {
+         return slots.get(names[index]) == index;
+      }
+   }
+
+   private final Layout layout;
+   private final Object[] values;
+   private Map<String, Object> additionalValues;
+
+   ArrayBindings(final Layout layout, final Object[] values) {
+      this.layout = layout;
+      this.values = values;
+   }
+
+   @Override
+   public boolean containsKey(final Object key) {
+      return layout.indexOf(key) > -1 || additionalValues != null && additionalValues.containsKey(key);
+   }
+
+   @Override
+   public Set<Entry<String, Object>> entrySet() {
+      return new AbstractSet<Entry<String, Object>>() {
+         @Override
+         public Iterator<Entry<String, Object>> iterator() {
+            final Iterator<Entry<String, Object>> additional = additionalValues == null ? null : additionalValues.entrySet().iterator();
+            return new Iterator<Entry<String, Object>>() {
+               private int index = _nextVisible(0);
+
+               private int _nextVisible(int i) {
+                  while (i < layout.names.length && !layout.isVisible(i)) {
+                     i++;
+                  }
+                  return i;
+               }
+
+               @Override
+               public boolean hasNext() {
+                  return index < layout.names.length || additional != null && additional.hasNext();
+               }
+
+               @Override
+               public Entry<String, Object> next() {
+                  if (index < layout.names.length) {
+                     final Entry<String, Object> entry = new SimpleImmutableEntry<>(layout.names[index], values[index]);
+                     index = _nextVisible(index + 1);
+                     return entry;
+                  }
+                  if (additional == null)
+                     throw new NoSuchElementException();
+                  return additional.next();
+               }
+            };
+         }
+
+         @Override
+         public int size() {
+            return ArrayBindings.this.size();
+         }
+      };
+   }
+
+   @Override
+   public Object get(final Object key) {
+      final int index = layout.indexOf(key);
+      if (index > -1)
+         return values[index];
+      return additionalValues == null ? null : additionalValues.get(key);
+   }
+
+   @Override
+   public Object put(final String key, final Object value) {
+      final int index = layout.indexOf(key);
+      if (index > -1) {
+         final Object old = values[index];
+         values[index] = value;
+         return old;
+      }
+      if (additionalValues == null) {
+         additionalValues = new LinkedHashMap<>(4);
+      }
+      return additionalValues.put(key, value);
+   }
+
+   @Override
+   public int size() {
+      return layout.slots.size() + (additionalValues == null ? 0 : additionalValues.size());
+   }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.expression;
+
+import net.sf.oval.exception.ExpressionEvaluationException;
+
+/**
+ * An expression compiled by {@link ExpressionLanguage#compile(String, String...)} against a fixed list of variable
+ * names.
+ *
+ * The variable values are passed as array in the order of the variable names, i.e. no map needs to be populated per
+ * evaluation. Instances are thread-safe, the values array is not retained after evaluation.
+ *
+ * @author Sebastian Thomschke
+ */
+public abstract class CompiledExpression {
+
+   protected final String expression;
+
+   protected CompiledExpression(final String expression) {
+      this.expression = expression;
+   }
+
+   /**
+    * @param values the values of the variables in the order of the variable names the expression was compiled with
+    * @return the result of the expression evaluation
+    * @throws ExpressionEvaluationException in case of an invalid expression
+    */
+   public abstract Object evaluate(Object... values) throws ExpressionEvaluationException;
+
+   /**
+    * Evaluates the expression and expects it to return a boolean as described in
+    * {@link ExpressionLanguage#evaluateAsBoolean(String, java.util.Map)}.
+    *
+    * @param values the values of the variables in the order of the variable names the expression was compiled with
+    * @return the result of the expression evaluation
+    * @throws ExpressionEvaluationException If an error during evaluation occurs or if the return value is not a boolean value.
+    */
+   public boolean evaluateAsBoolean(final Object... values) throws ExpressionEvaluationException {
+      return AbstractExpressionLanguage.toBoolean(expression, evaluate(values));
+   }
+
+   public String getExpression() {
+      return expression;
+   }
+}
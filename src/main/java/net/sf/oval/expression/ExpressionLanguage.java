@@ -12,6 +12,35 @@
  * @author Sebastian Thomschke
  */
 public interface ExpressionLanguage {
+
+   /**
+    * Compiles the given expression against a fixed list of variable names. The returned expression is evaluated with
+    * the variable values passed as array in the same order, which avoids populating a map per evaluation.
+    *
+    * The default implementation wraps the values array into a map view and delegates to
+    * {@link #evaluate(String, Map)} respectively {@link #evaluateAsBoolean(String, Map)}. Implementations that can bind
+    * the values to their interpreter more efficiently should override this method.
+    *
+    * @param expression the expression to compile
+    * @param variableNames the names of the variables available to the expression
+    * @return the compiled expression
+    * @throws ExpressionEvaluationException in case of an invalid expression
+    */
+   default CompiledExpression compile(final String expression, final String... variableNames) throws ExpressionEvaluationException {
+      final ArrayBindings.Layout layout = new ArrayBindings.Layout(variableNames);
+      return new CompiledExpression(expression) {
+         @Override
+         public Object evaluate(final Object... values) throws ExpressionEvaluationException {
+            return ExpressionLanguage.this.evaluate(expression, new ArrayBindings(layout, values));
+         }
+
+         @Override
+         public boolean evaluateAsBoolean(final Object... values) throws ExpressionEvaluationException {
+            return ExpressionLanguage.this.evaluateAsBoolean(expression, new ArrayBindings(layout, values));
+         }
+      };
+   }
+
    /**
     * Evaluates the given expression.
     *
@@ -24,6 +24,27 @@ public class ExpressionLanguageGroovyImpl extends AbstractExpressionLanguage {
 
    private final ThreadLocal<ObjectCache<String, Script>> expressionCache = ThreadLocal.withInitial(() -> new ObjectCache<>(GROOVY_SHELL::parse));
 
+   /**
+    * Binds the values array via a map view to the scripts of the calling thread.
+    */
+   @Override
+   public CompiledExpression compile(final String expression, final String... variableNames) throws ExpressionEvaluationException {
+      final ArrayBindings.Layout layout = new ArrayBindings.Layout(variableNames);
+      return new CompiledExpression(expression) {
+         @Override
+         public Object evaluate(final Object... values) throws ExpressionEvaluationException {
+            LOG.debug("Evaluating Groovy expression: {1}", expression);
+            try {
+               final Script script = expressionCache.get().get(expression);
+               script.setBinding(new Binding(new ArrayBindings(layout, values)));
+               return script.run();
+            } catch (final Exception ex) {
+               throw new ExpressionEvaluationException("Evaluating script with Groovy failed.", ex);
+            }
+         }
+      };
+   }
+
    @Override
    public Object evaluate(final String expression, final Map<String, ?> values) throws ExpressionEvaluationException {
       LOG.debug("Evaluating Groovy expression: {1}", expression);
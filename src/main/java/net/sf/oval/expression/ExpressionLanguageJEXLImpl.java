@@ -27,6 +27,28 @@ public class ExpressionLanguageJEXLImpl extends AbstractExpressionLanguage {
 
    private final ObjectCache<String, JexlExpression> expressionCache = new ObjectCache<>(JEXL::createExpression);
 
+   @Override
+   public CompiledExpression compile(final String expression, final String... variableNames) throws ExpressionEvaluationException {
+      final JexlExpression expr;
+      try {
+         expr = expressionCache.get(expression);
+      } catch (final Exception ex) {
+         throw new ExpressionEvaluationException("Parsing JEXL expression failed: " + expression, ex);
+      }
+      final ArrayBindings.Layout layout = new ArrayBindings.Layout(variableNames);
+      return new CompiledExpression(expression) {
+         @Override
+         public Object evaluate(final Object... values) throws ExpressionEvaluationException {
+            LOG.debug("Evaluating JEXL expression: {1}", expression);
+            try {
+               return expr.evaluate(new MapContext(new ArrayBindings(layout, values)));
+            } catch (final Exception ex) {
+               throw new ExpressionEvaluationException("Evaluating JEXL expression failed: " + expression, ex);
+            }
+         }
+      };
+   }
+
    @Override
    @SuppressWarnings("unchecked")
    public Object evaluate(final String expression, final Map<String, ?> values) throws ExpressionEvaluationException {
@@ -40,6 +40,43 @@ public ExpressionLanguageJavaScriptImpl() {
       }
    }
 
+   /**
+    * Puts the values directly into the scope of the script, i.e. without an intermediate map.
+    */
+   @Override
+   public CompiledExpression compile(final String expression, final String... variableNames) throws ExpressionEvaluationException {
+      final Script expr;
+      ContextFactory.getGlobal().enterContext();
+      try {
+         expr = expressionCache.get(expression);
+      } catch (final EvaluatorException ex) {
+         throw new ExpressionEvaluationException("Parsing JavaScript expression failed: " + expression, ex);
+      } finally {
+         Context.exit();
+      }
+      final String[] names = variableNames.clone();
+      return new CompiledExpression(expression) {
+         @Override
+         public Object evaluate(final Object... values) throws ExpressionEvaluationException {
+            LOG.debug("Evaluating JavaScript expression: {1}", expression);
+            try {
+               final Context ctx = ContextFactory.getGlobal().enterContext();
+               final Scriptable scope = ctx.newObject(parentScope);
+               scope.setPrototype(parentScope);
+               scope.setParentScope(null);
+               for (int i = 0; i < names.length; i++) {
+                  scope.put(names[i], scope, Context.javaToJS(values[i], scope));
+               }
+               return expr.exec(ctx, scope);
+            } catch (final EvaluatorException ex) {
+               throw new ExpressionEvaluationException("Evaluating JavaScript expression failed: " + expression, ex);
+            } finally {
+               Context.exit();
+            }
+         }
+      };
+   }
+
    @Override
    public Object evaluate(final String expression, final Map<String, ?> values) throws ExpressionEvaluationException {
       LOG.debug("Evaluating JavaScript expression: {1}", expression);
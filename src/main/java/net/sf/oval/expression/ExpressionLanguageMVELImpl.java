@@ -20,6 +20,28 @@ public class ExpressionLanguageMVELImpl extends AbstractExpressionLanguage {
 
    private final ObjectCache<String, Object> expressionCache = new ObjectCache<>(MVEL::compileExpression);
 
+   @Override
+   public CompiledExpression compile(final String expression, final String... variableNames) throws ExpressionEvaluationException {
+      final Object expr;
+      try {
+         expr = expressionCache.get(expression);
+      } catch (final Exception ex) {
+         throw new ExpressionEvaluationException("Parsing MVEL expression failed: " + expression, ex);
+      }
+      final ArrayBindings.Layout layout = new ArrayBindings.Layout(variableNames);
+      return new CompiledExpression(expression) {
+         @Override
+         public Object evaluate(final Object... values) throws ExpressionEvaluationException {
+            LOG.debug("Evaluating MVEL expression: {1}", expression);
+            try {
+               return MVEL.executeExpression(expr, new ArrayBindings(layout, values));
+            } catch (final Exception ex) {
+               throw new ExpressionEvaluationException("Evaluating MVEL expression failed: " + expression, ex);
+            }
+         }
+      };
+   }
+
    @Override
    public Object evaluate(final String expression, final Map<String, ?> values) throws ExpressionEvaluationException {
       LOG.debug("Evaluating MVEL expression: {1}", expression);
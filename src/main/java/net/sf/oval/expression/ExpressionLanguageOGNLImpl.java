@@ -56,10 +56,34 @@ public Boolean setup(final Map context, final Object target, final Member member
       try {
          return Ognl.parseExpression(expression);
       } catch (final OgnlException ex) {
-         throw new ExpressionEvaluationException("Parsing MVEL expression failed: " + expression, ex);
+         throw new ExpressionEvaluationException("Parsing OGNL expression failed: " + expression, ex);
       }
    });
 
+   /**
+    * Puts the values directly into the OGNL context, i.e. without an intermediate map.
+    */
+   @Override
+   public CompiledExpression compile(final String expression, final String... variableNames) throws ExpressionEvaluationException {
+      final Object expr = expressionCache.get(expression);
+      final String[] names = variableNames.clone();
+      return new CompiledExpression(expression) {
+         @Override
+         public Object evaluate(final Object... values) throws ExpressionEvaluationException {
+            LOG.debug("Evaluating OGNL expression: {1}", expression);
+            try {
+               final OgnlContext ctx = (OgnlContext) Ognl.createDefaultContext(null, MEMBER_ACCESS);
+               for (int i = 0; i < names.length; i++) {
+                  ctx.put(names[i], values[i]);
+               }
+               return Ognl.getValue(expr, ctx, ctx, (Class<?>) null);
+            } catch (final OgnlException ex) {
+               throw new ExpressionEvaluationException("Evaluating OGNL expression failed: " + expression, ex);
+            }
+         }
+      };
+   }
+
    @Override
    public Object evaluate(final String expression, final Map<String, ?> values) throws ExpressionEvaluationException {
       LOG.debug("Evaluating OGNL expression: {1}", expression);
@@ -73,7 +97,7 @@ public Object evaluate(final String expression, final Map<String, ?> values) thr
          final Object expr = expressionCache.get(expression);
          return Ognl.getValue(expr, ctx, ctx, (Class<?>) null);
       } catch (final OgnlException ex) {
-         throw new ExpressionEvaluationException("Evaluating MVEL expression failed: " + expression, ex);
+         throw new ExpressionEvaluationException("Evaluating OGNL expression failed: " + expression, ex);
       }
    }
 }
@@ -65,6 +65,31 @@ protected ExpressionLanguageScriptEngineImpl(final ScriptEngine engine) {
       }
    }
 
+   /**
+    * Puts the values directly into fresh engine bindings and evaluates the script compiled once, if the engine is
+    * {@link Compilable}.
+    */
+   @Override
+   public CompiledExpression compile(final String expression, final String... variableNames) throws ExpressionEvaluationException {
+      final CompiledScript compiled = compilable == null ? null : compiledCache.get(expression);
+      final String[] names = variableNames.clone();
+      return new CompiledExpression(expression) {
+         @Override
+         public Object evaluate(final Object... values) throws ExpressionEvaluationException {
+            LOG.debug("Evaluating {1} expression: {2}", engine.get(ScriptEngine.NAME), expression);
+            try {
+               final Bindings scope = engine.createBindings();
+               for (int i = 0; i < names.length; i++) {
+                  scope.put(names[i], values[i]);
+               }
+               return compiled == null ? engine.eval(expression, scope) : compiled.eval(scope);
+            } catch (final ScriptException ex) {
+               throw new ExpressionEvaluationException("Evaluating " + engine.get(ScriptEngine.NAME) + " expression failed: " + expression, ex);
+            }
+         }
+      };
+   }
+
    @Override
    public Object evaluate(final String expression, final Map<String, ?> values) throws ExpressionEvaluationException {
       LOG.debug("Evaluating JavaScript expression: {1}", expression);
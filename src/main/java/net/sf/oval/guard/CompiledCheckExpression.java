@@ -0,0 +1,55 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.guard;
+
+import java.util.Arrays;
+
+import net.sf.oval.exception.ExpressionEvaluationException;
+import net.sf.oval.expression.CompiledExpression;
+import net.sf.oval.expression.ExpressionLanguage;
+
+/**
+ * Expression of a {@link PreCheck} or {@link PostCheck} compiled against the variable layout used by the {@link Guard},
+ * i.e. the given fixed variables followed by the parameters of the guarded method.
+ *
+ * @author Sebastian Thomschke
+ */
+final class CompiledCheckExpression {
+
+   static final String[] PRE_VARIABLE_NAMES = {"_this", "_args"};
+   static final String[] POST_VARIABLE_NAMES = {"_this", "_args", "_returns", "_old"};
+
+   /**
+    * @param cached the previously compiled expression, may be null
+    * @return the cached expression if it was compiled for the same expression language, expression and parameter names,
+    *         otherwise a newly compiled expression
+    */
+   static CompiledCheckExpression compile(final CompiledCheckExpression cached, final ExpressionLanguage el, final String expression,
+      final String[] fixedVariableNames, final String[] parameterNames) throws ExpressionEvaluationException {
+      if (cached != null //
+         && cached.el == el //
+         && cached.fixedVariableNames == fixedVariableNames //
+         && cached.compiled.getExpression().equals(expression) //
+         && Arrays.equals(cached.parameterNames, parameterNames))
+         return cached;
+
+      final String[] variableNames = Arrays.copyOf(fixedVariableNames, fixedVariableNames.length + parameterNames.length);
+      System.arraycopy(parameterNames, 0, variableNames, fixedVariableNames.length, parameterNames.length);
+      return new CompiledCheckExpression(el, fixedVariableNames, parameterNames.clone(), el.compile(expression, variableNames));
+   }
+
+   final ExpressionLanguage el;
+   final String[] fixedVariableNames;
+   final String[] parameterNames;
+   final CompiledExpression compiled;
+
+   private CompiledCheckExpression(final ExpressionLanguage el, final String[] fixedVariableNames, final String[] parameterNames,
+      final CompiledExpression compiled) {
+      this.el = el;
+      this.fixedVariableNames = fixedVariableNames;
+      this.parameterNames = parameterNames;
+      this.compiled = compiled;
+   }
+}
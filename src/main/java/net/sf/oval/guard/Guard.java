@@ -8,7 +8,6 @@
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -34,14 +33,15 @@
 import net.sf.oval.internal.ClassChecks;
 import net.sf.oval.internal.ContextCache;
 import net.sf.oval.internal.Log;
+import net.sf.oval.internal.MethodGuardPlan;
 import net.sf.oval.internal.ParameterChecks;
 import net.sf.oval.internal.util.ArrayUtils;
 import net.sf.oval.internal.util.Assert;
 import net.sf.oval.internal.util.CollectionUtils;
-import net.sf.oval.internal.util.ConcurrentMultiValueMap;
 import net.sf.oval.internal.util.IdentityHashSet;
+import net.sf.oval.internal.util.IdentityPairSet;
 import net.sf.oval.internal.util.Invocable;
-import net.sf.oval.internal.util.ReflectionUtils;
+import net.sf.oval.internal.util.MemberAccessor;
 
 /**
  * Extended version of the validator to realize programming by contract.
@@ -89,22 +89,52 @@ protected GuardMethodPreResult( //
     */
    protected static final GuardMethodPreResult DO_NOT_PROCEED = new GuardMethodPreResult(null, null, null, null, false, null, null);
 
+   /**
+    * returned by {@link #guardMethodPre(Object, Method, Object[])} if no post conditions need to be checked
+    */
+   private static final GuardMethodPreResult PROCEED_WITHOUT_POST_CONDITIONS = new GuardMethodPreResult(null, null, null, null, false, null, null);
+
    private static final Log LOG = Log.getLog(Guard.class);
 
    /**
-    * string based on validated object hashcode + method hashcode for currently validated method return values
+    * validated object and method pairs of the currently validated method return values
     */
-   private static final ThreadLocal<List<String>> CURRENTLY_CHECKED_METHOD_RETURN_VALUES = ThreadLocal.withInitial(() -> getCollectionFactory().createList());
+   private static final ThreadLocal<IdentityPairSet> CURRENTLY_CHECKED_METHOD_RETURN_VALUES = ThreadLocal.withInitial(IdentityPairSet::new);
 
    /**
-    * string based on validated object hashcode + method hashcode for currently validated method pre-conditions
+    * validated object and method pairs of the currently validated method pre-conditions
     */
-   private static final ThreadLocal<List<String>> CURRENTLY_CHECKED_PRE_CONDITIONS = ThreadLocal.withInitial(() -> getCollectionFactory().createList());
+   private static final ThreadLocal<IdentityPairSet> CURRENTLY_CHECKED_PRE_CONDITIONS = ThreadLocal.withInitial(IdentityPairSet::new);
 
    /**
-    * string based on validated object hashcode + method hashcode for currently validated method post-conditions
+    * validated object and method pairs of the currently validated method post-conditions
     */
-   private static final ThreadLocal<List<String>> CURRENTLY_CHECKED_POST_CONDITIONS = ThreadLocal.withInitial(() -> getCollectionFactory().createList());
+   private static final ThreadLocal<IdentityPairSet> CURRENTLY_CHECKED_POST_CONDITIONS = ThreadLocal.withInitial(IdentityPairSet::new);
+
+   private static boolean _isDeclared(final Class<?> clazz, final String methodName, final Class<?>... parameterTypes) {
+      try {
+         clazz.getDeclaredMethod(methodName, parameterTypes);
+         return true;
+      } catch (final NoSuchMethodException ex) {
+         return false;
+      }
+   }
+
+   /**
+    * @return true if the given guard class overrides any of the methods that are only invoked for methods having the
+    *         respective checks according to their {@link MethodGuardPlan}
+    */
+   private static boolean _isMethodGuardPlanHookOverridden(final Class<?> clazz) {
+      for (Class<?> c = clazz; c != Guard.class; c = c.getSuperclass()) {
+         if (_isDeclared(c, "calculateMethodPostOldValues", Object.class, Method.class, Object[].class) //
+            || _isDeclared(c, "validateMethodParameters", Object.class, Method.class, Object[].class, InternalValidationCycle.class) //
+            || _isDeclared(c, "validateMethodPre", Object.class, Method.class, Object[].class, InternalValidationCycle.class) //
+            || _isDeclared(c, "validateMethodReturnValue", Object.class, Method.class, Object.class, InternalValidationCycle.class) //
+            || _isDeclared(c, "validateMethodPost", Object.class, Method.class, Object[].class, Object.class, Map.class, InternalValidationCycle.class))
+            return true;
+      }
+      return false;
+   }
 
    private boolean isActivated = true;
    private boolean isInvariantsEnabled = true;
@@ -120,9 +150,13 @@ protected GuardMethodPreResult( //
     */
    private boolean isProbeModeFeatureUsed = false;
 
-   private final Set<ConstraintsViolatedListener> listeners = new IdentityHashSet<>(4);
-   private final ConcurrentMultiValueMap<Class<?>, ConstraintsViolatedListener> listenersByClass = ConcurrentMultiValueMap.create();
-   private final ConcurrentMultiValueMap<Object, ConstraintsViolatedListener> listenersByObject = ConcurrentMultiValueMap.create();
+   private final ListenerRegistry listeners = new ListenerRegistry();
+
+   /**
+    * if a subclass overrides the validation methods, they are invoked for all guarded methods as they were before
+    * method guard plans were introduced
+    */
+   private final boolean isMethodGuardPlanApplicable = !_isMethodGuardPlanHookOverridden(getClass());
 
    /**
     * Objects for OVal suppresses occurring ConstraintViolationExceptions for pre-condition violations on setter methods
@@ -189,7 +223,7 @@ public void addCheckExclusions(final Constructor<?> ctor, final int paramIndex,
       Assert.argumentNotNull("ctor", ctor);
       Assert.argumentNotEmpty("exclusions", exclusions);
 
-      getClassChecks(ctor.getDeclaringClass()).addConstructorParameterCheckExclusions(ctor, paramIndex, exclusions);
+      getModifiableClassChecks(ctor.getDeclaringClass()).addConstructorParameterCheckExclusions(ctor, paramIndex, exclusions);
    }
 
    /**
@@ -203,7 +237,7 @@ public void addCheckExclusions(final Method method, final int paramIndex, final
       Assert.argumentNotNull("method", method);
       Assert.argumentNotEmpty("exclusions", exclusions);
 
-      getClassChecks(method.getDeclaringClass()).addMethodParameterCheckExclusions(method, paramIndex, exclusions);
+      getModifiableClassChecks(method.getDeclaringClass()).addMethodParameterCheckExclusions(method, paramIndex, exclusions);
    }
 
    /**
@@ -218,7 +252,7 @@ public void addChecks(final Constructor<?> ctor, final int paramIndex, final Che
       Assert.argumentNotNull("ctor", ctor);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(ctor.getDeclaringClass()).addConstructorParameterChecks(ctor, paramIndex, checks);
+      getModifiableClassChecks(ctor.getDeclaringClass()).addConstructorParameterChecks(ctor, paramIndex, checks);
    }
 
    /**
@@ -233,7 +267,7 @@ public void addChecks(final Method method, final Check... checks) throws Illegal
       Assert.argumentNotNull("method", method);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(method.getDeclaringClass()).addMethodReturnValueChecks(method, null, checks);
+      getModifiableClassChecks(method.getDeclaringClass()).addMethodReturnValueChecks(method, null, checks);
    }
 
    /**
@@ -246,7 +280,7 @@ public void addChecks(final Method method, final int paramIndex, final Check...
       Assert.argumentNotNull("method", method);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(method.getDeclaringClass()).addMethodParameterChecks(method, paramIndex, checks);
+      getModifiableClassChecks(method.getDeclaringClass()).addMethodParameterChecks(method, paramIndex, checks);
    }
 
    /**
@@ -259,7 +293,7 @@ public void addChecks(final Method method, final PostCheck... checks) throws Ill
       Assert.argumentNotNull("method", method);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(method.getDeclaringClass()).addMethodPostChecks(method, checks);
+      getModifiableClassChecks(method.getDeclaringClass()).addMethodPostChecks(method, checks);
    }
 
    /**
@@ -272,7 +306,7 @@ public void addChecks(final Method method, final PreCheck... checks) throws Ille
       Assert.argumentNotNull("method", method);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(method.getDeclaringClass()).addMethodPreChecks(method, checks);
+      getModifiableClassChecks(method.getDeclaringClass()).addMethodPreChecks(method, checks);
    }
 
    /**
@@ -302,7 +336,7 @@ public boolean addListener(final ConstraintsViolatedListener listener, final Cla
       Assert.argumentNotNull("guardedClass", guardedClass);
 
       isListenersFeatureUsed = true;
-      return listenersByClass.add(guardedClass, listener);
+      return listeners.add(listener, guardedClass);
    }
 
    /**
@@ -317,7 +351,7 @@ public boolean addListener(final ConstraintsViolatedListener listener, final Obj
       Assert.argumentNotNull("guardedObject", guardedObject);
 
       isListenersFeatureUsed = true;
-      return listenersByObject.add(guardedObject, listener);
+      return listeners.add(listener, guardedObject);
    }
 
    /**
@@ -340,23 +374,37 @@ protected Map<PostCheck, Object> calculateMethodPostOldValues(final Object valid
 
          final Map<PostCheck, Object> oldValues = getCollectionFactory().createMap(postChecks.size());
 
-         for (final PostCheck check : postChecks)
-            if (isAnyProfileEnabled(check.getProfiles(), null) && check.getOld() != null && check.getOld().length() > 0) {
-               final ExpressionLanguage el = expressionLanguageRegistry.getExpressionLanguage(check.getLang());
-               final Map<String, Object> values = getCollectionFactory().createMap();
-               values.put("_this", validatedObject);
-               if (hasParameters) {
-                  values.put("_args", args);
-                  for (int i = 0; i < args.length; i++) {
-                     values.put(parameterNames[i], args[i]);
-                  }
-               } else {
-                  values.put("_args", ArrayUtils.EMPTY_OBJECT_ARRAY);
+         for (final PostCheck check : postChecks) {
+            if (!check.hasOld() || !isAnyProfileEnabled(check.getProfiles(), null)) {
+               continue;
+            }
+
+            // copy the declared fields instead of evaluating an expression
+            if (check.getOld() == null || check.getOld().length() == 0) {
+               final MemberAccessor[] accessors = check.getOldFieldAccessors(method);
+               final Map<String, Object> fieldValues = getCollectionFactory().createMap(accessors.length);
+               for (int i = 0; i < accessors.length; i++) {
+                  fieldValues.put(check.getOldFields()[i], accessors[i].get(validatedObject));
                }
+               oldValues.put(check, fieldValues);
+               continue;
+            }
+
+            final ExpressionLanguage el = expressionLanguageRegistry.getExpressionLanguage(check.getLang());
+            final CompiledCheckExpression old = CompiledCheckExpression.compile(check.compiledOld, el, check.getOld(),
+               CompiledCheckExpression.PRE_VARIABLE_NAMES, parameterNames);
+            check.compiledOld = old;
 
-               oldValues.put(check, el.evaluate(check.getOld(), values));
+            final Object[] values = new Object[CompiledCheckExpression.PRE_VARIABLE_NAMES.length + parameterNames.length];
+            values[0] = validatedObject;
+            values[1] = hasParameters ? args : ArrayUtils.EMPTY_OBJECT_ARRAY;
+            if (hasParameters) {
+               System.arraycopy(args, 0, values, 2, args.length);
             }
 
+            oldValues.put(check, old.compiled.evaluate(values));
+         }
+
          return oldValues;
       } catch (final OValException ex) {
          throw new ValidationFailedException("Method post conditions validation failed. Method: " + method + " Validated object: " + validatedObject, ex);
@@ -525,11 +573,18 @@ protected Object guardMethod(Object guardedObject, final Method method, final Ob
          return invocable.invoke();
 
       final ClassChecks cc = getClassChecks(method.getDeclaringClass());
+      final MethodGuardPlan plan = isMethodGuardPlanApplicable ? cc.getMethodGuardPlan(method) : cc.getMethodGuardPlan(method).unoptimized();
 
-      final boolean checkInvariants = isInvariantsEnabled && cc.isCheckInvariants && !ReflectionUtils.isPrivate(method) && !ReflectionUtils.isProtected(method);
+      final boolean checkInvariants = isInvariantsEnabled && cc.isCheckInvariants && plan.isInvariantsApplicable;
+      final boolean isPrePhaseRequired = plan.isPrePhaseRequired(checkInvariants, isPreConditionsEnabled);
+      final boolean isPostPhaseRequired = plan.isPostPhaseRequired(checkInvariants, isPostConditionsEnabled);
+
+      // shortcut: invoke methods without applicable checks directly
+      if (!isPrePhaseRequired && !isPostPhaseRequired && !isProbeModeFeatureUsed)
+         return invocable.invoke();
 
       // if static method use the declaring class as guardedObject
-      if (guardedObject == null && ReflectionUtils.isStatic(method)) {
+      if (guardedObject == null && plan.isStatic) {
          guardedObject = method.getDeclaringClass();
       }
 
@@ -538,18 +593,18 @@ protected Object guardMethod(Object guardedObject, final Method method, final Ob
 
       try {
          // check invariants
-         if (checkInvariants || cc.methodsWithCheckInvariantsPre.contains(method)) {
+         if (checkInvariants || plan.isCheckInvariantsPre()) {
             validateInvariants(guardedObject, cycle);
          }
 
          if (isPreConditionsEnabled) {
             // method parameter validation
-            if (args.length > 0 && cycle.violations.isEmpty()) {
+            if (plan.hasParameterChecks && args.length > 0 && cycle.violations.isEmpty()) {
                validateMethodParameters(guardedObject, method, args, cycle);
             }
 
             // @Pre validation
-            if (cycle.violations.isEmpty()) {
+            if (plan.hasPreChecks && cycle.violations.isEmpty()) {
                validateMethodPre(guardedObject, method, args, cycle);
             }
          }
@@ -583,26 +638,32 @@ protected Object guardMethod(Object guardedObject, final Method method, final Ob
       if (pml != null)
          return null;
 
-      final Map<PostCheck, Object> postCheckOldValues = calculateMethodPostOldValues(guardedObject, method, args);
+      // capture old values only if the post conditions will be validated
+      final Map<PostCheck, Object> postCheckOldValues = isPostConditionsEnabled && plan.hasPostChecksWithOld() //
+         ? calculateMethodPostOldValues(guardedObject, method, args)
+         : null;
 
       final Object returnValue = invocable.invoke();
 
+      if (!isPostPhaseRequired)
+         return returnValue;
+
       currentValidationCycles.get().add(cycle);
       try {
          // check invariants if executed method is not private
-         if (checkInvariants || cc.methodsWithCheckInvariantsPost.contains(method)) {
+         if (checkInvariants || plan.isCheckInvariantsPost()) {
             validateInvariants(guardedObject, cycle);
          }
 
          if (isPostConditionsEnabled) {
 
             // method return value
-            if (cycle.violations.isEmpty()) {
+            if (plan.hasReturnValueChecks && cycle.violations.isEmpty()) {
                validateMethodReturnValue(guardedObject, method, returnValue, cycle);
             }
 
             // @Post
-            if (cycle.violations.isEmpty()) {
+            if (plan.hasPostChecks && cycle.violations.isEmpty()) {
                validateMethodPost(guardedObject, method, args, returnValue, postCheckOldValues, cycle);
             }
          }
@@ -634,7 +695,7 @@ protected Object guardMethod(Object guardedObject, final Method method, final Ob
     */
    protected void guardMethodPost(final Object returnValue, final GuardMethodPreResult preResult) throws ConstraintsViolatedException,
       ValidationFailedException {
-      if (!isActivated)
+      if (!isActivated || preResult == PROCEED_WITHOUT_POST_CONDITIONS)
          return;
 
       currentValidationCycles.get().add(preResult.cycle);
@@ -687,11 +748,18 @@ protected GuardMethodPreResult guardMethodPre(Object guardedObject, final Method
          return null;
 
       final ClassChecks cc = getClassChecks(method.getDeclaringClass());
+      final MethodGuardPlan plan = isMethodGuardPlanApplicable ? cc.getMethodGuardPlan(method) : cc.getMethodGuardPlan(method).unoptimized();
+
+      final boolean checkInvariants = isInvariantsEnabled && cc.isCheckInvariants && plan.isInvariantsApplicable;
+      final boolean isPrePhaseRequired = plan.isPrePhaseRequired(checkInvariants, isPreConditionsEnabled);
+      final boolean isPostPhaseRequired = plan.isPostPhaseRequired(checkInvariants, isPostConditionsEnabled);
 
-      final boolean checkInvariants = isInvariantsEnabled && cc.isCheckInvariants && !ReflectionUtils.isPrivate(method) && !ReflectionUtils.isProtected(method);
+      // shortcut: skip methods without applicable checks
+      if (!isPrePhaseRequired && !isPostPhaseRequired && !isProbeModeFeatureUsed)
+         return PROCEED_WITHOUT_POST_CONDITIONS;
 
       // if static method use the declaring class as guardedObject
-      if (guardedObject == null && ReflectionUtils.isStatic(method)) {
+      if (guardedObject == null && plan.isStatic) {
          guardedObject = method.getDeclaringClass();
       }
 
@@ -699,18 +767,18 @@ protected GuardMethodPreResult guardMethodPre(Object guardedObject, final Method
       currentValidationCycles.get().add(cycle);
       try {
          // check invariants
-         if (checkInvariants || cc.methodsWithCheckInvariantsPre.contains(method)) {
+         if (checkInvariants || plan.isCheckInvariantsPre()) {
             validateInvariants(guardedObject, cycle);
          }
 
          if (isPreConditionsEnabled) {
             // method parameter validation
-            if (args.length > 0 && cycle.violations.isEmpty()) {
+            if (plan.hasParameterChecks && args.length > 0 && cycle.violations.isEmpty()) {
                validateMethodParameters(guardedObject, method, args, cycle);
             }
 
             // @Pre validation
-            if (cycle.violations.isEmpty()) {
+            if (plan.hasPreChecks && cycle.violations.isEmpty()) {
                validateMethodPre(guardedObject, method, args, cycle);
             }
          }
@@ -744,7 +812,13 @@ protected GuardMethodPreResult guardMethodPre(Object guardedObject, final Method
       if (pml != null)
          return DO_NOT_PROCEED;
 
-      final Map<PostCheck, Object> postCheckOldValues = calculateMethodPostOldValues(guardedObject, method, args);
+      if (!isPostPhaseRequired)
+         return PROCEED_WITHOUT_POST_CONDITIONS;
+
+      // capture old values only if the post conditions will be validated
+      final Map<PostCheck, Object> postCheckOldValues = isPostConditionsEnabled && plan.hasPostChecksWithOld() //
+         ? calculateMethodPostOldValues(guardedObject, method, args)
+         : null;
 
       return new GuardMethodPreResult(guardedObject, method, args, cc, checkInvariants, postCheckOldValues, cycle);
    }
@@ -768,7 +842,7 @@ public boolean hasListener(final ConstraintsViolatedListener listener, final Cla
       Assert.argumentNotNull("listener", listener);
       Assert.argumentNotNull("guardedClass", guardedClass);
 
-      return listenersByClass.containsValue(guardedClass, listener);
+      return listeners.contains(listener, guardedClass);
    }
 
    /**
@@ -779,7 +853,7 @@ public boolean hasListener(final ConstraintsViolatedListener listener, final Obj
       Assert.argumentNotNull("listener", listener);
       Assert.argumentNotNull("guardedObject", guardedObject);
 
-      return listenersByObject.containsValue(guardedObject, listener);
+      return listeners.contains(listener, guardedObject);
    }
 
    public boolean isActivated() {
@@ -834,24 +908,8 @@ protected void notifyListeners(final Object guardedObject, final ConstraintsViol
       if (guardedObject == null)
          return;
 
-      final LinkedHashSet<ConstraintsViolatedListener> listenersToNotify = new LinkedHashSet<>();
-
-      // get the object listeners
-      listenersByObject.addAllTo(guardedObject, listenersToNotify);
-
-      // get the class listeners
-      listenersByClass.addAllTo(guardedObject.getClass(), listenersToNotify);
-
-      // get the interface listeners
-      for (final Class<?> iface : guardedObject.getClass().getInterfaces()) {
-         listenersByClass.addAllTo(iface, listenersToNotify);
-      }
-
-      // get the global listeners
-      listenersToNotify.addAll(listeners);
-
-      // notify the listeners
-      for (final ConstraintsViolatedListener listener : listenersToNotify) {
+      // notify the object, class and global listeners
+      for (final ConstraintsViolatedListener listener : listeners.getListeners(guardedObject)) {
          try {
             listener.onConstraintsViolatedException(ex);
          } catch (final RuntimeException rex) {
@@ -870,7 +928,7 @@ public void removeCheckExclusions(final Constructor<?> ctor, final int paramInde
       Assert.argumentNotNull("ctor", ctor);
       Assert.argumentNotEmpty("exclusions", exclusions);
 
-      getClassChecks(ctor.getDeclaringClass()).removeConstructorParameterCheckExclusions(ctor, paramIndex, exclusions);
+      getModifiableClassChecks(ctor.getDeclaringClass()).removeConstructorParameterCheckExclusions(ctor, paramIndex, exclusions);
    }
 
    /**
@@ -882,7 +940,7 @@ public void removeCheckExclusions(final Method method, final int paramIndex, fin
       Assert.argumentNotNull("method", method);
       Assert.argumentNotEmpty("exclusions", exclusions);
 
-      getClassChecks(method.getDeclaringClass()).removeMethodParameterCheckExclusions(method, paramIndex, exclusions);
+      getModifiableClassChecks(method.getDeclaringClass()).removeMethodParameterCheckExclusions(method, paramIndex, exclusions);
    }
 
    /**
@@ -894,7 +952,7 @@ public void removeChecks(final Constructor<?> ctor, final int paramIndex, final
       Assert.argumentNotNull("ctor", ctor);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(ctor.getDeclaringClass()).removeConstructorParameterChecks(ctor, paramIndex, checks);
+      getModifiableClassChecks(ctor.getDeclaringClass()).removeConstructorParameterChecks(ctor, paramIndex, checks);
    }
 
    /**
@@ -907,7 +965,7 @@ public void removeChecks(final Method method, final int paramIndex, final Check.
       Assert.argumentNotNull("method", method);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(method.getDeclaringClass()).removeMethodParameterChecks(method, paramIndex, checks);
+      getModifiableClassChecks(method.getDeclaringClass()).removeMethodParameterChecks(method, paramIndex, checks);
    }
 
    /**
@@ -920,7 +978,7 @@ public void removeChecks(final Method method, final PostCheck... checks) throws
       Assert.argumentNotNull("method", method);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(method.getDeclaringClass()).removeMethodPostChecks(method, checks);
+      getModifiableClassChecks(method.getDeclaringClass()).removeMethodPostChecks(method, checks);
    }
 
    /**
@@ -933,7 +991,7 @@ public void removeChecks(final Method method, final PreCheck... checks) throws I
       Assert.argumentNotNull("method", method);
       Assert.argumentNotEmpty("checks", checks);
 
-      getClassChecks(method.getDeclaringClass()).removeMethodPreChecks(method, checks);
+      getModifiableClassChecks(method.getDeclaringClass()).removeMethodPreChecks(method, checks);
    }
 
    /**
@@ -959,7 +1017,7 @@ public boolean removeListener(final ConstraintsViolatedListener listener, final
       Assert.argumentNotNull("listener", listener);
       Assert.argumentNotNull("guardedClass", guardedClass);
 
-      return listenersByClass.remove(guardedClass, listener);
+      return listeners.remove(listener, guardedClass);
    }
 
    /**
@@ -972,7 +1030,7 @@ public boolean removeListener(final ConstraintsViolatedListener listener, final
       Assert.argumentNotNull("listener", listener);
       Assert.argumentNotNull("guardedObject", guardedObject);
 
-      return listenersByObject.remove(guardedObject, listener);
+      return listeners.remove(listener, guardedObject);
    }
 
    /**
@@ -996,7 +1054,7 @@ public void setInvariantsEnabled(final boolean isEnabled) {
     * @param guardedClass the guarded class to turn on/off the invariant checking
     */
    public void setInvariantsEnabled(final Class<?> guardedClass, final boolean isEnabled) {
-      getClassChecks(guardedClass).isCheckInvariants = isEnabled;
+      getModifiableClassChecks(guardedClass).isCheckInvariants = isEnabled;
    }
 
    /**
@@ -1130,15 +1188,11 @@ protected void validateMethodParameters(final Object validatedObject, final Meth
     */
    protected void validateMethodPost(final Object validatedObject, final Method method, final Object[] args, final Object returnValue,
       final Map<PostCheck, Object> oldValues, final InternalValidationCycle cycle) throws ValidationFailedException {
-      final String key = System.identityHashCode(validatedObject) + " " + System.identityHashCode(method);
-
       /*
        *  avoid circular references
        */
-      if (CURRENTLY_CHECKED_POST_CONDITIONS.get().contains(key))
+      if (!CURRENTLY_CHECKED_POST_CONDITIONS.get().add(validatedObject, method))
          return;
-
-      CURRENTLY_CHECKED_POST_CONDITIONS.get().add(key);
       try {
          final ClassChecks cc = getClassChecks(method.getDeclaringClass());
          final Set<PostCheck> postChecks = cc.checksForMethodsPostExcecution.get(method);
@@ -1158,21 +1212,20 @@ protected void validateMethodPost(final Object validatedObject, final Method met
             }
             try {
                final ExpressionLanguage eng = expressionLanguageRegistry.getExpressionLanguage(check.getLang());
-               final Map<String, Object> values = getCollectionFactory().createMap();
-               values.put("_this", validatedObject);
-               values.put("_returns", returnValue);
-               values.put("_old", oldValues.get(check));
-
+               final CompiledCheckExpression expr = CompiledCheckExpression.compile(check.compiledExpr, eng, check.getExpr(),
+                  CompiledCheckExpression.POST_VARIABLE_NAMES, parameterNames);
+               check.compiledExpr = expr;
+
+               final Object[] values = new Object[CompiledCheckExpression.POST_VARIABLE_NAMES.length + parameterNames.length];
+               values[0] = validatedObject;
+               values[1] = hasParameters ? args : ArrayUtils.EMPTY_OBJECT_ARRAY;
+               values[2] = returnValue;
+               values[3] = oldValues == null ? null : oldValues.get(check);
                if (hasParameters) {
-                  values.put("_args", args);
-                  for (int i = 0; i < args.length; i++) {
-                     values.put(parameterNames[i], args[i]);
-                  }
-               } else {
-                  values.put("_args", ArrayUtils.EMPTY_OBJECT_ARRAY);
+                  System.arraycopy(args, 0, values, 4, args.length);
                }
 
-               if (!eng.evaluateAsBoolean(check.getExpr(), values)) {
+               if (!expr.compiled.evaluateAsBoolean(values)) {
                   final Map<String, String> messageVariables = getCollectionFactory().createMap(2);
                   messageVariables.put("expression", check.getExpr());
                   final String errorMessage = renderMessage(cycle.contextPath, null, check.getMessage(), messageVariables);
@@ -1189,7 +1242,7 @@ protected void validateMethodPost(final Object validatedObject, final Method met
       } catch (final OValException ex) {
          throw new ValidationFailedException("Method post conditions validation failed. Method: " + method + " Validated object: " + validatedObject, ex);
       } finally {
-         CURRENTLY_CHECKED_POST_CONDITIONS.get().remove(key);
+         CURRENTLY_CHECKED_POST_CONDITIONS.get().remove(validatedObject, method);
       }
    }
 
@@ -1212,15 +1265,11 @@ protected void validateMethodPre(final Object validatedObject, final Method meth
     */
    protected void validateMethodPre(final Object validatedObject, final Method method, final Object[] args, final InternalValidationCycle cycle)
       throws ValidationFailedException {
-      final String key = System.identityHashCode(validatedObject) + " " + System.identityHashCode(method);
-
       /*
        *  avoid circular references
        */
-      if (CURRENTLY_CHECKED_PRE_CONDITIONS.get().contains(key))
+      if (!CURRENTLY_CHECKED_PRE_CONDITIONS.get().add(validatedObject, method))
          return;
-
-      CURRENTLY_CHECKED_PRE_CONDITIONS.get().add(key);
       try {
          final ClassChecks cc = getClassChecks(method.getDeclaringClass());
          final Set<PreCheck> preChecks = cc.checksForMethodsPreExecution.get(method);
@@ -1239,18 +1288,18 @@ protected void validateMethodPre(final Object validatedObject, final Method meth
             }
 
             final ExpressionLanguage eng = expressionLanguageRegistry.getExpressionLanguage(check.getLang());
-            final Map<String, Object> values = getCollectionFactory().createMap();
-            values.put("_this", validatedObject);
+            final CompiledCheckExpression expr = CompiledCheckExpression.compile(check.compiledExpr, eng, check.getExpr(),
+               CompiledCheckExpression.PRE_VARIABLE_NAMES, parameterNames);
+            check.compiledExpr = expr;
+
+            final Object[] values = new Object[CompiledCheckExpression.PRE_VARIABLE_NAMES.length + parameterNames.length];
+            values[0] = validatedObject;
+            values[1] = hasParameters ? args : ArrayUtils.EMPTY_OBJECT_ARRAY;
             if (hasParameters) {
-               values.put("_args", args);
-               for (int i = 0; i < args.length; i++) {
-                  values.put(parameterNames[i], args[i]);
-               }
-            } else {
-               values.put("_args", ArrayUtils.EMPTY_OBJECT_ARRAY);
+               System.arraycopy(args, 0, values, 2, args.length);
             }
 
-            if (!eng.evaluateAsBoolean(check.getExpr(), values)) {
+            if (!expr.compiled.evaluateAsBoolean(values)) {
                final Map<String, String> messageVariables = getCollectionFactory().createMap(2);
                messageVariables.put("expression", check.getExpr());
                final String errorMessage = renderMessage(cycle.contextPath, null, check.getMessage(), messageVariables);
@@ -1261,7 +1310,7 @@ protected void validateMethodPre(final Object validatedObject, final Method meth
       } catch (final OValException ex) {
          throw new ValidationFailedException("Method pre conditions validation failed. Method: " + method + " Validated object: " + validatedObject, ex);
       } finally {
-         CURRENTLY_CHECKED_PRE_CONDITIONS.get().remove(key);
+         CURRENTLY_CHECKED_PRE_CONDITIONS.get().remove(validatedObject, method);
       }
    }
 
@@ -1270,8 +1319,6 @@ protected void validateMethodPre(final Object validatedObject, final Method meth
     */
    protected void validateMethodReturnValue(final Object validatedObject, final Method method, final Object returnValue, final InternalValidationCycle cycle)
       throws ValidationFailedException {
-      final String key = System.identityHashCode(validatedObject) + " " + System.identityHashCode(method);
-
       /*
        *  avoid circular references, e.g.
        *
@@ -1283,18 +1330,14 @@ protected void validateMethodReturnValue(final Object validatedObject, final Met
        *  => Groovy will invoke the getter to return the value, invocations of the getter will trigger the validation of the method return values again,
        *  including the @Assert constraint
        */
-      if (CURRENTLY_CHECKED_METHOD_RETURN_VALUES.get().contains(key))
+      if (!CURRENTLY_CHECKED_METHOD_RETURN_VALUES.get().add(validatedObject, method))
          return;
 
-      CURRENTLY_CHECKED_METHOD_RETURN_VALUES.get().add(key);
-
       final IdentityHashSet<Object> validatedObjects = cycle.validatedObjects;
       cycle.validatedObjects = new IdentityHashSet<>(4);
       try {
-         final ClassChecks cc = getClassChecks(method.getDeclaringClass());
-         final Collection<Check> returnValueChecks = cc.checksForMethodReturnValues.get(method);
-
-         if (returnValueChecks == null || returnValueChecks.isEmpty())
+         final Check[] returnValueChecks = getClassChecks(method.getDeclaringClass()).getInvariantChecks().getMethodReturnValueChecks(method);
+         if (returnValueChecks.length == 0)
             return;
 
          final MethodReturnValueContext context = ContextCache.getMethodReturnValueContext(method);
@@ -1306,7 +1349,7 @@ protected void validateMethodReturnValue(final Object validatedObject, final Met
          throw new ValidationFailedException("Method post conditions validation failed. Method: " + method + " Validated object: " + validatedObject, ex);
       } finally {
          cycle.validatedObjects = validatedObjects;
-         CURRENTLY_CHECKED_METHOD_RETURN_VALUES.get().remove(key);
+         CURRENTLY_CHECKED_METHOD_RETURN_VALUES.get().remove(validatedObject, method);
       }
    }
 }
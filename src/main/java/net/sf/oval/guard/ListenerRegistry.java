@@ -0,0 +1,215 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.guard;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.sf.oval.internal.util.WeakClassCache;
+
+/**
+ * Copy-on-write registry of the {@link ConstraintsViolatedListener}s of a {@link Guard}.
+ *
+ * Registrations are synchronized and replace the affected listener arrays, lookups do not lock. The listeners to notify
+ * for objects of a class, i.e. the listeners registered for the class, its super classes, all implemented interfaces
+ * and the global listeners, are resolved once per class into an array that is discarded on each registration change.
+ *
+ * @author Sebastian Thomschke
+ */
+final class ListenerRegistry {
+
+   private static final ConstraintsViolatedListener[] EMPTY_LISTENERS = {};
+
+   /**
+    * @return the array with the listener appended or null if the listener is already contained
+    */
+   private static ConstraintsViolatedListener[] _add(final ConstraintsViolatedListener[] listeners, final ConstraintsViolatedListener listener,
+      final boolean byIdentity) {
+      if (_indexOf(listeners, listener, byIdentity) > -1)
+         return null;
+      final ConstraintsViolatedListener[] result = Arrays.copyOf(listeners, listeners.length + 1);
+      result[listeners.length] = listener;
+      return result;
+   }
+
+   private static void _collectTypes(final Class<?> clazz, final Set<Class<?>> types) {
+      if (clazz == null || !types.add(clazz))
+         return;
+      for (final Class<?> iface : clazz.getInterfaces()) {
+         _collectTypes(iface, types);
+      }
+      _collectTypes(clazz.getSuperclass(), types);
+   }
+
+   private static int _indexOf(final ConstraintsViolatedListener[] listeners, final ConstraintsViolatedListener listener, final boolean byIdentity) {
+      for (int i = 0; i < listeners.length; i++) {
+         if (listeners[i] == listener || !byIdentity && listeners[i].equals(listener))
+            return i;
+      }
+      return -1;
+   }
+
+   /**
+    * @return the array without the listener, null if the listener is not contained
+    */
+   private static ConstraintsViolatedListener[] _remove(final ConstraintsViolatedListener[] listeners, final ConstraintsViolatedListener listener,
+      final boolean byIdentity) {
+      final int index = _indexOf(listeners, listener, byIdentity);
+      if (index == -1)
+         return null;
+      if (listeners.length == 1)
+         return EMPTY_LISTENERS;
+      final ConstraintsViolatedListener[] result = new ConstraintsViolatedListener[listeners.length - 1];
+      System.arraycopy(listeners, 0, result, 0, index);
+      System.arraycopy(listeners, index + 1, result, index, result.length - index);
+      return result;
+   }
+
+   /**
+    * listeners for all objects, compared by identity
+    */
+   private volatile ConstraintsViolatedListener[] globalListeners = EMPTY_LISTENERS;
+
+   /**
+    * immutable map, replaced on each modification
+    */
+   private volatile Map<Class<?>, ConstraintsViolatedListener[]> listenersByClass = Collections.emptyMap();
+
+   private final ConcurrentMap<Object, ConstraintsViolatedListener[]> listenersByObject = new ConcurrentHashMap<>();
+
+   /**
+    * resolved class and global listeners by runtime class of the guarded objects, replaced on each modification
+    */
+   private volatile WeakClassCache<Class<?>, ConstraintsViolatedListener[]> resolvedListeners = new WeakClassCache<>(c -> c);
+
+   private void _invalidateResolvedListeners() {
+      resolvedListeners = new WeakClassCache<>(c -> c);
+   }
+
+   private ConstraintsViolatedListener[] _resolveListeners(final Class<?> clazz) {
+      final Map<Class<?>, ConstraintsViolatedListener[]> byClass = listenersByClass;
+      final ConstraintsViolatedListener[] global = globalListeners;
+      if (byClass.isEmpty())
+         return global;
+
+      final Set<Class<?>> types = new LinkedHashSet<>();
+      _collectTypes(clazz, types);
+
+      final Set<ConstraintsViolatedListener> result = new LinkedHashSet<>();
+      for (final Class<?> type : types) {
+         final ConstraintsViolatedListener[] listeners = byClass.get(type);
+         if (listeners != null) {
+            Collections.addAll(result, listeners);
+         }
+      }
+      Collections.addAll(result, global);
+      return result.toArray(new ConstraintsViolatedListener[result.size()]);
+   }
+
+   synchronized boolean add(final ConstraintsViolatedListener listener) {
+      final ConstraintsViolatedListener[] listeners = _add(globalListeners, listener, true);
+      if (listeners == null)
+         return false;
+      globalListeners = listeners;
+      _invalidateResolvedListeners();
+      return true;
+   }
+
+   synchronized boolean add(final ConstraintsViolatedListener listener, final Class<?> guardedClass) {
+      final ConstraintsViolatedListener[] current = listenersByClass.get(guardedClass);
+      final ConstraintsViolatedListener[] listeners = _add(current == null ? EMPTY_LISTENERS : current, listener, false);
+      if (listeners == null)
+         return false;
+      final Map<Class<?>, ConstraintsViolatedListener[]> map = new HashMap<>(listenersByClass);
+      map.put(guardedClass, listeners);
+      listenersByClass = map;
+      _invalidateResolvedListeners();
+      return true;
+   }
+
+   synchronized boolean add(final ConstraintsViolatedListener listener, final Object guardedObject) {
+      final ConstraintsViolatedListener[] current = listenersByObject.get(guardedObject);
+      final ConstraintsViolatedListener[] listeners = _add(current == null ? EMPTY_LISTENERS : current, listener, false);
+      if (listeners == null)
+         return false;
+      listenersByObject.put(guardedObject, listeners);
+      return true;
+   }
+
+   boolean contains(final ConstraintsViolatedListener listener) {
+      return _indexOf(globalListeners, listener, true) > -1;
+   }
+
+   boolean contains(final ConstraintsViolatedListener listener, final Class<?> guardedClass) {
+      final ConstraintsViolatedListener[] listeners = listenersByClass.get(guardedClass);
+      return listeners != null && _indexOf(listeners, listener, false) > -1;
+   }
+
+   boolean contains(final ConstraintsViolatedListener listener, final Object guardedObject) {
+      final ConstraintsViolatedListener[] listeners = listenersByObject.get(guardedObject);
+      return listeners != null && _indexOf(listeners, listener, false) > -1;
+   }
+
+   /**
+    * @return the listeners to notify about constraint violations of the given object, the returned array must not be
+    *         modified
+    */
+   ConstraintsViolatedListener[] getListeners(final Object guardedObject) {
+      final ConstraintsViolatedListener[] resolved = resolvedListeners.computeIfAbsent(guardedObject.getClass(), this::_resolveListeners);
+
+      final ConstraintsViolatedListener[] objectListeners = listenersByObject.isEmpty() ? null : listenersByObject.get(guardedObject);
+      if (objectListeners == null)
+         return resolved;
+
+      final Set<ConstraintsViolatedListener> result = new LinkedHashSet<>();
+      Collections.addAll(result, objectListeners);
+      Collections.addAll(result, resolved);
+      return result.toArray(new ConstraintsViolatedListener[result.size()]);
+   }
+
+   synchronized boolean remove(final ConstraintsViolatedListener listener) {
+      final ConstraintsViolatedListener[] listeners = _remove(globalListeners, listener, true);
+      if (listeners == null)
+         return false;
+      globalListeners = listeners;
+      _invalidateResolvedListeners();
+      return true;
+   }
+
+   synchronized boolean remove(final ConstraintsViolatedListener listener, final Class<?> guardedClass) {
+      final ConstraintsViolatedListener[] current = listenersByClass.get(guardedClass);
+      final ConstraintsViolatedListener[] listeners = current == null ? null : _remove(current, listener, false);
+      if (listeners == null)
+         return false;
+      final Map<Class<?>, ConstraintsViolatedListener[]> map = new HashMap<>(listenersByClass);
+      if (listeners.length == 0) {
+         map.remove(guardedClass);
+      } else {
+         map.put(guardedClass, listeners);
+      }
+      listenersByClass = map;
+      _invalidateResolvedListeners();
+      return true;
+   }
+
+   synchronized boolean remove(final ConstraintsViolatedListener listener, final Object guardedObject) {
+      final ConstraintsViolatedListener[] current = listenersByObject.get(guardedObject);
+      final ConstraintsViolatedListener[] listeners = current == null ? null : _remove(current, listener, false);
+      if (listeners == null)
+         return false;
+      if (listeners.length == 0) {
+         listenersByObject.remove(guardedObject);
+      } else {
+         listenersByObject.put(guardedObject, listeners);
+      }
+      return true;
+   }
+}
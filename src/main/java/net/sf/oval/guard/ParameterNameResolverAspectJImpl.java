@@ -4,19 +4,18 @@
  */
 package net.sf.oval.guard;
 
-import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
-import java.util.concurrent.ConcurrentMap;
 
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.reflect.ConstructorSignature;
 import org.aspectj.lang.reflect.MethodSignature;
 
-import net.sf.oval.Validator;
 import net.sf.oval.exception.ReflectionException;
 import net.sf.oval.internal.util.ReflectionUtils;
+import net.sf.oval.internal.util.WeakClassCache;
 
 /**
  * This class determines the names of constructor and method parameters based on the static
@@ -25,7 +24,7 @@
  * @author Sebastian Thomschke
  */
 public class ParameterNameResolverAspectJImpl implements ParameterNameResolver {
-   private final ConcurrentMap<AccessibleObject, String[]> parameterNamesCache = Validator.getCollectionFactory().createConcurrentMap();
+   private final WeakClassCache<Member, String[]> parameterNamesCache = new WeakClassCache<>(Member::getDeclaringClass);
 
    private void determineParamterNames(final Class<?> clazz) throws IllegalArgumentException, IllegalAccessException {
       assert clazz != null;
@@ -4,13 +4,12 @@
  */
 package net.sf.oval.guard;
 
-import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
-import java.util.concurrent.ConcurrentMap;
 
-import net.sf.oval.Validator;
 import net.sf.oval.exception.ReflectionException;
+import net.sf.oval.internal.util.WeakClassCache;
 
 /**
  * This implementation determines the names of constructor and method parameters by simply enumerating them based on there index:
@@ -19,7 +18,7 @@
  * @author Sebastian Thomschke
  */
 public class ParameterNameResolverEnumerationImpl implements ParameterNameResolver {
-   private final ConcurrentMap<AccessibleObject, String[]> parameterNamesCache = Validator.getCollectionFactory().createConcurrentMap();
+   private final WeakClassCache<Member, String[]> parameterNamesCache = new WeakClassCache<>(Member::getDeclaringClass);
 
    @Override
    public String[] getParameterNames(final Constructor<?> constructor) throws ReflectionException {
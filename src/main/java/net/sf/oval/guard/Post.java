@@ -56,6 +56,16 @@
     */
    String old() default "";
 
+   /**
+    * Names of fields of the validated object whose values are copied prior method execution without evaluating an
+    * expression, a cheap alternative to {@link #old()} for simple snapshots like <code>[value:_this.value]</code>.<br>
+    * The copied values can later be accessed in the constraint expression via the variable <b>_old</b>, a map holding the
+    * field values by field name, e.g. <b>_old.value</b> in OGNL, MVEL or Groovy. Since <b>_old</b> is a {@link java.util.Map},
+    * expression languages without map property access, e.g. JavaScript via Rhino, need to use <b>_old.get("value")</b>.
+    * Only used if {@link #old()} is empty. Static methods can only declare static fields.
+    */
+   String[] oldFields() default {};
+
    /**
     * The associated constraint profiles.
     */
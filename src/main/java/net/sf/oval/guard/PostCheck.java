@@ -4,10 +4,17 @@
  */
 package net.sf.oval.guard;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
 import net.sf.oval.AbstractCheck;
 import net.sf.oval.Validator;
 import net.sf.oval.context.OValContext;
+import net.sf.oval.exception.InvalidConfigurationException;
 import net.sf.oval.exception.OValException;
+import net.sf.oval.internal.util.MemberAccessor;
+import net.sf.oval.internal.util.ReflectionUtils;
 
 /**
  * @author Sebastian Thomschke
@@ -15,9 +22,34 @@
 public class PostCheck extends AbstractCheck {
    private static final long serialVersionUID = 1L;
 
+   /**
+    * the accessors of the {@link #oldFields} resolved for a guarded method
+    */
+   private static final class OldFieldAccessors {
+      final Method method;
+      final MemberAccessor[] accessors;
+
+      OldFieldAccessors(final Method method, final MemberAccessor[] accessors) {
+         this.method = method;
+         this.accessors = accessors;
+      }
+   }
+
    private String expr;
    private String lang;
    private String old;
+   private String[] oldFields;
+
+   /**
+    * the expressions compiled by the guard, not serialized
+    */
+   transient volatile CompiledCheckExpression compiledExpr;
+   transient volatile CompiledCheckExpression compiledOld;
+
+   /**
+    * resolved by the guard, not serialized
+    */
+   private transient volatile OldFieldAccessors oldFieldAccessors;
 
    public void configure(final Post constraintAnnotation) {
       setMessage(constraintAnnotation.message());
@@ -26,6 +58,7 @@ public void configure(final Post constraintAnnotation) {
       setExpr(constraintAnnotation.expr());
       setLang(constraintAnnotation.lang());
       setOld(constraintAnnotation.old());
+      setOldFields(constraintAnnotation.oldFields());
       setProfiles(constraintAnnotation.profiles());
    }
 
@@ -41,6 +74,45 @@ public String getOld() {
       return old;
    }
 
+   /**
+    * @return the accessors of the {@link #getOldFields() old fields} declared in the class declaring the given method or
+    *         its super classes
+    * @throws InvalidConfigurationException if a field does not exist or if an instance field is declared for a static
+    *            method
+    */
+   MemberAccessor[] getOldFieldAccessors(final Method method) throws InvalidConfigurationException {
+      OldFieldAccessors resolved = oldFieldAccessors;
+      if (resolved == null || resolved.method != method) {
+         final Class<?> clazz = method.getDeclaringClass();
+         final boolean isStaticMethod = ReflectionUtils.isStatic(method);
+         final MemberAccessor[] accessors = new MemberAccessor[oldFields.length];
+         for (int i = 0; i < oldFields.length; i++) {
+            final Field field = ReflectionUtils.getFieldRecursive(clazz, oldFields[i]);
+            if (field == null)
+               throw new InvalidConfigurationException("Field <" + oldFields[i] + "> declared as old field of " + this + " not found in class "
+                  + clazz.getName());
+            if (isStaticMethod && !ReflectionUtils.isStatic(field))
+               throw new InvalidConfigurationException("Instance field <" + oldFields[i] + "> declared as old field of " + this
+                  + " cannot be read for static method " + method);
+            accessors[i] = MemberAccessor.of(field);
+         }
+         resolved = new OldFieldAccessors(method, accessors);
+         oldFieldAccessors = resolved;
+      }
+      return resolved.accessors;
+   }
+
+   public String[] getOldFields() {
+      return oldFields;
+   }
+
+   /**
+    * @return true if old values need to be captured prior method execution
+    */
+   public boolean hasOld() {
+      return old != null && old.length() > 0 || oldFields != null && oldFields.length > 0;
+   }
+
    @Override
    public boolean isSatisfied(final Object validatedObject, final Object valueToValidate, final OValContext context, final Validator validator)
       throws OValException {
@@ -59,8 +131,13 @@ public void setOld(final String old) {
       this.old = old;
    }
 
+   public void setOldFields(final String... oldFields) {
+      this.oldFields = oldFields;
+      oldFieldAccessors = null;
+   }
+
    @Override
    public String toString() {
-      return "PostCheck [language=" + lang + ", expression=" + expr + ", old=" + old + "]";
+      return "PostCheck [language=" + lang + ", expression=" + expr + ", old=" + old + ", oldFields=" + Arrays.toString(oldFields) + "]";
    }
 }
@@ -18,6 +18,11 @@ public class PreCheck extends AbstractCheck {
    private String expr;
    private String lang;
 
+   /**
+    * the expression compiled by the guard, not serialized
+    */
+   transient volatile CompiledCheckExpression compiledExpr;
+
    public void configure(final Pre constraintAnnotation) {
       setMessage(constraintAnnotation.message());
       setErrorCode(constraintAnnotation.errorCode());
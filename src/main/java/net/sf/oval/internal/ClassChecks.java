@@ -10,11 +10,18 @@
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.oval.Check;
 import net.sf.oval.CheckExclusion;
@@ -31,6 +38,9 @@
  * <b>Note:</b> For performance reasons the collections are made public (intended for read-access only).
  * Modifications to the collections should be done through the appropriate methods addXXX, removeXXX, clearXXX methods.
  *
+ * The field, getter and object level checks are additionally published as immutable {@link InvariantChecks} snapshot
+ * that is replaced on each modification, which allows the validator to read them without locking.
+ *
  * @author Sebastian Thomschke
  */
 public final class ClassChecks {
@@ -97,10 +107,37 @@ public final class ClassChecks {
 
    public boolean isCheckInvariants;
 
+   /**
+    * true if this instance is cached by a {@link net.sf.oval.SharedClassChecks} registry and must not be modified
+    */
+   public volatile boolean isShared;
+
    public final Set<AccessibleObject> methodsWithCheckInvariantsPost = getCollectionFactory().createSet();
 
    public final Set<Method> methodsWithCheckInvariantsPre = getCollectionFactory().createSet();
 
+   /**
+    * immutable snapshot of the field, getter and object level checks, replaced each time these checks are modified
+    */
+   private volatile InvariantChecks invariantChecks;
+
+   /**
+    * incremented each time any checks are modified, used to detect outdated {@link MethodGuardPlan}s
+    */
+   private final AtomicInteger modificationCount = new AtomicInteger();
+
+   private final ConcurrentMap<Method, MethodGuardPlan> methodGuardPlans = new ConcurrentHashMap<>(4);
+
+   /**
+    * number of unfinished {@link #beginBatchUpdate()} calls, guarded by <code>this</code>
+    */
+   private int batchUpdateDepth;
+
+   /**
+    * the invariant checks were modified during a batch update, guarded by <code>this</code>
+    */
+   private boolean isPublishPending;
+
    private final ParameterNameResolver parameterNameResolver;
 
    /**
@@ -111,6 +148,7 @@ public ClassChecks(final Class<?> clazz, final ParameterNameResolver parameterNa
 
       this.clazz = clazz;
       this.parameterNameResolver = parameterNameResolver;
+      _publishInvariantChecks();
    }
 
    @SuppressWarnings("unchecked")
@@ -180,6 +218,7 @@ private void _addFieldChecks(final Field field, final Object checks) {
             }
          }
       }
+      _publishInvariantChecks();
    }
 
    @SuppressWarnings("unchecked")
@@ -193,6 +232,7 @@ private void _addMethodParameterCheckExclusions(final Method method, final int p
       } else {
          Collections.addAll(checksOfMethodParameter.checkExclusions, (CheckExclusion[]) exclusions);
       }
+      modificationCount.incrementAndGet();
    }
 
    @SuppressWarnings("unchecked")
@@ -218,6 +258,7 @@ private void _addMethodParameterChecks(final Method method, final int parameterI
             checksOfMethodParameter.checks.add(check);
          }
       }
+      modificationCount.incrementAndGet();
    }
 
    @SuppressWarnings("unchecked")
@@ -245,6 +286,7 @@ private void _addMethodPostChecks(final Method method, final Object checks) thro
             }
          }
       }
+      modificationCount.incrementAndGet();
    }
 
    @SuppressWarnings("unchecked")
@@ -272,6 +314,7 @@ private void _addMethodPreChecks(final Method method, final Object checks) throw
             }
          }
       }
+      modificationCount.incrementAndGet();
    }
 
    @SuppressWarnings("unchecked")
@@ -327,6 +370,72 @@ private void _addMethodReturnValueChecks(final Method method, final Boolean isIn
             }
          }
       }
+      _publishInvariantChecks();
+   }
+
+   /**
+    * Creates and publishes a new snapshot of the field, getter and object level checks. Must be called after
+    * the corresponding collections have been modified, but not while holding any of their locks. During a batch update
+    * the snapshot is only created once the batch update ends.
+    */
+   private synchronized void _publishInvariantChecks() {
+      if (batchUpdateDepth > 0) {
+         isPublishPending = true;
+         return;
+      }
+      final Map<Field, Check[]> checksByField = new HashMap<>();
+      final List<Field> fields = new ArrayList<>();
+      final List<Check[]> fieldChecks = new ArrayList<>();
+      final List<Field> staticFields = new ArrayList<>();
+      final List<Check[]> staticFieldChecks = new ArrayList<>();
+      synchronized (checksForFields) {
+         for (final Entry<Field, Set<Check>> entry : checksForFields.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+               checksByField.put(entry.getKey(), entry.getValue().toArray(InvariantChecks.EMPTY_CHECKS));
+            }
+         }
+         _collectChecks(constrainedFields, checksByField, fields, fieldChecks);
+         _collectChecks(constrainedStaticFields, checksByField, staticFields, staticFieldChecks);
+      }
+
+      final Map<Method, Check[]> checksByMethod = new HashMap<>();
+      final List<Method> methods = new ArrayList<>();
+      final List<Check[]> methodChecks = new ArrayList<>();
+      final List<Method> staticMethods = new ArrayList<>();
+      final List<Check[]> staticMethodChecks = new ArrayList<>();
+      synchronized (checksForMethodReturnValues) {
+         for (final Entry<Method, Set<Check>> entry : checksForMethodReturnValues.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+               checksByMethod.put(entry.getKey(), entry.getValue().toArray(InvariantChecks.EMPTY_CHECKS));
+            }
+         }
+         _collectChecks(constrainedMethods, checksByMethod, methods, methodChecks);
+         _collectChecks(constrainedStaticMethods, checksByMethod, staticMethods, staticMethodChecks);
+      }
+
+      final Check[] objectChecks;
+      synchronized (checksForObject) {
+         objectChecks = checksForObject.toArray(InvariantChecks.EMPTY_CHECKS);
+      }
+
+      invariantChecks = new InvariantChecks( //
+         fields.toArray(new Field[fields.size()]), fieldChecks.toArray(new Check[fieldChecks.size()][]), //
+         methods.toArray(new Method[methods.size()]), methodChecks.toArray(new Check[methodChecks.size()][]), //
+         staticFields.toArray(new Field[staticFields.size()]), staticFieldChecks.toArray(new Check[staticFieldChecks.size()][]), //
+         staticMethods.toArray(new Method[staticMethods.size()]), staticMethodChecks.toArray(new Check[staticMethodChecks.size()][]), //
+         objectChecks, checksByField, checksByMethod);
+      modificationCount.incrementAndGet();
+   }
+
+   private static <T> void _collectChecks(final Set<T> members, final Map<T, Check[]> checksByMember, final List<T> membersWithChecks,
+      final List<Check[]> checksOfMembers) {
+      for (final T member : members) {
+         final Check[] checks = checksByMember.get(member);
+         if (checks != null) {
+            membersWithChecks.add(member);
+            checksOfMembers.add(checks);
+         }
+      }
    }
 
    private ParameterChecks _getChecksOfConstructorParameter(final Constructor<?> ctor, final int paramIndex) {
@@ -521,6 +630,7 @@ public void addObjectChecks(final Check... checks) {
             checksForObject.add(check);
          }
       }
+      _publishInvariantChecks();
    }
 
    /**
@@ -535,6 +645,15 @@ public void addObjectChecks(final Collection<Check> checks) {
             checksForObject.add(check);
          }
       }
+      _publishInvariantChecks();
+   }
+
+   /**
+    * Defers publishing the snapshot of the invariant checks until {@link #endBatchUpdate()} is called, e.g. while all
+    * checks of a class configuration are added. Calls may be nested.
+    */
+   public synchronized void beginBatchUpdate() {
+      batchUpdateDepth++;
    }
 
    public synchronized void clear() {
@@ -551,6 +670,7 @@ public synchronized void clear() {
       constrainedStaticFields.clear();
       constrainedMethods.clear();
       constrainedStaticMethods.clear();
+      _publishInvariantChecks();
    }
 
    public void clearConstructorChecks(final Constructor<?> constructor) {
@@ -585,6 +705,7 @@ public void clearFieldChecks(final Field field) {
          constrainedFields.remove(field);
          constrainedStaticFields.remove(field);
       }
+      _publishInvariantChecks();
    }
 
    public synchronized void clearMethodChecks(final Method method) {
@@ -598,6 +719,7 @@ public void clearMethodParameterChecks(final Method method) {
       synchronized (checksForMethodParameters) {
          checksForMethodParameters.remove(method);
       }
+      modificationCount.incrementAndGet();
    }
 
    public void clearMethodParameterChecks(final Method method, final int parameterIndex) {
@@ -614,18 +736,21 @@ public void clearMethodParameterChecks(final Method method, final int parameterI
 
          checksOfMethodByParameter.remove(parameterIndex);
       }
+      modificationCount.incrementAndGet();
    }
 
    public void clearMethodPostChecks(final Method method) {
       synchronized (checksForMethodsPostExcecution) {
          checksForMethodsPostExcecution.remove(method);
       }
+      modificationCount.incrementAndGet();
    }
 
    public void clearMethodPreChecks(final Method method) {
       synchronized (checksForMethodsPreExecution) {
          checksForMethodsPreExecution.remove(method);
       }
+      modificationCount.incrementAndGet();
    }
 
    public void clearMethodReturnValueChecks(final Method method) {
@@ -634,12 +759,48 @@ public void clearMethodReturnValueChecks(final Method method) {
          constrainedMethods.remove(method);
          constrainedStaticMethods.remove(method);
       }
+      _publishInvariantChecks();
    }
 
    public void clearObjectChecks() {
       synchronized (checksForObject) {
          checksForObject.clear();
       }
+      _publishInvariantChecks();
+   }
+
+   /**
+    * Ends a batch update started via {@link #beginBatchUpdate()} and publishes the invariant checks if they were
+    * modified and no other batch update is in progress.
+    */
+   public synchronized void endBatchUpdate() {
+      batchUpdateDepth--;
+      if (batchUpdateDepth == 0 && isPublishPending) {
+         isPublishPending = false;
+         _publishInvariantChecks();
+      }
+   }
+
+   /**
+    * @return an immutable snapshot of the field, getter and object level checks. a new snapshot instance is returned
+    *         after these checks have been modified
+    */
+   public InvariantChecks getInvariantChecks() {
+      return invariantChecks;
+   }
+
+   /**
+    * @return the guard plan of the given method declared by this class, rebuilt if the checks have been modified since
+    *         it was built
+    */
+   public MethodGuardPlan getMethodGuardPlan(final Method method) {
+      MethodGuardPlan plan = methodGuardPlans.get(method);
+      final int currentModificationCount = modificationCount.get();
+      if (plan == null || plan.modificationCount != currentModificationCount) {
+         plan = new MethodGuardPlan(this, method, currentModificationCount);
+         methodGuardPlans.put(method, plan);
+      }
+      return plan;
    }
 
    public void removeConstructorParameterCheckExclusions(final Constructor<?> constructor, final int parameterIndex, final CheckExclusion... exclusions) {
@@ -703,6 +864,7 @@ public void removeFieldChecks(final Field field, final Check... checks) {
             constrainedStaticFields.remove(field);
          }
       }
+      _publishInvariantChecks();
    }
 
    public void removeMethodParameterCheckExclusions(final Method method, final int parameterIndex, final CheckExclusion... exclusions) {
@@ -728,6 +890,7 @@ public void removeMethodParameterCheckExclusions(final Method method, final int
             checksOfMethodByParameter.remove(parameterIndex);
          }
       }
+      modificationCount.incrementAndGet();
    }
 
    public void removeMethodParameterChecks(final Method method, final int parameterIndex, final Check... checks) throws InvalidConfigurationException {
@@ -753,6 +916,7 @@ public void removeMethodParameterChecks(final Method method, final int parameter
             checksOfMethodByParameter.remove(parameterIndex);
          }
       }
+      modificationCount.incrementAndGet();
    }
 
    public void removeMethodPostChecks(final Method method, final PostCheck... checks) {
@@ -770,6 +934,7 @@ public void removeMethodPostChecks(final Method method, final PostCheck... check
             checksForMethodsPostExcecution.remove(method);
          }
       }
+      modificationCount.incrementAndGet();
    }
 
    public void removeMethodPreChecks(final Method method, final PreCheck... checks) {
@@ -787,6 +952,7 @@ public void removeMethodPreChecks(final Method method, final PreCheck... checks)
             checksForMethodsPreExecution.remove(method);
          }
       }
+      modificationCount.incrementAndGet();
    }
 
    public void removeMethodReturnValueChecks(final Method method, final Check... checks) {
@@ -806,6 +972,7 @@ public void removeMethodReturnValueChecks(final Method method, final Check... ch
             constrainedStaticMethods.remove(method);
          }
       }
+      _publishInvariantChecks();
    }
 
    public void removeObjectChecks(final Check... checks) {
@@ -814,5 +981,6 @@ public void removeObjectChecks(final Check... checks) {
             checksForObject.remove(check);
          }
       }
+      _publishInvariantChecks();
    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.internal;
+
+import java.util.List;
+
+import net.sf.oval.Check;
+import net.sf.oval.context.ObjectGraphNavigationContext;
+import net.sf.oval.internal.util.StringUtils;
+
+/**
+ * The parsed form of a check's target expression (see {@link Check#getTarget()}), i.e. the id of the object graph
+ * navigator and the navigation path, so that the expression does not need to be parsed on each validation.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class CompiledTarget {
+
+   /**
+    * @return the compiled target or <code>null</code> if the given target expression is <code>null</code> or blank
+    */
+   public static CompiledTarget of(String target) {
+      if (target == null)
+         return null;
+      target = target.trim();
+      if (target.length() == 0)
+         return null;
+      return new CompiledTarget(target);
+   }
+
+   /**
+    * the id of the object graph navigator, empty for the default navigator
+    */
+   public final String ognId;
+
+   /**
+    * the navigation path
+    */
+   public final String path;
+
+   /**
+    * the context representing the navigation path without its last segment
+    */
+   public final ObjectGraphNavigationContext parentPathContext;
+
+   private CompiledTarget(final String target) {
+      final List<String> chunks = StringUtils.split(target, ':', 2);
+      if (chunks.size() == 1) {
+         ognId = "";
+         path = chunks.get(0);
+      } else {
+         ognId = chunks.get(0);
+         path = chunks.get(1);
+      }
+      parentPathContext = new ObjectGraphNavigationContext(StringUtils.substringBeforeLast(path, '.'));
+   }
+}
@@ -6,14 +6,15 @@
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.concurrent.ConcurrentMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-import net.sf.oval.Validator;
 import net.sf.oval.context.ClassContext;
 import net.sf.oval.context.FieldContext;
 import net.sf.oval.context.MethodEntryContext;
 import net.sf.oval.context.MethodExitContext;
 import net.sf.oval.context.MethodReturnValueContext;
+import net.sf.oval.internal.util.WeakClassCache;
 
 /**
  * @author Sebastian Thomschke
@@ -21,11 +22,11 @@
 public final class ContextCache {
    private static final Log LOG = Log.getLog(ContextCache.class);
 
-   private static final ConcurrentMap<Class<?>, ClassContext> CLASS_CONTEXTS = Validator.getCollectionFactory().createConcurrentMap();
-   private static final ConcurrentMap<Field, FieldContext> FIELD_CONTEXTS = Validator.getCollectionFactory().createConcurrentMap();
-   private static final ConcurrentMap<Method, MethodEntryContext> METHOD_ENTRY_CONTEXTS = Validator.getCollectionFactory().createConcurrentMap();
-   private static final ConcurrentMap<Method, MethodExitContext> METHOD_EXIT_CONTEXTS = Validator.getCollectionFactory().createConcurrentMap();
-   private static final ConcurrentMap<Method, MethodReturnValueContext> METHOD_RETURN_VALUE_CONTEXTS = Validator.getCollectionFactory().createConcurrentMap();
+   private static final WeakClassCache<Class<?>, ClassContext> CLASS_CONTEXTS = new WeakClassCache<>(c -> c);
+   private static final WeakClassCache<Field, FieldContext> FIELD_CONTEXTS = new WeakClassCache<>(Field::getDeclaringClass);
+   private static final WeakClassCache<Method, MethodEntryContext> METHOD_ENTRY_CONTEXTS = new WeakClassCache<>(Method::getDeclaringClass);
+   private static final WeakClassCache<Method, MethodExitContext> METHOD_EXIT_CONTEXTS = new WeakClassCache<>(Method::getDeclaringClass);
+   private static final WeakClassCache<Method, MethodReturnValueContext> METHOD_RETURN_VALUE_CONTEXTS = new WeakClassCache<>(Method::getDeclaringClass);
 
    public static void clear() {
       LOG.debug("Clearing context cache...");
@@ -44,6 +45,19 @@ public static FieldContext getFieldContext(final Field field) {
       return FIELD_CONTEXTS.computeIfAbsent(field, FieldContext::new);
    }
 
+   /**
+    * @return the statistics of the context caches by cache name
+    */
+   public static Map<String, WeakClassCache.Statistics> getStatistics() {
+      final Map<String, WeakClassCache.Statistics> statistics = new LinkedHashMap<>(8);
+      statistics.put("classContexts", CLASS_CONTEXTS.getStatistics());
+      statistics.put("fieldContexts", FIELD_CONTEXTS.getStatistics());
+      statistics.put("methodEntryContexts", METHOD_ENTRY_CONTEXTS.getStatistics());
+      statistics.put("methodExitContexts", METHOD_EXIT_CONTEXTS.getStatistics());
+      statistics.put("methodReturnValueContexts", METHOD_RETURN_VALUE_CONTEXTS.getStatistics());
+      return statistics;
+   }
+
    public static MethodEntryContext getMethodEntryContext(final Method method) {
       return METHOD_ENTRY_CONTEXTS.computeIfAbsent(method, MethodEntryContext::new);
    }
@@ -56,6 +70,20 @@ public static MethodReturnValueContext getMethodReturnValueContext(final Method
       return METHOD_RETURN_VALUE_CONTEXTS.computeIfAbsent(method, MethodReturnValueContext::new);
    }
 
+   /**
+    * Bounds the number of entries of each context cache. Contexts of classes that are garbage collected are always
+    * removed.
+    *
+    * @param maxSize the maximum number of entries per cache, <code>0</code> for no limit
+    */
+   public static void setMaxSize(final int maxSize) {
+      CLASS_CONTEXTS.setMaxSize(maxSize);
+      FIELD_CONTEXTS.setMaxSize(maxSize);
+      METHOD_ENTRY_CONTEXTS.setMaxSize(maxSize);
+      METHOD_EXIT_CONTEXTS.setMaxSize(maxSize);
+      METHOD_RETURN_VALUE_CONTEXTS.setMaxSize(maxSize);
+   }
+
    private ContextCache() {
    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.internal;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import net.sf.oval.Check;
+
+/**
+ * Immutable snapshot of the field, getter and object level checks of a single class, see
+ * {@link ClassChecks#getInvariantChecks()}.
+ *
+ * <b>Note:</b> For performance reasons the arrays are made public, they must not be modified.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class InvariantChecks {
+
+   static final Check[] EMPTY_CHECKS = {};
+
+   /**
+    * non-static constrained fields, <code>fieldChecks[i]</code> holds the checks of <code>fields[i]</code>
+    */
+   public final Field[] fields;
+   public final Check[][] fieldChecks;
+
+   /**
+    * non-static getters marked as invariant, <code>methodChecks[i]</code> holds the checks of <code>methods[i]</code>
+    */
+   public final Method[] methods;
+   public final Check[][] methodChecks;
+
+   /**
+    * static constrained fields, <code>staticFieldChecks[i]</code> holds the checks of <code>staticFields[i]</code>
+    */
+   public final Field[] staticFields;
+   public final Check[][] staticFieldChecks;
+
+   /**
+    * static getters marked as invariant, <code>staticMethodChecks[i]</code> holds the checks of
+    * <code>staticMethods[i]</code>
+    */
+   public final Method[] staticMethods;
+   public final Check[][] staticMethodChecks;
+
+   /**
+    * compound constraints / object level invariants
+    */
+   public final Check[] objectChecks;
+
+   private final Map<Field, Check[]> checksByField;
+   private final Map<Method, Check[]> checksByMethod;
+
+   InvariantChecks(final Field[] fields, final Check[][] fieldChecks, final Method[] methods, final Check[][] methodChecks, final Field[] staticFields,
+      final Check[][] staticFieldChecks, final Method[] staticMethods, final Check[][] staticMethodChecks, final Check[] objectChecks,
+      final Map<Field, Check[]> checksByField, final Map<Method, Check[]> checksByMethod) {
+      this.fields = fields;
+      this.fieldChecks = fieldChecks;
+      this.methods = methods;
+      this.methodChecks = methodChecks;
+      this.staticFields = staticFields;
+      this.staticFieldChecks = staticFieldChecks;
+      this.staticMethods = staticMethods;
+      this.staticMethodChecks = staticMethodChecks;
+      this.objectChecks = objectChecks;
+      this.checksByField = checksByField;
+      this.checksByMethod = checksByMethod;
+   }
+
+   /**
+    * @return the checks of the given field, an empty array if the field has no checks
+    */
+   public Check[] getFieldChecks(final Field field) {
+      final Check[] checks = checksByField.get(field);
+      return checks == null ? EMPTY_CHECKS : checks;
+   }
+
+   /**
+    * @return the return value checks of the given method, an empty array if the method has no return value checks
+    */
+   public Check[] getMethodReturnValueChecks(final Method method) {
+      final Check[] checks = checksByMethod.get(method);
+      return checks == null ? EMPTY_CHECKS : checks;
+   }
+}
@@ -4,6 +4,7 @@
  */
 package net.sf.oval.internal;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -17,7 +18,11 @@
  */
 public final class MessageRenderer {
    public static String renderMessage(final String messageKey, final Map<String, ?> messageValues) {
-      String message = Validator.getMessageResolver().getMessage(messageKey);
+      return renderMessage(messageKey, messageValues, Validator.getLocaleProvider().getLocale());
+   }
+
+   public static String renderMessage(final String messageKey, final Map<String, ?> messageValues, final Locale locale) {
+      String message = Validator.getMessageResolver().getLocalizedMessage(messageKey, locale);
       if (message == null) {
          message = messageKey;
       }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.internal;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+
+import net.sf.oval.guard.PostCheck;
+import net.sf.oval.guard.PreCheck;
+import net.sf.oval.internal.util.ReflectionUtils;
+
+/**
+ * Immutable summary of the checks a guard has to perform when a method is invoked, built once per method from the
+ * {@link ClassChecks} of its declaring class and rebuilt after the checks of the class have been modified.
+ *
+ * The plan allows the guard to determine which validation phases apply to an invocation without any map lookups and to
+ * invoke methods without constraints directly.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class MethodGuardPlan {
+
+   public final Method method;
+
+   /**
+    * the method is static, i.e. the declaring class is used as guarded object
+    */
+   public final boolean isStatic;
+
+   /**
+    * the method is neither private nor protected, i.e. invariants are checked if enabled for the class
+    */
+   public final boolean isInvariantsApplicable;
+
+   public final boolean hasParameterChecks;
+   public final boolean hasPreChecks;
+   public final boolean hasReturnValueChecks;
+   public final boolean hasPostChecks;
+
+   /**
+    * modification count of the class checks this plan was built from
+    */
+   final int modificationCount;
+
+   /**
+    * the public mutable sets of the class checks, read on each invocation since their modification is not tracked
+    */
+   private final Set<Method> methodsWithCheckInvariantsPre;
+   private final Set<? extends AccessibleObject> methodsWithCheckInvariantsPost;
+
+   /**
+    * the post checks of the method, read on each invocation since modifications of their old expressions are not tracked,
+    * null if unknown
+    */
+   private final PostCheck[] postChecks;
+
+   /**
+    * lazily created, see {@link #unoptimized()}
+    */
+   private MethodGuardPlan unoptimized;
+
+   MethodGuardPlan(final ClassChecks cc, final Method method, final int modificationCount) {
+      this.method = method;
+      this.modificationCount = modificationCount;
+
+      isStatic = ReflectionUtils.isStatic(method);
+      isInvariantsApplicable = !ReflectionUtils.isPrivate(method) && !ReflectionUtils.isProtected(method);
+      methodsWithCheckInvariantsPre = cc.methodsWithCheckInvariantsPre;
+      methodsWithCheckInvariantsPost = cc.methodsWithCheckInvariantsPost;
+
+      boolean hasParameterChecks = false;
+      synchronized (cc.checksForMethodParameters) {
+         final Map<Integer, ParameterChecks> parameterChecks = cc.checksForMethodParameters.get(method);
+         if (parameterChecks != null) {
+            for (final ParameterChecks checks : parameterChecks.values()) {
+               if (checks.hasChecks()) {
+                  hasParameterChecks = true;
+                  break;
+               }
+            }
+         }
+      }
+      this.hasParameterChecks = hasParameterChecks;
+
+      synchronized (cc.checksForMethodsPreExecution) {
+         final Set<PreCheck> preChecks = cc.checksForMethodsPreExecution.get(method);
+         hasPreChecks = preChecks != null && !preChecks.isEmpty();
+      }
+      synchronized (cc.checksForMethodsPostExcecution) {
+         final Set<PostCheck> postChecks = cc.checksForMethodsPostExcecution.get(method);
+         hasPostChecks = postChecks != null && !postChecks.isEmpty();
+         this.postChecks = hasPostChecks ? postChecks.toArray(new PostCheck[postChecks.size()]) : new PostCheck[0];
+      }
+      hasReturnValueChecks = cc.getInvariantChecks().getMethodReturnValueChecks(method).length > 0;
+   }
+
+   private MethodGuardPlan(final MethodGuardPlan plan) {
+      method = plan.method;
+      modificationCount = plan.modificationCount;
+      isStatic = plan.isStatic;
+      isInvariantsApplicable = plan.isInvariantsApplicable;
+      methodsWithCheckInvariantsPre = plan.methodsWithCheckInvariantsPre;
+      methodsWithCheckInvariantsPost = plan.methodsWithCheckInvariantsPost;
+      hasParameterChecks = true;
+      hasPreChecks = true;
+      hasReturnValueChecks = true;
+      hasPostChecks = true;
+      postChecks = null;
+   }
+
+   /**
+    * @return true if any post check needs old values to be captured prior method execution
+    */
+   public boolean hasPostChecksWithOld() {
+      if (postChecks == null)
+         return true;
+      for (final PostCheck check : postChecks) {
+         if (check.hasOld())
+            return true;
+      }
+      return false;
+   }
+
+   /**
+    * @return true if the method is annotated to always check invariants after execution
+    */
+   public boolean isCheckInvariantsPost() {
+      return methodsWithCheckInvariantsPost.contains(method);
+   }
+
+   /**
+    * @return true if the method is annotated to always check invariants before execution
+    */
+   public boolean isCheckInvariantsPre() {
+      return methodsWithCheckInvariantsPre.contains(method);
+   }
+
+   /**
+    * @param checkInvariants if invariants are checked for this method, i.e. enabled for the guard and the declaring
+    *           class and {@link #isInvariantsApplicable}
+    * @param isPostConditionsEnabled if post conditions are enabled for the guard
+    * @return true if anything needs to be validated after the method has been invoked
+    */
+   public boolean isPostPhaseRequired(final boolean checkInvariants, final boolean isPostConditionsEnabled) {
+      return checkInvariants || isPostConditionsEnabled && (hasReturnValueChecks || hasPostChecks) || isCheckInvariantsPost();
+   }
+
+   /**
+    * @param checkInvariants if invariants are checked for this method, i.e. enabled for the guard and the declaring
+    *           class and {@link #isInvariantsApplicable}
+    * @param isPreConditionsEnabled if pre conditions are enabled for the guard
+    * @return true if anything needs to be validated before the method is invoked
+    */
+   public boolean isPrePhaseRequired(final boolean checkInvariants, final boolean isPreConditionsEnabled) {
+      return checkInvariants || isPreConditionsEnabled && (hasParameterChecks || hasPreChecks) || isCheckInvariantsPre();
+   }
+
+   /**
+    * @return a plan for the same method that assumes all kinds of checks are present, i.e. lets the guard invoke all its
+    *         validation methods, used for guards that override these methods
+    */
+   public MethodGuardPlan unoptimized() {
+      MethodGuardPlan plan = unoptimized;
+      if (plan == null) {
+         // benign race, the plan is immutable
+         plan = new MethodGuardPlan(this);
+         unoptimized = plan;
+      }
+      return plan;
+   }
+}
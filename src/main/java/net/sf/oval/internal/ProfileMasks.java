@@ -0,0 +1,126 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.internal;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sf.oval.Validator;
+
+/**
+ * Interns the profile names declared by checks into small integer ids so that sets of profiles can be represented as
+ * bitmasks and the "is any profile of the check enabled" test becomes a single AND operation.
+ *
+ * Only the first 63 distinct profile names declared by checks are interned. Checks having a profile that is not
+ * representable get the mask {@link #NOT_REPRESENTABLE} and are evaluated based on the profile names. Profiles that are
+ * only enabled, disabled or passed to a validation cycle are looked up but never interned.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class ProfileMasks {
+
+   /**
+    * mask of checks whose profiles are not representable as bitmask, the sign bit is never assigned to a profile
+    */
+   public static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+   private static final int MAX_PROFILES = Long.SIZE - 1;
+
+   private static final ConcurrentMap<String, Integer> PROFILE_IDS = Validator.getCollectionFactory().createConcurrentMap();
+   private static final AtomicInteger NEXT_PROFILE_ID = new AtomicInteger();
+
+   /**
+    * the bits of all interned profiles, updated after the profile is visible in {@link #PROFILE_IDS}
+    */
+   private static final AtomicLong INTERNED_MASK = new AtomicLong();
+
+   private static long _intern(final String profile) {
+      Integer id = PROFILE_IDS.get(profile);
+      if (id == null) {
+         if (NEXT_PROFILE_ID.get() >= MAX_PROFILES)
+            return 0;
+         id = PROFILE_IDS.computeIfAbsent(profile, p -> NEXT_PROFILE_ID.getAndIncrement());
+      }
+      if (id >= MAX_PROFILES)
+         return 0;
+      final long bit = 1L << id;
+      INTERNED_MASK.accumulateAndGet(bit, (a, b) -> a | b);
+      return bit;
+   }
+
+   /**
+    * @return the bit of the given profile or <code>0</code> if the profile has not been interned
+    */
+   public static long bitOf(final String profile) {
+      final Integer id = PROFILE_IDS.get(profile);
+      return id == null || id >= MAX_PROFILES ? 0 : 1L << id;
+   }
+
+   /**
+    * @return the bits of all profiles interned so far. A mask computed via {@link #ofProfiles(Iterable)} after calling
+    *         this method is only accurate for checks whose mask does not have any other bits set.
+    */
+   public static long internedMask() {
+      return INTERNED_MASK.get();
+   }
+
+   /**
+    * Interns the given profiles.
+    *
+    * @param profiles the profiles of a check, <code>null</code> or an empty array denote the "default" profile
+    * @return the mask of the given profiles or {@link #NOT_REPRESENTABLE} if any of the profiles is not representable
+    *         in a mask
+    */
+   public static long ofCheckProfiles(final String[] profiles) {
+      if (profiles == null || profiles.length == 0) {
+         final long bit = _intern("default");
+         return bit == 0 ? NOT_REPRESENTABLE : bit;
+      }
+
+      long mask = 0;
+      for (final String profile : profiles) {
+         if (profile == null)
+            return NOT_REPRESENTABLE;
+         final long bit = _intern(profile);
+         if (bit == 0)
+            return NOT_REPRESENTABLE;
+         mask |= bit;
+      }
+      return mask;
+   }
+
+   /**
+    * Does not intern the given profiles.
+    *
+    * @return the mask of the given enabled/disabled profiles. profiles that have not been interned are ignored since
+    *         they are not part of the mask of any check either
+    */
+   public static long ofProfiles(final Iterable<String> profiles) {
+      long mask = 0;
+      for (final String profile : profiles) {
+         if (profile != null) {
+            mask |= bitOf(profile);
+         }
+      }
+      return mask;
+   }
+
+   /**
+    * @see #ofProfiles(Iterable)
+    */
+   public static long ofProfiles(final String[] profiles) {
+      long mask = 0;
+      for (final String profile : profiles) {
+         if (profile != null) {
+            mask |= bitOf(profile);
+         }
+      }
+      return mask;
+   }
+
+   private ProfileMasks() {
+   }
+}
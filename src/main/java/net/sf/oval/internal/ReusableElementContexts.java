@@ -0,0 +1,146 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.internal;
+
+import java.util.List;
+
+import net.sf.oval.Validator;
+import net.sf.oval.context.IterableElementContext;
+import net.sf.oval.context.MapKeyContext;
+import net.sf.oval.context.MapValueContext;
+import net.sf.oval.context.OValContext;
+
+/**
+ * Container element contexts that are reused for all elements of a container while it is validated, so that no context
+ * object needs to be allocated per element. They are replaced by immutable snapshots via {@link #snapshot(List)} when a
+ * context path is captured, e.g. by a {@link net.sf.oval.ConstraintViolation}.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class ReusableElementContexts {
+
+   public interface ReusableElementContext {
+      /**
+       * @return an immutable copy of the current state of this context
+       */
+      OValContext snapshot();
+   }
+
+   public static final class IterableElement extends IterableElementContext implements ReusableElementContext {
+      private static final long serialVersionUID = 1L;
+
+      private int elementIndex;
+
+      public IterableElement(final Class<?> compileTimeType) {
+         super(compileTimeType, -1);
+      }
+
+      @Override
+      public int getElementIndex() {
+         return elementIndex;
+      }
+
+      public IterableElement set(final int elementIndex) {
+         this.elementIndex = elementIndex;
+         return this;
+      }
+
+      @Override
+      public OValContext snapshot() {
+         return new IterableElementContext(compileTimeType, elementIndex);
+      }
+
+      @Override
+      public String toString() {
+         return "[" + elementIndex + "]";
+      }
+
+      private Object writeReplace() {
+         return snapshot();
+      }
+   }
+
+   public static final class MapKey extends MapKeyContext implements ReusableElementContext {
+      private static final long serialVersionUID = 1L;
+
+      private transient Object key;
+
+      public MapKey(final Class<?> compileTimeType) {
+         super(compileTimeType, null);
+      }
+
+      @Override
+      public Object getKey() {
+         return key;
+      }
+
+      public MapKey set(final Object key) {
+         this.key = key;
+         return this;
+      }
+
+      @Override
+      public OValContext snapshot() {
+         return new MapKeyContext(compileTimeType, key);
+      }
+
+      @Override
+      public String toString() {
+         return snapshot().toString();
+      }
+
+      private Object writeReplace() {
+         return snapshot();
+      }
+   }
+
+   public static final class MapValue extends MapValueContext implements ReusableElementContext {
+      private static final long serialVersionUID = 1L;
+
+      private transient Object key;
+
+      public MapValue(final Class<?> compileTimeType) {
+         super(compileTimeType, null);
+      }
+
+      @Override
+      public Object getKey() {
+         return key;
+      }
+
+      public MapValue set(final Object key) {
+         this.key = key;
+         return this;
+      }
+
+      @Override
+      public OValContext snapshot() {
+         return new MapValueContext(compileTimeType, key);
+      }
+
+      @Override
+      public String toString() {
+         return snapshot().toString();
+      }
+
+      private Object writeReplace() {
+         return snapshot();
+      }
+   }
+
+   /**
+    * @return a copy of the given context path with all reusable element contexts replaced by immutable snapshots
+    */
+   public static List<OValContext> snapshot(final List<OValContext> contextPath) {
+      final List<OValContext> snapshot = Validator.getCollectionFactory().createList(contextPath.size());
+      for (final OValContext ctx : contextPath) {
+         snapshot.add(ctx instanceof ReusableElementContext ? ((ReusableElementContext) ctx).snapshot() : ctx);
+      }
+      return snapshot;
+   }
+
+   private ReusableElementContexts() {
+   }
+}
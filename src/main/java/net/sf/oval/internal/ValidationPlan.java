@@ -0,0 +1,199 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.sf.oval.AbstractCheck;
+import net.sf.oval.Check;
+import net.sf.oval.constraint.AssertFalseCheck;
+import net.sf.oval.constraint.AssertTrueCheck;
+import net.sf.oval.constraint.DigitsCheck;
+import net.sf.oval.constraint.EmailCheck;
+import net.sf.oval.constraint.LengthCheck;
+import net.sf.oval.constraint.MatchPatternCheck;
+import net.sf.oval.constraint.MaxCheck;
+import net.sf.oval.constraint.MaxLengthCheck;
+import net.sf.oval.constraint.MinCheck;
+import net.sf.oval.constraint.MinLengthCheck;
+import net.sf.oval.constraint.NotBlankCheck;
+import net.sf.oval.constraint.NotEmptyCheck;
+import net.sf.oval.constraint.NotNegativeCheck;
+import net.sf.oval.constraint.NotNullCheck;
+import net.sf.oval.constraint.RangeCheck;
+import net.sf.oval.context.OValContext;
+
+/**
+ * Immutable, flattened view of all field, getter and object level checks that apply to instances of a concrete class
+ * including the checks declared for its super classes.
+ *
+ * The plan holds the contexts and the checks of all constrained members in plain arrays so that the validator can
+ * validate an object by iterating over them instead of walking the class hierarchy and performing map lookups.
+ *
+ * The steps are ordered as follows: for each class in the hierarchy, starting with the
+ * most specific one, first the fields, then the getters and finally the object level checks.
+ *
+ * Once a plan has been used for a configurable number of validations, the checks that can be evaluated by directly
+ * invoking {@link Check#isSatisfied} are determined, see {@link #getFastPathModes(int)}.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class ValidationPlan {
+
+   /**
+    * the check needs to be evaluated via the generic check processing of the validator
+    */
+   public static final byte FAST_PATH_NONE = 0;
+
+   /**
+    * the check can be evaluated via {@link Check#isSatisfied} if the value is not a container
+    */
+   public static final byte FAST_PATH = 1;
+
+   /**
+    * same as {@link #FAST_PATH}, additionally the check is always satisfied by <code>null</code>
+    */
+   public static final byte FAST_PATH_NULL_SATISFIED = 2;
+
+   /**
+    * built-in checks without side effects that are satisfied by <code>null</code> values
+    */
+   private static final Set<Class<?>> NULL_SATISFIED_CHECKS = new HashSet<>(Arrays.asList( //
+      AssertFalseCheck.class, //
+      AssertTrueCheck.class, //
+      DigitsCheck.class, //
+      EmailCheck.class, //
+      LengthCheck.class, //
+      MatchPatternCheck.class, //
+      MaxCheck.class, //
+      MaxLengthCheck.class, //
+      MinCheck.class, //
+      MinLengthCheck.class, //
+      NotBlankCheck.class, //
+      NotEmptyCheck.class, //
+      NotNegativeCheck.class, //
+      RangeCheck.class //
+   ));
+
+   private static byte _getFastPathMode(final OValContext context, final Check check) {
+      if (!(check instanceof AbstractCheck) || check.getWhen() != null || check.getTarget() != null)
+         return FAST_PATH_NONE;
+
+      final Class<?> type = context.getCompileTimeType();
+      if (type == null || Iterable.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type) || type.isArray())
+         return FAST_PATH_NONE;
+
+      if (check.getClass() == NotNullCheck.class)
+         return FAST_PATH;
+      return NULL_SATISFIED_CHECKS.contains(check.getClass()) ? FAST_PATH_NULL_SATISFIED : FAST_PATH_NONE;
+   }
+
+   /**
+    * the concrete class this plan was built for
+    */
+   public final Class<?> clazz;
+
+   /**
+    * the {@link net.sf.oval.context.FieldContext}, {@link net.sf.oval.context.MethodReturnValueContext} or
+    * {@link net.sf.oval.context.ClassContext} of each validation step
+    */
+   public final OValContext[] contexts;
+
+   /**
+    * the checks of each validation step, <code>checks[i]</code> belongs to <code>contexts[i]</code>
+    */
+   public final Check[][] checks;
+
+   private final ClassChecks[] classChecks;
+   private final InvariantChecks[] invariantChecks;
+
+   /**
+    * number of validations using this plan, not updated atomically since it is only used as a heuristic
+    */
+   private int validations;
+   private volatile byte[][] fastPathModes;
+
+   /**
+    * @param clazz the concrete class
+    * @param hierarchy the class checks of the class and its super classes, starting with the given class
+    */
+   public ValidationPlan(final Class<?> clazz, final List<ClassChecks> hierarchy) {
+      this.clazz = clazz;
+      classChecks = hierarchy.toArray(new ClassChecks[hierarchy.size()]);
+      invariantChecks = new InvariantChecks[classChecks.length];
+
+      final List<OValContext> contextList = new ArrayList<>();
+      final List<Check[]> checksList = new ArrayList<>();
+
+      for (int i = 0; i < classChecks.length; i++) {
+         final InvariantChecks ic = classChecks[i].getInvariantChecks();
+         invariantChecks[i] = ic;
+
+         for (int j = 0; j < ic.fields.length; j++) {
+            contextList.add(ContextCache.getFieldContext(ic.fields[j]));
+            checksList.add(ic.fieldChecks[j]);
+         }
+
+         for (int j = 0; j < ic.methods.length; j++) {
+            contextList.add(ContextCache.getMethodReturnValueContext(ic.methods[j]));
+            checksList.add(ic.methodChecks[j]);
+         }
+
+         if (ic.objectChecks.length > 0) {
+            contextList.add(ContextCache.getClassContext(classChecks[i].clazz));
+            checksList.add(ic.objectChecks);
+         }
+      }
+
+      contexts = contextList.toArray(new OValContext[contextList.size()]);
+      checks = checksList.toArray(new Check[checksList.size()][]);
+   }
+
+   /**
+    * Counts a validation using this plan.
+    *
+    * @param threshold the number of validations after which the fast path modes are determined, negative to disable the
+    *           fast path
+    * @return the fast path mode of each check, <code>modes[i][j]</code> belongs to <code>checks[i][j]</code>, or null if
+    *         the threshold was not reached yet
+    */
+   public byte[][] getFastPathModes(final int threshold) {
+      if (threshold < 0)
+         return null;
+
+      byte[][] modes = fastPathModes;
+      if (modes != null)
+         return modes;
+
+      if (validations++ < threshold)
+         return null;
+
+      modes = new byte[checks.length][];
+      for (int i = 0; i < checks.length; i++) {
+         modes[i] = new byte[checks[i].length];
+         for (int j = 0; j < checks[i].length; j++) {
+            modes[i][j] = _getFastPathMode(contexts[i], checks[i][j]);
+         }
+      }
+      fastPathModes = modes;
+      return modes;
+   }
+
+   /**
+    * @return true if the checks of any class in the hierarchy have been modified since this plan was built
+    */
+   public boolean isOutdated() {
+      for (int i = 0; i < classChecks.length; i++) {
+         if (classChecks[i].getInvariantChecks() != invariantChecks[i])
+            return true;
+      }
+      return false;
+   }
+}
@@ -7,7 +7,8 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
-import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.ObjIntConsumer;
 
 import net.sf.oval.Validator;
 
@@ -132,67 +133,70 @@ public static <T> boolean containsSame(final T[] theArray, final T theItem) {
       return false;
    }
 
-   public static void iterate(final Object array, final BiConsumer<Integer, Object> onElement) {
+   /**
+    * @param isAborted checked before each element, the iteration stops once it returns true
+    */
+   public static void iterate(final Object array, final BooleanSupplier isAborted, final ObjIntConsumer<Object> onElement) {
       if (array instanceof Object[]) {
          final Object[] arrayCasted = (Object[]) array;
-         for (int i = 0, l = arrayCasted.length; i < l; i++) {
-            onElement.accept(i, arrayCasted[i]);
+         for (int i = 0, l = arrayCasted.length; i < l && !isAborted.getAsBoolean(); i++) {
+            onElement.accept(arrayCasted[i], i);
          }
          return;
       }
       if (array instanceof byte[]) {
          final byte[] arrayCasted = (byte[]) array;
-         for (int i = 0, l = arrayCasted.length; i < l; i++) {
-            onElement.accept(i, arrayCasted[i]);
+         for (int i = 0, l = arrayCasted.length; i < l && !isAborted.getAsBoolean(); i++) {
+            onElement.accept(arrayCasted[i], i);
          }
          return;
       }
       if (array instanceof char[]) {
          final char[] arrayCasted = (char[]) array;
-         for (int i = 0, l = arrayCasted.length; i < l; i++) {
-            onElement.accept(i, arrayCasted[i]);
+         for (int i = 0, l = arrayCasted.length; i < l && !isAborted.getAsBoolean(); i++) {
+            onElement.accept(arrayCasted[i], i);
          }
          return;
       }
       if (array instanceof short[]) {
          final short[] arrayCasted = (short[]) array;
-         for (int i = 0, l = arrayCasted.length; i < l; i++) {
-            onElement.accept(i, arrayCasted[i]);
+         for (int i = 0, l = arrayCasted.length; i < l && !isAborted.getAsBoolean(); i++) {
+            onElement.accept(arrayCasted[i], i);
          }
          return;
       }
       if (array instanceof int[]) {
          final int[] arrayCasted = (int[]) array;
-         for (int i = 0, l = arrayCasted.length; i < l; i++) {
-            onElement.accept(i, arrayCasted[i]);
+         for (int i = 0, l = arrayCasted.length; i < l && !isAborted.getAsBoolean(); i++) {
+            onElement.accept(arrayCasted[i], i);
          }
          return;
       }
       if (array instanceof long[]) {
          final long[] arrayCasted = (long[]) array;
-         for (int i = 0, l = arrayCasted.length; i < l; i++) {
-            onElement.accept(i, arrayCasted[i]);
+         for (int i = 0, l = arrayCasted.length; i < l && !isAborted.getAsBoolean(); i++) {
+            onElement.accept(arrayCasted[i], i);
          }
          return;
       }
       if (array instanceof double[]) {
          final double[] arrayCasted = (double[]) array;
-         for (int i = 0, l = arrayCasted.length; i < l; i++) {
-            onElement.accept(i, arrayCasted[i]);
+         for (int i = 0, l = arrayCasted.length; i < l && !isAborted.getAsBoolean(); i++) {
+            onElement.accept(arrayCasted[i], i);
          }
          return;
       }
       if (array instanceof float[]) {
          final float[] arrayCasted = (float[]) array;
-         for (int i = 0, l = arrayCasted.length; i < l; i++) {
-            onElement.accept(i, arrayCasted[i]);
+         for (int i = 0, l = arrayCasted.length; i < l && !isAborted.getAsBoolean(); i++) {
+            onElement.accept(arrayCasted[i], i);
          }
          return;
       }
       if (array instanceof boolean[]) {
          final boolean[] arrayCasted = (boolean[]) array;
-         for (int i = 0, l = arrayCasted.length; i < l; i++) {
-            onElement.accept(i, arrayCasted[i]);
+         for (int i = 0, l = arrayCasted.length; i < l && !isAborted.getAsBoolean(); i++) {
+            onElement.accept(arrayCasted[i], i);
          }
          return;
       }
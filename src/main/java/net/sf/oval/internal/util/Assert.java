@@ -18,6 +18,11 @@ private static RuntimeException _adjustStacktrace(final RuntimeException ex) {
       return ex;
    }
 
+   public static void argumentMinValue(final String name, final int value, final int min) throws IllegalArgumentException {
+      if (value < min)
+         throw _adjustStacktrace(new IllegalArgumentException("[" + name + "] must be greater than or equal to " + min));
+   }
+
    public static void argumentNotBlank(final String name, final String value) throws IllegalArgumentException {
       if (value == null)
          throw _adjustStacktrace(new IllegalArgumentException("[" + name + "] must not be null"));
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.internal.util;
+
+/**
+ * Set of object pairs that are compared by identity, implemented as open addressing hash table with linear probing.
+ *
+ * Adding and removing pairs does not allocate any objects except when the table needs to grow. The set is not
+ * thread-safe and intended to be used per thread, e.g. to detect reentrant invocations.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class IdentityPairSet {
+
+   private static int _hash(final Object first, final Object second) {
+      final int h = System.identityHashCode(first) * 31 + System.identityHashCode(second);
+      return h ^ h >>> 16;
+   }
+
+   private Object[] firsts;
+
+   /**
+    * the second elements of the pairs, <code>null</code> marks an empty slot
+    */
+   private Object[] seconds;
+
+   private int size;
+
+   public IdentityPairSet() {
+      this(16);
+   }
+
+   /**
+    * @param initialCapacity the number of pairs the set can hold without growing
+    */
+   public IdentityPairSet(final int initialCapacity) {
+      Assert.argumentMinValue("initialCapacity", initialCapacity, 1);
+
+      int capacity = 2;
+      while (capacity < initialCapacity * 2) {
+         capacity <<= 1;
+      }
+      firsts = new Object[capacity];
+      seconds = new Object[capacity];
+   }
+
+   private int _indexOf(final Object first, final Object second) {
+      final int mask = seconds.length - 1;
+      for (int i = _hash(first, second) & mask;; i = i + 1 & mask) {
+         final Object s = seconds[i];
+         if (s == null || s == second && firsts[i] == first)
+            return i;
+      }
+   }
+
+   private void _resize() {
+      final Object[] oldFirsts = firsts;
+      final Object[] oldSeconds = seconds;
+      firsts = new Object[oldSeconds.length << 1];
+      seconds = new Object[oldSeconds.length << 1];
+      for (int i = 0; i < oldSeconds.length; i++) {
+         if (oldSeconds[i] != null) {
+            final int index = _indexOf(oldFirsts[i], oldSeconds[i]);
+            firsts[index] = oldFirsts[i];
+            seconds[index] = oldSeconds[i];
+         }
+      }
+   }
+
+   /**
+    * @param first the first element of the pair, may be null
+    * @param second the second element of the pair, cannot be null
+    * @return <code>true</code> if the pair was not contained in the set
+    */
+   public boolean add(final Object first, final Object second) {
+      Assert.argumentNotNull("second", second);
+
+      final int index = _indexOf(first, second);
+      if (seconds[index] != null)
+         return false;
+
+      firsts[index] = first;
+      seconds[index] = second;
+      if (++size * 2 > seconds.length) {
+         _resize();
+      }
+      return true;
+   }
+
+   public boolean contains(final Object first, final Object second) {
+      return second != null && seconds[_indexOf(first, second)] != null;
+   }
+
+   public boolean isEmpty() {
+      return size == 0;
+   }
+
+   /**
+    * @return <code>true</code> if the pair was contained in the set
+    */
+   public boolean remove(final Object first, final Object second) {
+      if (second == null)
+         return false;
+
+      final int mask = seconds.length - 1;
+      int index = _indexOf(first, second);
+      if (seconds[index] == null)
+         return false;
+
+      // backward shift deletion, moves subsequent pairs of the same probe sequence into the freed slot
+      for (int i = index + 1 & mask; seconds[i] != null; i = i + 1 & mask) {
+         final int home = _hash(firsts[i], seconds[i]) & mask;
+         if ((i - home & mask) >= (i - index & mask)) {
+            firsts[index] = firsts[i];
+            seconds[index] = seconds[i];
+            index = i;
+         }
+      }
+      firsts[index] = null;
+      seconds[index] = null;
+      size--;
+      return true;
+   }
+
+   public int size() {
+      return size;
+   }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.internal.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+import net.sf.oval.configuration.annotation.GeneratedValidator;
+import net.sf.oval.exception.AccessingFieldValueFailedException;
+import net.sf.oval.exception.ConstraintsViolatedException;
+import net.sf.oval.exception.InvokingMethodFailedException;
+import net.sf.oval.internal.ContextCache;
+import net.sf.oval.internal.Log;
+
+/**
+ * Reads field values and invokes methods via a {@link MethodHandle} that is created once per field/method and cached.
+ *
+ * In contrast to {@link ReflectionUtils#getFieldValue(Field, Object)} and
+ * {@link ReflectionUtils#invokeMethod(Method, Object, Object...)} the accessibility of the member is only adjusted once
+ * and no argument arrays are allocated on invocation.
+ *
+ * Field values are read via the {@link GeneratedValidator} of the declaring class if one was generated at build time.
+ *
+ * If no method handle can be created for a member, e.g. because it is not accessible, the accessor falls back to
+ * reflection.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class MemberAccessor {
+   private static final Log LOG = Log.getLog(MemberAccessor.class);
+
+   private static final WeakClassCache<Member, MemberAccessor> ACCESSORS = new WeakClassCache<>(Member::getDeclaringClass);
+
+   private static final ClassValue<GeneratedValidator> GENERATED_VALIDATORS = new ClassValue<GeneratedValidator>() {
+      @Override
+      protected GeneratedValidator computeValue(final Class<?> clazz) {
+         if (clazz.getClassLoader() == null)
+            return null;
+         try {
+            final Class<?> generatedClass = Class.forName(clazz.getName() + GeneratedValidator.CLASS_NAME_SUFFIX, true, clazz.getClassLoader());
+            if (!GeneratedValidator.class.isAssignableFrom(generatedClass))
+               return null;
+            return (GeneratedValidator) generatedClass.getDeclaredConstructor().newInstance();
+         } catch (final ClassNotFoundException ex) {
+            return null;
+         } catch (final Exception | LinkageError ex) {
+            LOG.warn("Cannot instantiate generated validator of {1}", clazz, ex);
+            return null;
+         }
+      }
+   };
+
+   /**
+    * @return the accessor for the given field, never null
+    */
+   public static MemberAccessor of(final Field field) {
+      Assert.argumentNotNull("field", field);
+
+      return ACCESSORS.computeIfAbsent(field, f -> new MemberAccessor(field, null));
+   }
+
+   /**
+    * @return the accessor for the given method, never null
+    */
+   public static MemberAccessor of(final Method method) {
+      Assert.argumentNotNull("method", method);
+
+      return ACCESSORS.computeIfAbsent(method, m -> new MemberAccessor(null, method));
+   }
+
+   private final Field field;
+   private final Method method;
+
+   /**
+    * reads the field value without reflection, provided by the generated validator of the declaring class. null if not
+    * available
+    */
+   private final Function<Object, Object> generatedReader;
+
+   /**
+    * with signature <code>(Object)Object</code> for fields and methods without parameters,
+    * <code>(Object, Object)Object</code> for methods with one parameter. null if reflection needs to be used
+    */
+   private final MethodHandle handle;
+
+   private MemberAccessor(final Field field, final Method method) {
+      this.field = field;
+      this.method = method;
+
+      final GeneratedValidator generated = field == null ? null : GENERATED_VALIDATORS.get(field.getDeclaringClass());
+      generatedReader = generated == null ? null : generated.getFieldReader(field.getName());
+
+      MethodHandle h = null;
+      try {
+         if (generatedReader != null) {
+            // no method handle needed
+         } else if (field != null) {
+            ReflectionUtils.setAccessible(field, true);
+            h = MethodHandles.lookup().unreflectGetter(field);
+            if (ReflectionUtils.isStatic(field)) {
+               h = MethodHandles.dropArguments(h, 0, Object.class);
+            }
+         } else if (method.getParameterTypes().length < 2) {
+            ReflectionUtils.setAccessible(method, true);
+            h = MethodHandles.lookup().unreflect(method);
+            if (ReflectionUtils.isStatic(method)) {
+               h = MethodHandles.dropArguments(h, 0, Object.class);
+            }
+         }
+         if (h != null) {
+            h = h.asType(h.type().generic());
+         }
+      } catch (final Exception ex) {
+         LOG.debug("Cannot create method handle for {1}. Falling back to reflection.", field == null ? method : field, ex);
+         h = null;
+      }
+      handle = h;
+   }
+
+   /**
+    * @return the accessed field or method
+    */
+   public AccessibleObject getMember() {
+      return field == null ? method : field;
+   }
+
+   /**
+    * @return true if the field value is read via the generated validator of the declaring class
+    */
+   public boolean isGeneratedReaderUsed() {
+      return generatedReader != null;
+   }
+
+   /**
+    * Returns the value of the field or the return value of the parameterless method.
+    *
+    * @param target the object to read the value from, may be null for static members
+    */
+   public Object get(final Object target) throws AccessingFieldValueFailedException, InvokingMethodFailedException, ConstraintsViolatedException {
+      if (generatedReader != null) {
+         try {
+            return generatedReader.apply(target);
+         } catch (final RuntimeException ex) {
+            throw translateException(ex, target);
+         }
+      }
+
+      if (handle == null) {
+         if (field != null)
+            return ReflectionUtils.getFieldValue(field, target);
+         return ReflectionUtils.invokeMethod(method, target);
+      }
+
+      try {
+         return handle.invokeExact(target);
+      } catch (final Throwable ex) { // CHECKSTYLE:IGNORE IllegalCatch
+         throw translateException(ex, target);
+      }
+   }
+
+   /**
+    * Invokes the method with the given argument.
+    *
+    * @param target the object to invoke the method on, may be null for static methods
+    */
+   public Object invoke(final Object target, final Object arg) throws InvokingMethodFailedException, ConstraintsViolatedException {
+      if (handle == null)
+         return ReflectionUtils.invokeMethod(method, target, arg);
+
+      try {
+         return handle.invokeExact(target, arg);
+      } catch (final Throwable ex) { // CHECKSTYLE:IGNORE IllegalCatch
+         throw translateException(ex, target);
+      }
+   }
+
+   private RuntimeException translateException(final Throwable ex, final Object target) {
+      if (field != null)
+         return new AccessingFieldValueFailedException(field.getName(), target, ContextCache.getFieldContext(field), ex);
+
+      if (ex instanceof ConstraintsViolatedException)
+         return (ConstraintsViolatedException) ex;
+      // same cause as with reflection
+      return new InvokingMethodFailedException("Executing method " + method.getName() + " failed.", target, ContextCache.getMethodReturnValueContext(method),
+         new InvocationTargetException(ex));
+   }
+}
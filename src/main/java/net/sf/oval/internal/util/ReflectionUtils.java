@@ -390,6 +390,24 @@ public static Class<?> getTypeArgument(final Method method, final int parameterI
       return null;
    }
 
+   /**
+    * @return the type arguments of the field's generic type, elements are null for type arguments that are not classes
+    */
+   public static Class<?>[] getTypeArguments(final Field field) {
+      final Type genericType = field.getGenericType();
+      if (genericType instanceof ParameterizedType) {
+         final Type[] typeArgs = ((ParameterizedType) genericType).getActualTypeArguments();
+         final Class<?>[] result = new Class<?>[typeArgs.length];
+         for (int i = 0; i < typeArgs.length; i++) {
+            if (typeArgs[i] instanceof Class) {
+               result[i] = (Class<?>) typeArgs[i];
+            }
+         }
+         return result;
+      }
+      return new Class<?>[0];
+   }
+
    public static String guessFieldName(final Method getter) {
       String fieldName = getter.getName();
 
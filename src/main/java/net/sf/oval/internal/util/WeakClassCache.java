@@ -0,0 +1,335 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.internal.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe cache for metadata of classes and their members that does not prevent the classes and their class loaders
+ * from being garbage collected.
+ *
+ * The entries are attached via a {@link ClassValue} to the class the key belongs to, e.g. the declaring class of a
+ * field, i.e. they are only referenced by that class and are collected together with it even if the cached values
+ * reference the class.
+ *
+ * Optionally the number of entries can be bounded. Once the bound is exceeded the entries of the classes that were
+ * cached first are evicted. The size and the statistics are approximate under concurrent modification.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class WeakClassCache<K, V> {
+
+   /**
+    * Snapshot of the statistics of a cache.
+    */
+   public static final class Statistics {
+      private final long hits;
+      private final long misses;
+      private final long evictions;
+      private final long unloads;
+      private final int size;
+
+      Statistics(final long hits, final long misses, final long evictions, final long unloads, final int size) {
+         this.hits = hits;
+         this.misses = misses;
+         this.evictions = evictions;
+         this.unloads = unloads;
+         this.size = size;
+      }
+
+      /**
+       * @return the number of entries evicted because the size bound was exceeded
+       */
+      public long getEvictions() {
+         return evictions;
+      }
+
+      public long getHits() {
+         return hits;
+      }
+
+      public long getMisses() {
+         return misses;
+      }
+
+      public int getSize() {
+         return size;
+      }
+
+      /**
+       * @return the number of entries removed because their class was garbage collected
+       */
+      public long getUnloads() {
+         return unloads;
+      }
+
+      @Override
+      public String toString() {
+         return "Statistics[size=" + size + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", unloads=" + unloads + "]";
+      }
+   }
+
+   /**
+    * The entries of one class.
+    */
+   private static final class Entries<K, V> {
+      final ConcurrentMap<K, V> map = new ConcurrentHashMap<>(2);
+      final Registration registration;
+
+      Entries(final Registration registration) {
+         this.registration = registration;
+      }
+   }
+
+   /**
+    * Weakly references a class with cached entries, enqueued once the class is garbage collected.
+    */
+   private static final class Registration extends WeakReference<Class<?>> {
+      final AtomicInteger count = new AtomicInteger();
+      final AtomicBoolean isRegistered = new AtomicBoolean();
+      volatile boolean isRemoved;
+
+      Registration(final Class<?> clazz, final ReferenceQueue<Class<?>> queue) {
+         super(clazz, queue);
+      }
+   }
+
+   private final Function<? super K, Class<?>> classOfKey;
+   private volatile int maxSize;
+
+   private final ReferenceQueue<Class<?>> garbageCollectedClasses = new ReferenceQueue<>();
+   private final Queue<Registration> registrations = new ConcurrentLinkedQueue<>();
+   private final AtomicInteger size = new AtomicInteger();
+
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+   private final LongAdder evictions = new LongAdder();
+   private final LongAdder unloads = new LongAdder();
+
+   private final ClassValue<Entries<K, V>> entriesByClass = new ClassValue<Entries<K, V>>() {
+      @Override
+      protected Entries<K, V> computeValue(final Class<?> clazz) {
+         return new Entries<>(new Registration(clazz, garbageCollectedClasses));
+      }
+   };
+
+   /**
+    * @param classOfKey function returning the class whose lifecycle determines the lifecycle of an entry with the given
+    *           key, e.g. <code>Field::getDeclaringClass</code>
+    */
+   public WeakClassCache(final Function<? super K, Class<?>> classOfKey) {
+      this(classOfKey, 0);
+   }
+
+   /**
+    * @param classOfKey function returning the class whose lifecycle determines the lifecycle of an entry with the given
+    *           key, e.g. <code>Field::getDeclaringClass</code>
+    * @param maxSize the maximum number of entries, <code>0</code> for no limit
+    */
+   public WeakClassCache(final Function<? super K, Class<?>> classOfKey, final int maxSize) {
+      Assert.argumentNotNull("classOfKey", classOfKey);
+      Assert.argumentMinValue("maxSize", maxSize, 0);
+
+      this.classOfKey = classOfKey;
+      this.maxSize = maxSize;
+   }
+
+   private void _evict() {
+      synchronized (registrations) {
+         while (maxSize > 0 && size.get() > maxSize) {
+            final Registration registration = registrations.poll();
+            if (registration == null) {
+               break;
+            }
+            evictions.add(_remove(registration));
+         }
+      }
+   }
+
+   private void _expunge() {
+      for (Reference<?> ref; (ref = garbageCollectedClasses.poll()) != null;) { // CHECKSTYLE:IGNORE .*
+         final Registration registration = (Registration) ref;
+         if (registration.isRegistered.get()) {
+            registrations.remove(registration);
+            unloads.add(_remove(registration));
+         }
+      }
+   }
+
+   private void _onEntriesChanged(final Entries<K, V> entries, final int delta) {
+      if (delta == 0)
+         return;
+
+      final Registration registration = entries.registration;
+      if (registration.isRemoved)
+         return;
+
+      registration.count.addAndGet(delta);
+      size.addAndGet(delta);
+      if (delta > 0) {
+         if (registration.isRegistered.compareAndSet(false, true)) {
+            registrations.add(registration);
+         }
+         _expunge();
+         if (maxSize > 0 && size.get() > maxSize) {
+            _evict();
+         }
+      }
+   }
+
+   /**
+    * Detaches the entries of the given registration.
+    *
+    * @return the number of removed entries
+    */
+   private int _remove(final Registration registration) {
+      if (registration.isRemoved)
+         return 0;
+      registration.isRemoved = true;
+
+      final Class<?> clazz = registration.get();
+      if (clazz != null) {
+         entriesByClass.remove(clazz);
+      }
+      final int count = registration.count.getAndSet(0);
+      size.addAndGet(-count);
+      return count;
+   }
+
+   /**
+    * Removes all entries.
+    */
+   public void clear() {
+      synchronized (registrations) {
+         for (Registration registration; (registration = registrations.poll()) != null;) { // CHECKSTYLE:IGNORE .*
+            _remove(registration);
+         }
+      }
+      _expunge();
+   }
+
+   public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+      final Entries<K, V> entries = entriesByClass.get(classOfKey.apply(key));
+      final int[] delta = {0};
+      final V value = entries.map.compute(key, (k, current) -> {
+         final V newValue = remappingFunction.apply(k, current);
+         delta[0] = (newValue == null ? 0 : 1) - (current == null ? 0 : 1);
+         return newValue;
+      });
+      _onEntriesChanged(entries, delta[0]);
+      return value;
+   }
+
+   public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+      final Entries<K, V> entries = entriesByClass.get(classOfKey.apply(key));
+      V value = entries.map.get(key);
+      if (value != null) {
+         hits.increment();
+         return value;
+      }
+      misses.increment();
+
+      final int[] delta = {0};
+      value = entries.map.computeIfAbsent(key, k -> {
+         final V newValue = mappingFunction.apply(k);
+         delta[0] = newValue == null ? 0 : 1;
+         return newValue;
+      });
+      _onEntriesChanged(entries, delta[0]);
+      return value;
+   }
+
+   /**
+    * Performs the given action for each entry of the classes that are still loaded.
+    */
+   public void forEach(final BiConsumer<? super K, ? super V> action) {
+      for (final Registration registration : registrations) {
+         final Class<?> clazz = registration.get();
+         if (clazz != null && !registration.isRemoved) {
+            entriesByClass.get(clazz).map.forEach(action);
+         }
+      }
+   }
+
+   public V get(final K key) {
+      final V value = entriesByClass.get(classOfKey.apply(key)).map.get(key);
+      if (value == null) {
+         misses.increment();
+      } else {
+         hits.increment();
+      }
+      return value;
+   }
+
+   public int getMaxSize() {
+      return maxSize;
+   }
+
+   public Statistics getStatistics() {
+      _expunge();
+      return new Statistics(hits.sum(), misses.sum(), evictions.sum(), unloads.sum(), size.get());
+   }
+
+   public V put(final K key, final V value) {
+      Assert.argumentNotNull("value", value);
+
+      final Entries<K, V> entries = entriesByClass.get(classOfKey.apply(key));
+      final V previous = entries.map.put(key, value);
+      _onEntriesChanged(entries, previous == null ? 1 : 0);
+      return previous;
+   }
+
+   public V remove(final K key) {
+      final Entries<K, V> entries = entriesByClass.get(classOfKey.apply(key));
+      final V previous = entries.map.remove(key);
+      _onEntriesChanged(entries, previous == null ? 0 : -1);
+      return previous;
+   }
+
+   /**
+    * Removes all entries whose key matches the given filter.
+    */
+   public void removeIf(final Predicate<? super K> filter) {
+      for (final Registration registration : registrations) {
+         final Class<?> clazz = registration.get();
+         if (clazz != null && !registration.isRemoved) {
+            final Entries<K, V> entries = entriesByClass.get(clazz);
+            for (final K key : entries.map.keySet()) {
+               if (filter.test(key) && entries.map.remove(key) != null) {
+                  _onEntriesChanged(entries, -1);
+               }
+            }
+         }
+      }
+   }
+
+   /**
+    * @param maxSize the maximum number of entries, <code>0</code> for no limit
+    */
+   public void setMaxSize(final int maxSize) {
+      Assert.argumentMinValue("maxSize", maxSize, 0);
+
+      this.maxSize = maxSize;
+      _evict();
+   }
+
+   public int size() {
+      _expunge();
+      return size.get();
+   }
+}
@@ -4,6 +4,8 @@
  */
 package net.sf.oval.localization.message;
 
+import java.util.Locale;
+
 /**
  * @author Sebastian Thomschke
  */
@@ -13,4 +15,14 @@ public interface MessageResolver {
     * @return null if not found
     */
    String getMessage(String key);
+
+   /**
+    * Implementations that override this method allow the validator to render constraint violation messages lazily, the
+    * default implementation ignores the locale and resolves the message for the locale of the current thread.
+    *
+    * @return the message for the given locale or null if not found
+    */
+   default String getLocalizedMessage(final String key, final Locale locale) {
+      return getMessage(key);
+   }
 }
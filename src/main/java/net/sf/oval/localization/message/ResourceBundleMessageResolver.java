@@ -112,19 +112,23 @@ protected boolean addMessageBundle(final ResourceBundle bundle, final Locale loc
    }
 
    @Override
-   public String getMessage(final String key) {
-      final Locale currentLocale = Validator.getLocaleProvider().getLocale();
-      final String msg = getMessage(key, currentLocale);
+   public String getLocalizedMessage(final String key, final Locale locale) {
+      final String msg = getMessage(key, locale);
       if (msg != null)
          return msg;
 
       final Locale defaultLocale = Locale.getDefault();
-      if (!currentLocale.equals(defaultLocale))
+      if (!locale.equals(defaultLocale))
          return getMessage(key, defaultLocale);
 
       return null;
    }
 
+   @Override
+   public String getMessage(final String key) {
+      return getLocalizedMessage(key, Validator.getLocaleProvider().getLocale());
+   }
+
    protected String getMessage(final String key, final Locale locale) {
       BundlesAndKeys context = bundlesAndKeys;
       Set<ResourceBundle> bundlesOfLocale = context.bundlesOfLocales.get(locale);
@@ -7,11 +7,16 @@
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import net.sf.oval.exception.InvalidConfigurationException;
 import net.sf.oval.internal.util.Assert;
+import net.sf.oval.internal.util.MemberAccessor;
 import net.sf.oval.internal.util.ReflectionUtils;
 import net.sf.oval.internal.util.StringUtils;
+import net.sf.oval.internal.util.WeakClassCache;
 
 /**
  * Default object graph navigator implementation.
@@ -20,9 +25,32 @@
  *
  * The implementation currently is limited to address fields and properties. Separate items of arrays, maps or keys cannot be addressed.
  *
+ * The fields/getters of the path segments are resolved once per class and cached, including segments that cannot be
+ * resolved. The cache does not prevent the classes from being garbage collected.
+ *
  * @author Sebastian Thomschke
  */
 public class ObjectGraphNavigatorDefaultImpl implements ObjectGraphNavigator {
+
+   /**
+    * the accessors of the path segments resolved so far by the class of the object the segment is resolved against, an
+    * empty optional if the segment denotes neither a field nor a getter
+    */
+   private final WeakClassCache<Class<?>, ConcurrentMap<String, Optional<MemberAccessor>>> accessorsByClass = new WeakClassCache<>(c -> c);
+
+   private final ConcurrentMap<String, String[]> segmentsByPath = new ConcurrentHashMap<>();
+
+   private MemberAccessor _getAccessor(final Class<?> clazz, final String segment) {
+      final ConcurrentMap<String, Optional<MemberAccessor>> accessors = accessorsByClass.computeIfAbsent(clazz, c -> new ConcurrentHashMap<>(4));
+      return accessors.computeIfAbsent(segment, s -> {
+         final Field field = ReflectionUtils.getFieldRecursive(clazz, s);
+         if (field != null)
+            return Optional.of(MemberAccessor.of(field));
+         final Method getter = ReflectionUtils.getGetterRecursive(clazz, s);
+         return getter == null ? Optional.empty() : Optional.of(MemberAccessor.of(getter));
+      }).orElse(null);
+   }
+
    @Override
    public ObjectGraphNavigationResult navigateTo(final Object root, final String path) throws InvalidConfigurationException {
       Assert.argumentNotNull("root", root);
@@ -31,22 +59,15 @@ public ObjectGraphNavigationResult navigateTo(final Object root, final String pa
       Object parent = null;
       Object target = root;
       AccessibleObject targetAccessor = null;
-      for (final String chunk : StringUtils.split(path, '.', -1)) {
+      for (final String segment : segmentsByPath.computeIfAbsent(path, p -> StringUtils.split(p, '.', -1).toArray(new String[0]))) {
          parent = target;
          if (parent == null)
             return null;
-         final Field field = ReflectionUtils.getFieldRecursive(parent.getClass(), chunk);
-         if (field == null) {
-            final Method getter = ReflectionUtils.getGetterRecursive(parent.getClass(), chunk);
-            if (getter == null)
-               throw new InvalidConfigurationException("Invalid object navigation path from root object class [" + root.getClass().getName() + "] path: "
-                  + path);
-            targetAccessor = getter;
-            target = ReflectionUtils.invokeMethod(getter, parent);
-         } else {
-            targetAccessor = field;
-            target = ReflectionUtils.getFieldValue(field, parent);
-         }
+         final MemberAccessor accessor = _getAccessor(parent.getClass(), segment);
+         if (accessor == null)
+            throw new InvalidConfigurationException("Invalid object navigation path from root object class [" + root.getClass().getName() + "] path: " + path);
+         targetAccessor = accessor.getMember();
+         target = accessor.get(parent);
       }
       return new ObjectGraphNavigationResult(root, path, parent, targetAccessor, target);
    }
@@ -6,7 +6,10 @@
 
 import java.lang.reflect.AccessibleObject;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.apache.commons.jxpath.CompiledExpression;
 import org.apache.commons.jxpath.JXPathBeanInfo;
 import org.apache.commons.jxpath.JXPathContext;
 import org.apache.commons.jxpath.JXPathIntrospector;
@@ -115,6 +118,8 @@ public int getOrder() {
       JXPathContextReferenceImpl.addNodePointerFactory(new BeanPointerFactoryEx());
    }
 
+   private final ConcurrentMap<String, CompiledExpression> compiledExpressions = new ConcurrentHashMap<>();
+
    @Override
    public ObjectGraphNavigationResult navigateTo(final Object root, final String xpath) throws InvalidConfigurationException {
       Assert.argumentNotNull("root", root);
@@ -124,7 +129,7 @@ public ObjectGraphNavigationResult navigateTo(final Object root, final String xp
          final JXPathContext ctx = JXPathContext.newContext(root);
          ctx.setLenient(true); // do not throw an exception if object graph is incomplete, e.g. contains null-values
 
-         Pointer pointer = ctx.getPointer(xpath);
+         Pointer pointer = compiledExpressions.computeIfAbsent(xpath, JXPathContext::compile).getPointer(ctx, xpath);
 
          // no match found or invalid xpath
          if (pointer instanceof NullPropertyPointer || pointer instanceof NullPointer)
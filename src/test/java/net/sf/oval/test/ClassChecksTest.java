@@ -0,0 +1,52 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.Field;
+
+import org.junit.Test;
+
+import net.sf.oval.constraint.NotNullCheck;
+import net.sf.oval.guard.ParameterNameResolverEnumerationImpl;
+import net.sf.oval.internal.ClassChecks;
+import net.sf.oval.internal.InvariantChecks;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class ClassChecksTest {
+
+   protected static class Entity {
+      protected String name;
+      protected String city;
+   }
+
+   @Test
+   public void testBatchUpdate() throws Exception {
+      final ClassChecks cc = new ClassChecks(Entity.class, new ParameterNameResolverEnumerationImpl());
+      final Field name = Entity.class.getDeclaredField("name");
+      final Field city = Entity.class.getDeclaredField("city");
+      final InvariantChecks initial = cc.getInvariantChecks();
+
+      cc.beginBatchUpdate();
+      cc.beginBatchUpdate();
+      cc.addFieldChecks(name, new NotNullCheck());
+      cc.addFieldChecks(city, new NotNullCheck());
+      cc.endBatchUpdate();
+
+      // the invariant checks are only published once the outermost batch update ends
+      assertThat(cc.getInvariantChecks()).isSameAs(initial);
+      cc.endBatchUpdate();
+      assertThat(cc.getInvariantChecks()).isNotSameAs(initial);
+      assertThat(cc.getInvariantChecks().getFieldChecks(name)).hasSize(1);
+      assertThat(cc.getInvariantChecks().getFieldChecks(city)).hasSize(1);
+
+      // without batch update each modification is published immediately
+      cc.removeFieldChecks(name, cc.getInvariantChecks().getFieldChecks(name));
+      assertThat(cc.getInvariantChecks().getFieldChecks(name)).isEmpty();
+   }
+}
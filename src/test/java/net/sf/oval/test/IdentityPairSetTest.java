@@ -0,0 +1,82 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import net.sf.oval.internal.util.IdentityPairSet;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class IdentityPairSetTest {
+
+   @Test
+   public void testIdentity() {
+      final IdentityPairSet set = new IdentityPairSet(1);
+      final String first = new String("a");
+      final String second = new String("b");
+
+      assertThat(set.add(first, second)).isTrue();
+      assertThat(set.add(first, second)).isFalse();
+      // equal but not identical objects are distinct
+      assertThat(set.contains(new String("a"), second)).isFalse();
+      assertThat(set.add(new String("a"), second)).isTrue();
+      assertThat(set.add(null, second)).isTrue();
+      assertThat(set.size()).isEqualTo(3);
+
+      assertThat(set.remove(first, second)).isTrue();
+      assertThat(set.remove(first, second)).isFalse();
+      assertThat(set.contains(null, second)).isTrue();
+      assertThat(set.size()).isEqualTo(2);
+   }
+
+   @Test
+   public void testRandomOperations() {
+      final IdentityPairSet set = new IdentityPairSet();
+      final Object[] firsts = new Object[64];
+      final Object[] seconds = new Object[8];
+      for (int i = 0; i < firsts.length; i++) {
+         firsts[i] = new Object();
+      }
+      for (int i = 0; i < seconds.length; i++) {
+         seconds[i] = new Object();
+      }
+
+      final List<Object[]> expected = new ArrayList<>();
+      final Random random = new Random(42);
+      for (int i = 0; i < 20_000; i++) {
+         final Object first = firsts[random.nextInt(firsts.length)];
+         final Object second = seconds[random.nextInt(seconds.length)];
+         int index = -1;
+         for (int j = 0; j < expected.size(); j++) {
+            if (expected.get(j)[0] == first && expected.get(j)[1] == second) {
+               index = j;
+            }
+         }
+         if (random.nextBoolean()) {
+            assertThat(set.add(first, second)).isEqualTo(index == -1);
+            if (index == -1) {
+               expected.add(new Object[] {first, second});
+            }
+         } else {
+            assertThat(set.remove(first, second)).isEqualTo(index != -1);
+            if (index != -1) {
+               expected.remove(index);
+            }
+         }
+         assertThat(set.size()).isEqualTo(expected.size());
+      }
+      for (final Object[] pair : expected) {
+         assertThat(set.contains(pair[0], pair[1])).isTrue();
+      }
+   }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Test;
+
+import net.sf.oval.exception.AccessingFieldValueFailedException;
+import net.sf.oval.exception.InvokingMethodFailedException;
+import net.sf.oval.internal.util.MemberAccessor;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class MemberAccessorTest {
+
+   private static final class Entity {
+      private static String staticName = "static";
+
+      private static int twice(final int value) {
+         return value * 2;
+      }
+
+      private final String name;
+
+      private final int count = 5;
+
+      private Entity(final String name) {
+         this.name = name;
+      }
+
+      private String getName() {
+         return name;
+      }
+
+      private boolean isLongerThan(final int length) {
+         return name.length() > length;
+      }
+
+      private String getFailing() {
+         throw new IllegalStateException();
+      }
+   }
+
+   @Test
+   public void testFieldAccess() throws Exception {
+      final MemberAccessor accessor = MemberAccessor.of(Entity.class.getDeclaredField("name"));
+      assertThat(MemberAccessor.of(Entity.class.getDeclaredField("name"))).isSameAs(accessor);
+      assertThat(accessor.get(new Entity("foo"))).isEqualTo("foo");
+
+      assertThat(MemberAccessor.of(Entity.class.getDeclaredField("count")).get(new Entity("foo"))).isEqualTo(5);
+      assertThat(MemberAccessor.of(Entity.class.getDeclaredField("staticName")).get(null)).isEqualTo("static");
+
+      try {
+         accessor.get(null);
+         failBecauseExceptionWasNotThrown(AccessingFieldValueFailedException.class);
+      } catch (final AccessingFieldValueFailedException ex) {
+         // expected
+      }
+   }
+
+   @Test
+   public void testMethodAccess() throws Exception {
+      assertThat(MemberAccessor.of(Entity.class.getDeclaredMethod("getName")).get(new Entity("foo"))).isEqualTo("foo");
+      assertThat(MemberAccessor.of(Entity.class.getDeclaredMethod("isLongerThan", int.class)).invoke(new Entity("foo"), 2)).isEqualTo(true);
+      assertThat(MemberAccessor.of(Entity.class.getDeclaredMethod("twice", int.class)).invoke(null, 2)).isEqualTo(4);
+
+      try {
+         MemberAccessor.of(Entity.class.getDeclaredMethod("getFailing")).get(new Entity("foo"));
+         failBecauseExceptionWasNotThrown(InvokingMethodFailedException.class);
+      } catch (final InvokingMethodFailedException ex) {
+         // same as with reflection
+         assertThat(ex.getMessage()).contains("Executing method getFailing failed.");
+         assertThat(ex.getCause()).isInstanceOf(InvocationTargetException.class);
+         assertThat(ex.getCause().getCause()).isInstanceOf(IllegalStateException.class);
+      }
+   }
+}
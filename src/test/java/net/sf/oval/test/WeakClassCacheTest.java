@@ -0,0 +1,80 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+
+import net.sf.oval.internal.util.WeakClassCache;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class WeakClassCacheTest {
+
+   public static class Entity {
+      public String name;
+   }
+
+   private static WeakReference<ClassLoader> _cacheClassOfIsolatedLoader(final WeakClassCache<Class<?>, Object> cache) throws Exception {
+      final URL location = Entity.class.getProtectionDomain().getCodeSource().getLocation();
+      try (URLClassLoader cl = new URLClassLoader(new URL[] {location}, null)) {
+         final Class<?> entityClass = cl.loadClass(Entity.class.getName());
+         assertThat(entityClass).isNotSameAs(Entity.class);
+
+         // the cached value references the class and thereby its class loader
+         cache.computeIfAbsent(entityClass, c -> c.getDeclaredFields()[0]);
+         assertThat(cache.get(entityClass)).isNotNull();
+         return new WeakReference<>(cl);
+      }
+   }
+
+   @Test
+   public void testMaxSize() {
+      final WeakClassCache<Class<?>, String> cache = new WeakClassCache<>(c -> c, 2);
+      cache.computeIfAbsent(String.class, Class::getName);
+      cache.computeIfAbsent(Integer.class, Class::getName);
+      assertThat(cache.computeIfAbsent(String.class, Class::getName)).isEqualTo("java.lang.String");
+      cache.computeIfAbsent(Long.class, Class::getName);
+
+      assertThat(cache.size()).isEqualTo(2);
+      assertThat(cache.get(String.class)).isNull();
+      assertThat(cache.get(Long.class)).isEqualTo("java.lang.Long");
+
+      final WeakClassCache.Statistics statistics = cache.getStatistics();
+      assertThat(statistics.getEvictions()).isEqualTo(1);
+      assertThat(statistics.getHits()).isEqualTo(2);
+      assertThat(statistics.getMisses()).isEqualTo(4);
+
+      cache.clear();
+      assertThat(cache.size()).isZero();
+      assertThat(cache.get(Long.class)).isNull();
+   }
+
+   @Test
+   public void testUnloadedClassesAreRemoved() throws Exception {
+      final WeakClassCache<Class<?>, Object> cache = new WeakClassCache<>(c -> c);
+      final WeakReference<ClassLoader> loader = _cacheClassOfIsolatedLoader(cache);
+      assertThat(cache.size()).isEqualTo(1);
+
+      for (int i = 0; i < 50 && loader.get() != null; i++) {
+         System.gc();
+         Thread.sleep(20);
+      }
+      assertThat(loader.get()).isNull();
+
+      for (int i = 0; i < 50 && cache.size() > 0; i++) {
+         System.gc();
+         Thread.sleep(20);
+      }
+      assertThat(cache.size()).isZero();
+      assertThat(cache.getStatistics().getUnloads()).isEqualTo(1);
+   }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.guard;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import net.sf.oval.exception.ConstraintsViolatedException;
+import net.sf.oval.expression.AbstractExpressionLanguage;
+import net.sf.oval.expression.CompiledExpression;
+import net.sf.oval.guard.Guard;
+import net.sf.oval.guard.Guarded;
+import net.sf.oval.guard.Post;
+import net.sf.oval.guard.Pre;
+
+/**
+ * Invokes {@link Guard#guardMethod} directly, i.e. does not depend on the guard aspect.
+ *
+ * @author Sebastian Thomschke
+ */
+public class CompiledPrePostExpressionTest {
+
+   /**
+    * Evaluates an expression by returning the value of the variable with the same name.
+    */
+   protected static class LookupExpressionLanguage extends AbstractExpressionLanguage {
+      private final List<List<String>> compilations = new ArrayList<>();
+
+      @Override
+      public Object evaluate(final String expression, final Map<String, ?> values) {
+         return values.get(expression);
+      }
+
+      @Override
+      public CompiledExpression compile(final String expression, final String... variableNames) {
+         compilations.add(Arrays.asList(variableNames));
+         final int index = Arrays.asList(variableNames).lastIndexOf(expression);
+         return new CompiledExpression(expression) {
+            @Override
+            public Object evaluate(final Object... values) {
+               return values[index];
+            }
+         };
+      }
+   }
+
+   /**
+    * Does not override {@link #compile(String, String...)}, i.e. uses the map based fallback.
+    */
+   protected static class MapExpressionLanguage extends AbstractExpressionLanguage {
+      @Override
+      public Object evaluate(final String expression, final Map<String, ?> values) {
+         return values.get(expression);
+      }
+   }
+
+   @Guarded
+   protected static class Service {
+      @Pre(expr = "arg0", lang = "lookup")
+      public void pre(final Boolean value) {
+      }
+
+      @Post(expr = "_old", old = "arg0", lang = "lookup")
+      public Boolean post(final Boolean value) {
+         return !value;
+      }
+
+      @Pre(expr = "arg0", lang = "map")
+      @Post(expr = "_returns", lang = "map")
+      public Boolean preAndPostWithFallback(final Boolean value) {
+         return value;
+      }
+   }
+
+   protected static final class TestGuard extends Guard {
+      void invoke(final Service service, final Method method, final Object... args) throws Throwable {
+         guardMethod(service, method, args, () -> method.invoke(service, args));
+      }
+   }
+
+   @Test
+   public void testCompiledExpressions() throws Throwable {
+      final LookupExpressionLanguage el = new LookupExpressionLanguage();
+      final TestGuard guard = new TestGuard();
+      guard.getExpressionLanguageRegistry().registerExpressionLanguage("lookup", el);
+      final Service service = new Service();
+      final Method pre = Service.class.getMethod("pre", Boolean.class);
+      final Method post = Service.class.getMethod("post", Boolean.class);
+
+      guard.invoke(service, pre, true);
+      guard.invoke(service, pre, true);
+      try {
+         guard.invoke(service, pre, false);
+         failBecauseExceptionWasNotThrown(ConstraintsViolatedException.class);
+      } catch (final ConstraintsViolatedException ex) {
+         assertThat(ex.getConstraintViolations()).hasSize(1);
+      }
+      // the expression is compiled only once
+      assertThat(el.compilations).containsExactly(Arrays.asList("_this", "_args", "arg0"));
+
+      guard.invoke(service, post, true);
+      try {
+         guard.invoke(service, post, false);
+         failBecauseExceptionWasNotThrown(ConstraintsViolatedException.class);
+      } catch (final ConstraintsViolatedException ex) {
+         assertThat(ex.getConstraintViolations()).hasSize(1);
+      }
+      assertThat(el.compilations).hasSize(3);
+      assertThat(el.compilations.get(1)).isEqualTo(Arrays.asList("_this", "_args", "arg0"));
+      assertThat(el.compilations.get(2)).isEqualTo(Arrays.asList("_this", "_args", "_returns", "_old", "arg0"));
+   }
+
+   @Test
+   public void testFallbackToMap() throws Throwable {
+      final TestGuard guard = new TestGuard();
+      guard.getExpressionLanguageRegistry().registerExpressionLanguage("map", new MapExpressionLanguage());
+      final Service service = new Service();
+      final Method method = Service.class.getMethod("preAndPostWithFallback", Boolean.class);
+
+      guard.invoke(service, method, true);
+      try {
+         guard.invoke(service, method, false);
+         failBecauseExceptionWasNotThrown(ConstraintsViolatedException.class);
+      } catch (final ConstraintsViolatedException ex) {
+         assertThat(ex.getConstraintViolations()).hasSize(1);
+      }
+   }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.guard;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import net.sf.oval.ConstraintViolation;
+import net.sf.oval.constraint.NotNullCheck;
+import net.sf.oval.context.ClassContext;
+import net.sf.oval.exception.ConstraintsViolatedException;
+import net.sf.oval.guard.ConstraintsViolatedListener;
+import net.sf.oval.guard.Guard;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class ListenerDispatchTest {
+
+   protected interface Auditable {
+   }
+
+   protected static class Entity implements Auditable {
+   }
+
+   protected static class SubEntity extends Entity {
+   }
+
+   protected static final class TestGuard extends Guard {
+      void notify(final Object guardedObject) {
+         final ConstraintViolation violation = new ConstraintViolation(new NotNullCheck(), "violated", guardedObject, null, //
+            Collections.singletonList(new ClassContext(guardedObject.getClass())));
+         notifyListeners(guardedObject, new ConstraintsViolatedException(violation));
+      }
+   }
+
+   protected static final class RecordingListener implements ConstraintsViolatedListener {
+      private final String name;
+      private final List<String> notifications;
+
+      RecordingListener(final String name, final List<String> notifications) {
+         this.name = name;
+         this.notifications = notifications;
+      }
+
+      @Override
+      public void onConstraintsViolatedException(final ConstraintsViolatedException ex) {
+         notifications.add(name);
+      }
+   }
+
+   @Test
+   public void testListenerDispatch() {
+      final TestGuard guard = new TestGuard();
+      final List<String> notifications = new ArrayList<>();
+      final RecordingListener global = new RecordingListener("global", notifications);
+      final RecordingListener iface = new RecordingListener("iface", notifications);
+      final RecordingListener superclass = new RecordingListener("superclass", notifications);
+      final RecordingListener object = new RecordingListener("object", notifications);
+      final SubEntity entity = new SubEntity();
+
+      assertThat(guard.addListener(global)).isTrue();
+      assertThat(guard.addListener(global)).isFalse();
+      guard.notify(entity);
+      assertThat(notifications).containsExactly("global");
+
+      // interfaces of super classes and super classes are covered
+      assertThat(guard.addListener(iface, Auditable.class)).isTrue();
+      assertThat(guard.addListener(superclass, Entity.class)).isTrue();
+      assertThat(guard.addListener(object, (Object) entity)).isTrue();
+      assertThat(guard.hasListener(iface, Auditable.class)).isTrue();
+      notifications.clear();
+      guard.notify(entity);
+      assertThat(notifications).containsExactly("object", "superclass", "iface", "global");
+
+      // each listener is only notified once
+      guard.addListener(global, SubEntity.class);
+      notifications.clear();
+      guard.notify(entity);
+      assertThat(notifications).containsExactly("object", "global", "superclass", "iface");
+
+      // the resolved listeners are invalidated on removal
+      assertThat(guard.removeListener(global, SubEntity.class)).isTrue();
+      assertThat(guard.removeListener(iface, Auditable.class)).isTrue();
+      assertThat(guard.removeListener(iface, Auditable.class)).isFalse();
+      assertThat(guard.removeListener(object, (Object) entity)).isTrue();
+      notifications.clear();
+      guard.notify(entity);
+      guard.notify(new Entity());
+      assertThat(notifications).containsExactly("superclass", "global", "superclass", "global");
+   }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.guard;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import net.sf.oval.constraint.NotNull;
+import net.sf.oval.constraint.NotNullCheck;
+import net.sf.oval.exception.ConstraintsViolatedException;
+import net.sf.oval.guard.Guard;
+import net.sf.oval.guard.Guarded;
+import net.sf.oval.internal.MethodGuardPlan;
+
+/**
+ * Invokes {@link Guard#guardMethod} directly, i.e. does not depend on the guard aspect.
+ *
+ * @author Sebastian Thomschke
+ */
+public class MethodGuardPlanTest {
+
+   @Guarded
+   protected static class Service {
+      public void unconstrained(final String value) {
+      }
+
+      public void constrained(@NotNull final String value) {
+      }
+   }
+
+   protected static final class TestGuard extends Guard {
+      private final AtomicInteger invocations = new AtomicInteger();
+
+      void checkInvariantsPre(final Method method) {
+         getClassChecks(method.getDeclaringClass()).methodsWithCheckInvariantsPre.add(method);
+      }
+
+      MethodGuardPlan getPlan(final Method method) {
+         return getClassChecks(method.getDeclaringClass()).getMethodGuardPlan(method);
+      }
+
+      void invoke(final Service service, final Method method, final Object... args) throws Throwable {
+         guardMethod(service, method, args, () -> {
+            invocations.incrementAndGet();
+            return null;
+         });
+      }
+   }
+
+   protected static final class OverridingGuard extends Guard {
+      private final AtomicInteger preValidations = new AtomicInteger();
+
+      void invoke(final Service service, final Method method, final Object... args) throws Throwable {
+         guardMethod(service, method, args, () -> null);
+      }
+
+      @Override
+      protected void validateMethodPre(final Object validatedObject, final Method method, final Object[] args, final InternalValidationCycle cycle) {
+         preValidations.incrementAndGet();
+         super.validateMethodPre(validatedObject, method, args, cycle);
+      }
+   }
+
+   @Test
+   public void testCheckInvariantsAnnotationsAreReadLive() throws Throwable {
+      final TestGuard guard = new TestGuard();
+      final Method unconstrained = Service.class.getMethod("unconstrained", String.class);
+
+      final MethodGuardPlan plan = guard.getPlan(unconstrained);
+      assertThat(plan.isPrePhaseRequired(false, true)).isFalse();
+      guard.checkInvariantsPre(unconstrained);
+      assertThat(plan.isCheckInvariantsPre()).isTrue();
+      assertThat(plan.isPrePhaseRequired(false, true)).isTrue();
+   }
+
+   @Test
+   public void testOverriddenValidationMethods() throws Throwable {
+      final OverridingGuard guard = new OverridingGuard();
+      guard.invoke(new Service(), Service.class.getMethod("unconstrained", String.class), "value");
+      assertThat(guard.preValidations.get()).isEqualTo(1);
+   }
+
+   @Test
+   public void testMethodGuardPlan() throws Throwable {
+      final TestGuard guard = new TestGuard();
+      final Service service = new Service();
+      final Method unconstrained = Service.class.getMethod("unconstrained", String.class);
+      final Method constrained = Service.class.getMethod("constrained", String.class);
+
+      final MethodGuardPlan plan = guard.getPlan(unconstrained);
+      assertThat(plan.isPrePhaseRequired(false, true)).isFalse();
+      assertThat(plan.isPostPhaseRequired(false, true)).isFalse();
+      assertThat(guard.getPlan(unconstrained)).isSameAs(plan);
+      assertThat(guard.getPlan(constrained).hasParameterChecks).isTrue();
+
+      guard.invoke(service, unconstrained, (Object) null);
+      assertThat(guard.invocations.get()).isEqualTo(1);
+
+      try {
+         guard.invoke(service, constrained, (Object) null);
+         failBecauseExceptionWasNotThrown(ConstraintsViolatedException.class);
+      } catch (final ConstraintsViolatedException ex) {
+         assertThat(ex.getConstraintViolations()).hasSize(1);
+      }
+      assertThat(guard.invocations.get()).isEqualTo(1);
+
+      // the plan is rebuilt once checks are added
+      guard.addChecks(unconstrained, 0, new NotNullCheck());
+      assertThat(guard.getPlan(unconstrained)).isNotSameAs(plan);
+      try {
+         guard.invoke(service, unconstrained, (Object) null);
+         failBecauseExceptionWasNotThrown(ConstraintsViolatedException.class);
+      } catch (final ConstraintsViolatedException ex) {
+         assertThat(guard.invocations.get()).isEqualTo(1);
+      }
+
+      guard.setPreConditionsEnabled(false);
+      guard.invoke(service, unconstrained, (Object) null);
+      assertThat(guard.invocations.get()).isEqualTo(2);
+   }
+}
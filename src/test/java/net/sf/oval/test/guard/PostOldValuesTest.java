@@ -0,0 +1,176 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.guard;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import net.sf.oval.constraint.NotNull;
+import net.sf.oval.exception.ConstraintsViolatedException;
+import net.sf.oval.exception.InvalidConfigurationException;
+import net.sf.oval.exception.ValidationFailedException;
+import net.sf.oval.expression.AbstractExpressionLanguage;
+import net.sf.oval.guard.Guard;
+import net.sf.oval.guard.Guarded;
+import net.sf.oval.guard.Post;
+import net.sf.oval.internal.util.ArrayUtils;
+
+/**
+ * Invokes {@link Guard#guardMethod} directly, i.e. does not depend on the guard aspect.
+ *
+ * @author Sebastian Thomschke
+ */
+public class PostOldValuesTest {
+
+   /**
+    * Records the evaluated old expressions and the old values passed to the post condition expressions.
+    */
+   protected static class RecordingExpressionLanguage extends AbstractExpressionLanguage {
+      private final List<Object> evaluatedOlds = new ArrayList<>();
+      private final List<Object> passedOlds = new ArrayList<>();
+
+      @Override
+      public Object evaluate(final String expression, final Map<String, ?> values) {
+         if ("old".equals(expression)) {
+            evaluatedOlds.add(values.get("_this"));
+            return "OLD";
+         }
+         passedOlds.add(values.get("_old"));
+         return true;
+      }
+   }
+
+   @Guarded
+   protected static class Account {
+      private static int accounts;
+
+      @Post(expr = "post", oldFields = "accounts", lang = "recording")
+      public static void open() {
+         accounts++;
+      }
+
+      @Post(expr = "post", oldFields = "balance", lang = "recording")
+      public static void reset() {
+      }
+
+      private int balance;
+
+      @Post(expr = "post", old = "old", lang = "recording")
+      public void deposit(@NotNull final Integer amount) {
+         balance += amount;
+      }
+
+      @Post(expr = "post", lang = "recording")
+      public void close() {
+         balance = 0;
+      }
+
+      @Post(expr = "post", oldFields = "balance", lang = "recording")
+      public void withdraw(final int amount) {
+         balance -= amount;
+      }
+   }
+
+   protected static final class TestGuard extends Guard {
+      void invoke(final Account account, final Method method, final Object... args) throws Throwable {
+         guardMethod(account, method, args, () -> method.invoke(account, args));
+      }
+
+      void invokeStatic(final Method method) throws Throwable {
+         guardMethod(method.getDeclaringClass(), method, ArrayUtils.EMPTY_OBJECT_ARRAY, () -> method.invoke(null));
+      }
+   }
+
+   @Test
+   public void testOldFields() throws Throwable {
+      final RecordingExpressionLanguage el = new RecordingExpressionLanguage();
+      final TestGuard guard = new TestGuard();
+      guard.getExpressionLanguageRegistry().registerExpressionLanguage("recording", el);
+      final Account account = new Account();
+      account.balance = 10;
+
+      guard.invoke(account, Account.class.getMethod("withdraw", int.class), 3);
+      assertThat(account.balance).isEqualTo(7);
+      assertThat(el.evaluatedOlds).isEmpty();
+      assertThat(el.passedOlds).hasSize(1);
+      assertThat(el.passedOlds.get(0)).isEqualTo(Collections.singletonMap("balance", 10));
+   }
+
+   @Test
+   public void testOldFieldsOfStaticMethods() throws Throwable {
+      final RecordingExpressionLanguage el = new RecordingExpressionLanguage();
+      final TestGuard guard = new TestGuard();
+      guard.getExpressionLanguageRegistry().registerExpressionLanguage("recording", el);
+      Account.accounts = 5;
+
+      guard.invokeStatic(Account.class.getMethod("open"));
+      assertThat(Account.accounts).isEqualTo(6);
+      assertThat(el.passedOlds).hasSize(1);
+      assertThat(el.passedOlds.get(0)).isEqualTo(Collections.singletonMap("accounts", 5));
+
+      // instance fields cannot be read for static methods
+      try {
+         guard.invokeStatic(Account.class.getMethod("reset"));
+         failBecauseExceptionWasNotThrown(ValidationFailedException.class);
+      } catch (final ValidationFailedException ex) {
+         assertThat(ex.getCause()).isInstanceOf(InvalidConfigurationException.class);
+         assertThat(ex.getCause().getMessage()).contains("balance");
+      }
+      assertThat(el.passedOlds).hasSize(1);
+   }
+
+   @Test
+   public void testOldAddedAfterFirstInvocation() throws Throwable {
+      final RecordingExpressionLanguage el = new RecordingExpressionLanguage();
+      final TestGuard guard = new TestGuard();
+      guard.getExpressionLanguageRegistry().registerExpressionLanguage("recording", el);
+      final Account account = new Account();
+      final Method close = Account.class.getMethod("close");
+
+      guard.invoke(account, close);
+      assertThat(el.passedOlds).containsExactly((Object) null);
+
+      // the old expression is set after the method guard plan was built
+      guard.getChecksPost(close)[0].setOld("old");
+      guard.invoke(account, close);
+      assertThat(el.evaluatedOlds).containsExactly(account);
+      assertThat(el.passedOlds).containsExactly(null, "OLD");
+   }
+
+   @Test
+   public void testOldValuesAreOnlyCapturedIfNeeded() throws Throwable {
+      final RecordingExpressionLanguage el = new RecordingExpressionLanguage();
+      final TestGuard guard = new TestGuard();
+      guard.getExpressionLanguageRegistry().registerExpressionLanguage("recording", el);
+      final Account account = new Account();
+      final Method deposit = Account.class.getMethod("deposit", Integer.class);
+
+      guard.invoke(account, deposit, 1);
+      assertThat(el.evaluatedOlds).containsExactly(account);
+      assertThat(el.passedOlds).containsExactly("OLD");
+
+      // pre condition violated, method is not invoked
+      try {
+         guard.invoke(account, deposit, (Object) null);
+         failBecauseExceptionWasNotThrown(ConstraintsViolatedException.class);
+      } catch (final ConstraintsViolatedException ex) {
+         assertThat(el.evaluatedOlds).hasSize(1);
+      }
+
+      // post conditions disabled
+      guard.setPostConditionsEnabled(false);
+      guard.invoke(account, deposit, 1);
+      assertThat(account.balance).isEqualTo(2);
+      assertThat(el.evaluatedOlds).hasSize(1);
+      assertThat(el.passedOlds).hasSize(1);
+   }
+}
@@ -34,6 +34,12 @@ public void setName(final String name) {
       }
    }
 
+   protected static class TestEntitySubclass extends TestEntity {
+      protected TestEntitySubclass(final String name) {
+         super(name);
+      }
+   }
+
    /**
     * programmatically add a NotNull constraint to the name field
     */
@@ -55,6 +61,31 @@ public void testAddConstraintToField() throws Exception {
       assertThat(violations.get(0).getMessage()).isEqualTo("NOT_NULL");
    }
 
+   /**
+    * programmatically add and remove a NotNull constraint to/from the name field of the super class
+    * after instances of the subclass have already been validated
+    */
+   @Test
+   public void testAddConstraintToSuperClassFieldAfterValidation() throws Exception {
+      final Validator validator = new Validator();
+
+      final TestEntitySubclass entity = new TestEntitySubclass(null);
+      assertThat(validator.validate(entity)).isEmpty();
+
+      final Field field = TestEntity.class.getDeclaredField("name");
+      final NotNullCheck notNullCheck = new NotNullCheck();
+      notNullCheck.setMessage("NOT_NULL");
+
+      validator.addChecks(field, notNullCheck);
+
+      final List<ConstraintViolation> violations = validator.validate(entity);
+      assertThat(violations).hasSize(1);
+      assertThat(violations.get(0).getMessage()).isEqualTo("NOT_NULL");
+
+      validator.removeChecks(field, notNullCheck);
+      assertThat(validator.validate(entity)).isEmpty();
+   }
+
    /**
     * try to programmatically add a NotNull constraint to the void setter
     * this should fail since the method is not a getter
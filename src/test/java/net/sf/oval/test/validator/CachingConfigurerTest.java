@@ -0,0 +1,142 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.validator;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import net.sf.oval.Validator;
+import net.sf.oval.configuration.CachingConfigurer;
+import net.sf.oval.configuration.Configurer;
+import net.sf.oval.configuration.annotation.AnnotationsConfigurer;
+import net.sf.oval.configuration.pojo.elements.ClassConfiguration;
+import net.sf.oval.configuration.pojo.elements.ConstraintSetConfiguration;
+import net.sf.oval.configuration.pojo.elements.FieldConfiguration;
+import net.sf.oval.constraint.InstanceOfCheck;
+import net.sf.oval.constraint.Length;
+import net.sf.oval.constraint.NotNull;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class CachingConfigurerTest {
+
+   protected static class CountingConfigurer implements Configurer {
+      protected final AnnotationsConfigurer delegate = new AnnotationsConfigurer();
+      protected final AtomicInteger loadedClasses = new AtomicInteger();
+
+      @Override
+      public ClassConfiguration getClassConfiguration(final Class<?> clazz) {
+         loadedClasses.incrementAndGet();
+         return delegate.getClassConfiguration(clazz);
+      }
+
+      @Override
+      public ConstraintSetConfiguration getConstraintSetConfiguration(final String constraintSetId) {
+         return delegate.getConstraintSetConfiguration(constraintSetId);
+      }
+   }
+
+   protected static class Entity {
+      @NotNull
+      @Length(max = 3)
+      protected String name;
+
+      protected Entity(final String name) {
+         this.name = name;
+      }
+   }
+
+   @Test
+   public void testCachingConfigurer() throws Exception {
+      final File cacheFile = File.createTempFile("CachingConfigurerTest", ".bin");
+      cacheFile.delete();
+      cacheFile.deleteOnExit();
+
+      final CountingConfigurer configurer1 = new CountingConfigurer();
+      final CachingConfigurer cache1 = new CachingConfigurer(configurer1, cacheFile);
+      assertThat(new Validator(cache1).validate(new Entity("abcd"))).hasSize(1);
+      assertThat(configurer1.loadedClasses.get()).isEqualTo(1);
+      assertThat(cache1.isModified()).isTrue();
+      cache1.save();
+      assertThat(cache1.isModified()).isFalse();
+      assertThat(cacheFile.exists()).isTrue();
+
+      // the configuration is loaded from the cache file
+      final CountingConfigurer configurer2 = new CountingConfigurer();
+      final CachingConfigurer cache2 = new CachingConfigurer(configurer2, cacheFile);
+      final Validator validator2 = new Validator(cache2);
+      assertThat(validator2.validate(new Entity(null))).hasSize(1);
+      assertThat(validator2.validate(new Entity("abcd"))).hasSize(1);
+      assertThat(validator2.validate(new Entity("abc"))).isEmpty();
+      assertThat(configurer2.loadedClasses.get()).isZero();
+      assertThat(cache2.isModified()).isFalse();
+
+      // outdated entries are resolved again
+      final CountingConfigurer configurer3 = new CountingConfigurer();
+      final CachingConfigurer cache3 = new CachingConfigurer(configurer3, cacheFile) {
+         @Override
+         protected long getBytecodeHash(final Class<?> clazz) {
+            return super.getBytecodeHash(clazz) + 1;
+         }
+      };
+      assertThat(new Validator(cache3).validate(new Entity("abcd"))).hasSize(1);
+      assertThat(configurer3.loadedClasses.get()).isEqualTo(1);
+      assertThat(cache3.isModified()).isTrue();
+   }
+
+   @Test
+   public void testDisallowedTypesAreNotDeserialized() throws Exception {
+      final File cacheFile = File.createTempFile("CachingConfigurerTest", ".bin");
+      cacheFile.delete();
+      cacheFile.deleteOnExit();
+
+      // java.io.File is serializable but neither an OVal type nor a JDK value or collection type
+      final AtomicInteger loadedClasses = new AtomicInteger();
+      final Configurer configurer = new Configurer() {
+         @Override
+         public ClassConfiguration getClassConfiguration(final Class<?> clazz) {
+            loadedClasses.incrementAndGet();
+            final InstanceOfCheck check = new InstanceOfCheck();
+            check.setTypes(File.class);
+            final FieldConfiguration fieldConfig = new FieldConfiguration();
+            fieldConfig.name = "name";
+            fieldConfig.checks = new ArrayList<>();
+            fieldConfig.checks.add(check);
+            final ClassConfiguration classConfig = new ClassConfiguration();
+            classConfig.type = clazz;
+            classConfig.fieldConfigurations = new HashSet<>();
+            classConfig.fieldConfigurations.add(fieldConfig);
+            return classConfig;
+         }
+
+         @Override
+         public ConstraintSetConfiguration getConstraintSetConfiguration(final String constraintSetId) {
+            return null;
+         }
+      };
+
+      final CachingConfigurer cache1 = new CachingConfigurer(configurer, cacheFile);
+      assertThat(cache1.getClassConfiguration(Entity.class)).isNotNull();
+      cache1.save();
+      assertThat(loadedClasses.get()).isEqualTo(1);
+
+      // the cached configuration is rejected and resolved via the delegate
+      final CachingConfigurer cache2 = new CachingConfigurer(configurer, cacheFile);
+      assertThat(cache2.getClassConfiguration(Entity.class)).isNotNull();
+      assertThat(loadedClasses.get()).isEqualTo(2);
+
+      // the cache file can be replaced while it is in use
+      assertThat(cache2.isModified()).isTrue();
+      cache2.save();
+      assertThat(cache2.isModified()).isFalse();
+   }
+}
@@ -6,12 +6,25 @@
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 
+import net.sf.oval.ConstraintViolation;
 import net.sf.oval.Validator;
 import net.sf.oval.configuration.annotation.IsInvariant;
 import net.sf.oval.constraint.MaxLength;
 import net.sf.oval.constraint.NotNull;
+import net.sf.oval.constraint.NotNullCheck;
 
 /**
  * @author Sebastian Thomschke
@@ -97,4 +110,127 @@ public void testConcurrency() throws InterruptedException {
       thread2.join();
       assertThat(failed[0]).isFalse();
    }
+
+   @Test
+   public void testConcurrentReconfiguration() throws Exception {
+      final Validator validator = new Validator();
+      final Field nameField = TestEntity1.class.getField("name");
+      final NotNullCheck additionalCheck = new NotNullCheck();
+
+      final boolean[] failed = {false};
+      final Thread reconfigurer = new Thread(() -> {
+         for (int i = 0; i < 1_000; i++) {
+            validator.addChecks(nameField, additionalCheck);
+            validator.removeChecks(nameField, additionalCheck);
+         }
+      });
+
+      final Runnable validation = () -> {
+         try {
+            final TestEntity1 entity = new TestEntity1();
+            for (int i = 0; i < 1_000; i++) {
+               assertThat(validator.validate(entity).size()).isBetween(1, 2);
+            }
+         } catch (final RuntimeException | AssertionError ex) {
+            ex.printStackTrace();
+            failed[0] = true;
+         }
+      };
+      final Thread validator1 = new Thread(validation);
+      final Thread validator2 = new Thread(validation);
+
+      reconfigurer.start();
+      validator1.start();
+      validator2.start();
+      reconfigurer.join();
+      validator1.join();
+      validator2.join();
+      assertThat(failed[0]).isFalse();
+      assertThat(validator.getChecks(nameField)).hasSize(2);
+   }
+
+   @Test
+   public void testValidateAll() {
+      final Validator validator = new Validator();
+
+      final List<Object> entities = new ArrayList<>();
+      for (int i = 0; i < 10_000; i++) {
+         if (i % 2 == 0) {
+            final TestEntity1 entity = new TestEntity1();
+            entity.name = i % 3 == 0 ? "123456" : "1234";
+            entities.add(entity);
+         } else {
+            final TestEntity2 entity = new TestEntity2();
+            entity.name = i % 3 == 0 ? null : "1234";
+            entities.add(entity);
+         }
+      }
+
+      final ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+         SortedMap<Integer, List<ConstraintViolation>> violations = validator.validateAll(entities, executor);
+         assertThat(violations).hasSize(10_000 / 3 + 1);
+         for (int i = 0; i < entities.size(); i++) {
+            if (i % 3 == 0) {
+               assertThat(violations.get(i)).hasSize(1);
+               assertThat(violations.get(i).get(0).getValidatedObject()).isSameAs(entities.get(i));
+            } else {
+               assertThat(violations).doesNotContainKey(i);
+            }
+         }
+
+         violations = validator.validateAll(entities.stream(), executor);
+         assertThat(violations).hasSize(10_000 / 3 + 1);
+
+         violations = validator.validateAll(entities);
+         assertThat(violations).hasSize(10_000 / 3 + 1);
+      } finally {
+         executor.shutdown();
+      }
+
+      entities.add(null);
+      try {
+         validator.validateAll(entities);
+         failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+      } catch (final IllegalArgumentException ex) {
+         // expected
+      }
+   }
+
+   @Test
+   public void testValidateAllWithRejectingExecutor() {
+      final Validator validator = new Validator();
+
+      final List<Object> entities = new ArrayList<>();
+      for (int i = 0; i < 1_000; i++) {
+         entities.add(new TestEntity1());
+      }
+
+      final ExecutorService pool = Executors.newSingleThreadExecutor();
+      final AtomicInteger submissions = new AtomicInteger();
+      final AtomicBoolean isFirstBatchRun = new AtomicBoolean();
+      final Executor executor = task -> {
+         if (submissions.incrementAndGet() > 1)
+            throw new RejectedExecutionException();
+         pool.execute(() -> {
+            try {
+               Thread.sleep(200);
+            } catch (final InterruptedException ex) {
+               Thread.currentThread().interrupt();
+            }
+            isFirstBatchRun.set(true);
+            task.run();
+         });
+      };
+
+      try {
+         validator.validateAll(entities, executor);
+         failBecauseExceptionWasNotThrown(RejectedExecutionException.class);
+      } catch (final RejectedExecutionException ex) {
+         // the already submitted batch is awaited before the exception is rethrown
+         assertThat(isFirstBatchRun.get()).isTrue();
+      } finally {
+         pool.shutdown();
+      }
+   }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.validator;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Test;
+
+import net.sf.oval.ConstraintViolation;
+import net.sf.oval.Validator;
+import net.sf.oval.constraint.NotNull;
+import net.sf.oval.context.OValContext;
+import net.sf.oval.localization.locale.ThreadLocalLocaleProvider;
+import net.sf.oval.localization.message.MessageResolver;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class ConstraintViolationMessageRenderingTest {
+
+   protected static class Entity implements Serializable {
+      private static final long serialVersionUID = 1L;
+
+      @NotNull
+      protected String name;
+   }
+
+   @Test
+   public void testLazyMessageRendering() throws Exception {
+      final Validator validator = new Validator();
+      final ThreadLocalLocaleProvider localeProvider = (ThreadLocalLocaleProvider) Validator.getLocaleProvider();
+
+      try {
+         localeProvider.setLocale(Locale.ENGLISH);
+         final List<ConstraintViolation> violations = validator.validate(new Entity());
+         assertThat(violations).hasSize(1);
+
+         // the message is rendered for the locale that was active during validation
+         localeProvider.setLocale(Locale.GERMAN);
+         final ConstraintViolation violation = violations.get(0);
+         assertThat(violation.getMessage()).isEqualTo(Entity.class.getName() + ".name cannot be null");
+         assertThat(violation.getMessage(Locale.ENGLISH)).isEqualTo(Entity.class.getName() + ".name cannot be null");
+         assertThat(violation.getMessage(Locale.GERMAN)).isEqualTo(Entity.class.getName() + ".name darf nicht Null sein");
+         assertThat(violation.getMessage()).isEqualTo(Entity.class.getName() + ".name cannot be null");
+
+         // the message is rendered before serialization
+         localeProvider.setLocale(Locale.ENGLISH);
+         final ConstraintViolation violation2 = validator.validate(new Entity()).get(0);
+         final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+         try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(violation2);
+         }
+         try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            final ConstraintViolation deserialized = (ConstraintViolation) ois.readObject();
+            assertThat(deserialized.getMessage()).isEqualTo(Entity.class.getName() + ".name cannot be null");
+            assertThat(deserialized.getMessage(Locale.GERMAN)).isEqualTo(Entity.class.getName() + ".name cannot be null");
+         }
+      } finally {
+         localeProvider.setLocale(null);
+      }
+   }
+
+   @Test
+   public void testEagerMessageRenderingWithOverriddenRenderMessage() {
+      final Validator validator = new Validator() {
+         @Override
+         protected String renderMessage(final List<OValContext> contextPath, final Object invalidValue, final String messageKey,
+            final Map<String, ?> messageValues) {
+            return "custom:" + messageKey;
+         }
+      };
+      final ConstraintViolation violation = validator.validate(new Entity()).get(0);
+      assertThat(violation.getMessage()).isEqualTo("custom:net.sf.oval.constraint.NotNull.violated");
+      assertThat(violation.getMessage(Locale.GERMAN)).isEqualTo("custom:net.sf.oval.constraint.NotNull.violated");
+   }
+
+   @Test
+   public void testEagerMessageRenderingWithLocaleUnawareMessageResolver() {
+      final MessageResolver original = Validator.getMessageResolver();
+      final ThreadLocalLocaleProvider localeProvider = (ThreadLocalLocaleProvider) Validator.getLocaleProvider();
+      final Locale[] resolvedFor = new Locale[1];
+      try {
+         Validator.setMessageResolver(key -> {
+            resolvedFor[0] = localeProvider.getLocale();
+            return "{context} is invalid";
+         });
+         localeProvider.setLocale(Locale.GERMAN);
+         final ConstraintViolation violation = new Validator().validate(new Entity()).get(0);
+
+         // the message is resolved on the validating thread with the locale active during validation
+         assertThat(resolvedFor[0]).isEqualTo(Locale.GERMAN);
+         localeProvider.setLocale(Locale.ENGLISH);
+         assertThat(violation.getMessage()).isEqualTo(Entity.class.getName() + ".name is invalid");
+         assertThat(resolvedFor[0]).isEqualTo(Locale.GERMAN);
+      } finally {
+         localeProvider.setLocale(null);
+         Validator.setMessageResolver(original);
+      }
+   }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.validator;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import net.sf.oval.ConstraintViolation;
+import net.sf.oval.Validator;
+import net.sf.oval.constraint.Length;
+import net.sf.oval.constraint.Min;
+import net.sf.oval.constraint.NotNull;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class FastPathTest {
+
+   protected static class Entity {
+      @NotNull
+      @Length(max = 3)
+      protected String name;
+
+      @Min(1)
+      protected int count = 1;
+
+      @Length(max = 3, profiles = "strict")
+      protected String code;
+
+      @Length(max = 3)
+      protected Object value;
+
+      @NotNull
+      protected List<String> items = new ArrayList<>();
+
+      protected Entity(final String name, final int count, final String code, final Object value, final List<String> items) {
+         this.name = name;
+         this.count = count;
+         this.code = code;
+         this.value = value;
+         this.items = items;
+      }
+   }
+
+   private static List<String> _validate(final Validator validator, final Entity entity) {
+      final List<String> messages = new ArrayList<>();
+      for (final ConstraintViolation violation : validator.validate(entity)) {
+         messages.add(violation.getMessage());
+      }
+      return messages;
+   }
+
+   @Test
+   public void testFastPath() {
+      final Validator generic = new Validator();
+      generic.setFastPathThreshold(-1);
+      generic.disableProfile("strict");
+
+      final Validator fast = new Validator();
+      fast.setFastPathThreshold(0);
+      fast.disableProfile("strict");
+
+      final List<Entity> entities = Arrays.asList( //
+         new Entity("abc", 1, "abcd", "abc", null), //
+         new Entity(null, 0, null, null, new ArrayList<>()), //
+         new Entity("abcd", 2, "a", Arrays.asList("abcd", "ab"), null), //
+         new Entity("ab", -1, "abcd", new String[] {"abcd"}, null) //
+      );
+      for (final Entity entity : entities) {
+         // both validators are used several times since the fast path is enabled after the first validation
+         for (int i = 0; i < 3; i++) {
+            assertThat(_validate(fast, entity)).isEqualTo(_validate(generic, entity));
+         }
+      }
+      assertThat(_validate(fast, entities.get(0))).hasSize(1);
+      assertThat(_validate(fast, entities.get(1))).hasSize(2);
+      assertThat(_validate(fast, entities.get(2))).hasSize(3);
+   }
+}
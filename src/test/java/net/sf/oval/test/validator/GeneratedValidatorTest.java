@@ -0,0 +1,105 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.validator;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Test;
+
+import net.sf.oval.Validator;
+import net.sf.oval.configuration.annotation.GeneratedValidator;
+import net.sf.oval.configuration.annotation.processor.GeneratedValidatorProcessor;
+import net.sf.oval.internal.util.MemberAccessor;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class GeneratedValidatorTest {
+
+   private static final String ENTITY_SOURCE = "" //
+      + "package generated;\n" //
+      + "public class Entity {\n" //
+      + "   @net.sf.oval.constraint.NotNull public String name;\n" //
+      + "   @net.sf.oval.constraint.Length(max = 3) private String code;\n" //
+      + "   public static class Nested {\n" //
+      + "      @net.sf.oval.constraint.NotNull static String value;\n" //
+      + "   }\n" //
+      + "}\n";
+
+   private static void _delete(final File file) {
+      final File[] children = file.listFiles();
+      if (children != null) {
+         for (final File child : children) {
+            _delete(child);
+         }
+      }
+      file.delete();
+   }
+
+   @Test
+   public void testGeneratedValidator() throws Exception {
+      final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+      assertThat(compiler).isNotNull();
+
+      final Path dir = Files.createTempDirectory("GeneratedValidatorTest");
+      try {
+         final Path sourceFile = Files.createDirectories(dir.resolve("generated")).resolve("Entity.java");
+         Files.write(sourceFile, ENTITY_SOURCE.getBytes(StandardCharsets.UTF_8));
+
+         try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final Boolean success = compiler.getTask(null, fileManager, null, Arrays.asList( //
+               "-classpath", System.getProperty("java.class.path"), //
+               "-processor", GeneratedValidatorProcessor.class.getName(), //
+               "-d", dir.toString(), //
+               "-s", dir.toString() //
+            ), null, fileManager.getJavaFileObjectsFromFiles(Collections.singleton(sourceFile.toFile()))).call();
+            assertThat(success).isTrue();
+         }
+
+         // private fields are not read by the generated class
+         final String generatedSource = new String(Files.readAllBytes(dir.resolve("generated/Entity$OValValidator.java")), StandardCharsets.UTF_8);
+         assertThat(generatedSource).contains("case \"name\":");
+         assertThat(generatedSource).doesNotContain("case \"code\":");
+         assertThat(new File(dir.toFile(), "generated/Entity$Nested$OValValidator.class").exists()).isTrue();
+
+         try (URLClassLoader cl = new URLClassLoader(new URL[] {dir.toUri().toURL()}, GeneratedValidatorTest.class.getClassLoader())) {
+            final Class<?> entityClass = cl.loadClass("generated.Entity");
+            final Object entity = entityClass.getDeclaredConstructor().newInstance();
+
+            final GeneratedValidator generated = (GeneratedValidator) cl.loadClass("generated.Entity" + GeneratedValidator.CLASS_NAME_SUFFIX)
+               .getDeclaredConstructor().newInstance();
+            assertThat(generated.getFieldReader("code")).isNull();
+            assertThat(generated.getFieldReader("name").apply(entity)).isNull();
+            entityClass.getField("name").set(entity, "abc");
+            assertThat(generated.getFieldReader("name").apply(entity)).isEqualTo("abc");
+
+            // the validator reads the field via the generated class
+            assertThat(MemberAccessor.of(entityClass.getField("name")).isGeneratedReaderUsed()).isTrue();
+            assertThat(MemberAccessor.of(entityClass.getDeclaredField("code")).isGeneratedReaderUsed()).isFalse();
+
+            final Validator validator = new Validator();
+            assertThat(validator.validate(entity)).isEmpty();
+
+            entityClass.getField("name").set(entity, null);
+            assertThat(validator.validate(entity)).hasSize(1);
+         }
+      } finally {
+         _delete(dir.toFile());
+      }
+   }
+}
@@ -19,6 +19,9 @@
 import net.sf.oval.constraint.AssertValid;
 import net.sf.oval.constraint.NotEmpty;
 import net.sf.oval.constraint.NotNull;
+import net.sf.oval.context.IterableElementContext;
+import net.sf.oval.context.MapValueContext;
+import net.sf.oval.context.OValContext;
 
 /**
  * @author Sebastian Thomschke
@@ -43,6 +46,38 @@ public static class Child {
       String name;
    }
 
+   public static class Holder {
+      @NotNull(appliesTo = ConstraintTarget.VALUES, message = "NOT_NULL_ITEM")
+      List<String> items = new ArrayList<>();
+
+      @NotNull(appliesTo = ConstraintTarget.VALUES, message = "NOT_NULL_VALUE")
+      Map<String, String> itemsByKey = new HashMap<>();
+   }
+
+   @Test
+   public void testContainerElementContexts() {
+      final Validator v = new Validator();
+
+      final Holder h = new Holder();
+      h.items.add(null);
+      h.items.add("foo");
+      h.items.add(null);
+      h.itemsByKey.put("bar", null);
+
+      final List<ConstraintViolation> violations = v.validate(h);
+      assertThat(violations).hasSize(3);
+      assertThat(violations.stream().map(ConstraintViolation::getContextPathAsString)).containsOnly( //
+         Holder.class.getName() + ".items[0]", //
+         Holder.class.getName() + ".items[2]", //
+         Holder.class.getName() + ".itemsByKey[\"bar\"]" //
+      );
+      for (final ConstraintViolation violation : violations) {
+         final OValContext ctx = violation.getContextPath().get(violation.getContextPath().size() - 1);
+         assertThat(ctx.getClass()).isIn(IterableElementContext.class, MapValueContext.class);
+         assertThat(ctx.getCompileTimeType()).isEqualTo(String.class);
+      }
+   }
+
    @Test
    public void testValuePath() {
       final Validator v = new Validator();
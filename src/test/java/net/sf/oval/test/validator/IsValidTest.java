@@ -0,0 +1,59 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.validator;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Test;
+
+import net.sf.oval.Validator;
+import net.sf.oval.constraint.AssertValid;
+import net.sf.oval.constraint.Length;
+import net.sf.oval.constraint.NotNull;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class IsValidTest {
+
+   protected static class Address {
+      @NotNull
+      @Length(min = 5, max = 5, profiles = "strict")
+      protected String zipCode;
+   }
+
+   protected static class Person {
+      @NotNull
+      protected String name;
+
+      @AssertValid
+      protected Address address;
+   }
+
+   @Test
+   public void testIsValid() {
+      final Validator validator = new Validator();
+
+      final Person person = new Person();
+      assertThat(validator.isValid(person)).isFalse();
+
+      person.name = "John";
+      assertThat(validator.isValid(person)).isTrue();
+
+      person.address = new Address();
+      assertThat(validator.isValid(person)).isFalse();
+      assertThat(validator.validate(person)).hasSize(1);
+
+      person.address.zipCode = "123";
+      // all profiles are enabled by default
+      assertThat(validator.isValid(person)).isFalse();
+      assertThat(validator.isValid(person, "default")).isTrue();
+      assertThat(validator.isValid(person, "default", "strict")).isFalse();
+
+      person.address.zipCode = "12345";
+      assertThat(validator.isValid(person, "default", "strict")).isTrue();
+      assertThat(validator.isValid(person)).isTrue();
+   }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.validator;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import net.sf.oval.ConstraintTarget;
+import net.sf.oval.ConstraintViolation;
+import net.sf.oval.Validator;
+import net.sf.oval.constraint.AssertValid;
+import net.sf.oval.constraint.CheckWith;
+import net.sf.oval.constraint.CheckWithCheck;
+import net.sf.oval.constraint.NotNull;
+import net.sf.oval.context.OValContext;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class MaxViolationsTest {
+
+   protected static class Address {
+      @NotNull(message = "STREET_NULL")
+      protected String street;
+
+      @NotNull(message = "CITY_NULL")
+      protected String city;
+   }
+
+   public static class AlwaysViolated implements CheckWithCheck.SimpleCheck {
+      private static final long serialVersionUID = 1L;
+
+      static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+      @Override
+      public boolean isSatisfied(final Object validatedObject, final Object value, final OValContext context, final Validator validator) {
+         INVOCATIONS.incrementAndGet();
+         return false;
+      }
+   }
+
+   protected static class ArrayHolder {
+      @CheckWith(value = AlwaysViolated.class, appliesTo = ConstraintTarget.VALUES)
+      protected String[] values = new String[100];
+   }
+
+   protected static class MapKeysHolder {
+      @CheckWith(value = AlwaysViolated.class, appliesTo = ConstraintTarget.KEYS)
+      protected Map<String, String> values = new LinkedHashMap<>();
+   }
+
+   protected static class MapValuesHolder {
+      @CheckWith(value = AlwaysViolated.class, appliesTo = ConstraintTarget.VALUES)
+      protected Map<String, String> values = new LinkedHashMap<>();
+   }
+
+   protected static class Person {
+      @NotNull(message = "FIRSTNAME_NULL")
+      protected String firstName;
+
+      @NotNull(message = "LASTNAME_NULL")
+      protected String lastName;
+
+      @AssertValid
+      protected Address address = new Address();
+
+      @NotNull(appliesTo = ConstraintTarget.VALUES, message = "NICKNAME_NULL")
+      protected List<String> nickNames = Arrays.asList(null, null, null);
+   }
+
+   @Test
+   public void testMaxViolations() {
+      final Validator validator = new Validator();
+
+      assertThat(validator.validate(new Person())).hasSize(7);
+      assertThat(validator.validate(new Person(), 0)).hasSize(7);
+
+      List<ConstraintViolation> violations = validator.validate(new Person(), 1);
+      assertThat(violations).hasSize(1);
+      assertThat(violations.get(0).getMessage()).isEqualTo("FIRSTNAME_NULL");
+
+      violations = validator.validate(new Person(), 3);
+      assertThat(violations).hasSize(3);
+      assertThat(violations.get(2).getMessage()).isEqualTo("STREET_NULL");
+
+      final Person person = new Person();
+      person.firstName = "John";
+      person.lastName = "Doe";
+      person.address.street = "Main Street";
+      person.address.city = "Springfield";
+      violations = validator.validate(person, 2);
+      assertThat(violations).hasSize(2);
+      assertThat(violations.get(0).getMessage()).isEqualTo("NICKNAME_NULL");
+      assertThat(violations.get(1).getMessage()).isEqualTo("NICKNAME_NULL");
+
+      try {
+         validator.validate(person, -1);
+         failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+      } catch (final IllegalArgumentException ex) {
+         // expected
+      }
+   }
+
+   @Test
+   public void testValidatorMaxViolations() {
+      final Validator validator = new Validator();
+      validator.setMaxViolations(1);
+      assertThat(validator.getMaxViolations()).isEqualTo(1);
+
+      final List<ConstraintViolation> violations = validator.validate(new Person());
+      assertThat(violations).hasSize(1);
+      assertThat(violations.get(0).getMessage()).isEqualTo("FIRSTNAME_NULL");
+
+      // an explicit limit overrides the validator's default
+      assertThat(validator.validate(new Person(), 0)).hasSize(7);
+
+      validator.setMaxViolations(0);
+      assertThat(validator.validate(new Person())).hasSize(7);
+   }
+
+   @Test
+   public void testMaxViolationsStopsContainerIteration() {
+      final Validator validator = new Validator();
+
+      final ArrayHolder arrayHolder = new ArrayHolder();
+      Arrays.fill(arrayHolder.values, "value");
+      final MapKeysHolder mapKeysHolder = new MapKeysHolder();
+      final MapValuesHolder mapValuesHolder = new MapValuesHolder();
+      for (int i = 0; i < 100; i++) {
+         mapKeysHolder.values.put("key" + i, "value");
+         mapValuesHolder.values.put("key" + i, "value");
+      }
+
+      for (final Object holder : new Object[] {arrayHolder, mapKeysHolder, mapValuesHolder}) {
+         AlwaysViolated.INVOCATIONS.set(0);
+         assertThat(validator.validate(holder, 2)).hasSize(2);
+         assertThat(AlwaysViolated.INVOCATIONS.get()).isEqualTo(2);
+
+         AlwaysViolated.INVOCATIONS.set(0);
+         assertThat(validator.validate(holder)).hasSize(100);
+         assertThat(AlwaysViolated.INVOCATIONS.get()).isEqualTo(100);
+      }
+   }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.validator;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import net.sf.oval.configuration.pojo.POJOConfigurer;
+import net.sf.oval.configuration.pojo.elements.ClassConfiguration;
+import net.sf.oval.configuration.pojo.elements.ConstraintSetConfiguration;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class POJOConfigurerTest {
+
+   private static ClassConfiguration _classConfig(final Class<?> type) {
+      final ClassConfiguration classConfig = new ClassConfiguration();
+      classConfig.type = type;
+      return classConfig;
+   }
+
+   private static ConstraintSetConfiguration _constraintSetConfig(final String id) {
+      final ConstraintSetConfiguration constraintSetConfig = new ConstraintSetConfiguration();
+      constraintSetConfig.id = id;
+      return constraintSetConfig;
+   }
+
+   @Test
+   public void testInPlaceModifications() {
+      final POJOConfigurer configurer = new POJOConfigurer();
+      final Set<ClassConfiguration> classConfigs = new HashSet<>();
+      final ClassConfiguration stringConfig = _classConfig(String.class);
+      classConfigs.add(stringConfig);
+      configurer.setClassConfigurations(classConfigs);
+      assertThat(configurer.getClassConfiguration(String.class)).isSameAs(stringConfig);
+      assertThat(configurer.getClassConfiguration(Integer.class)).isNull();
+
+      // added entries are detected via the changed size
+      final ClassConfiguration integerConfig = _classConfig(Integer.class);
+      classConfigs.add(integerConfig);
+      assertThat(configurer.getClassConfiguration(Integer.class)).isSameAs(integerConfig);
+
+      // other modifications require setting the configurations again
+      integerConfig.type = Long.class;
+      configurer.setClassConfigurations(classConfigs);
+      assertThat(configurer.getClassConfiguration(Integer.class)).isNull();
+      assertThat(configurer.getClassConfiguration(Long.class)).isSameAs(integerConfig);
+
+      final Set<ConstraintSetConfiguration> constraintSetConfigs = new HashSet<>();
+      final ConstraintSetConfiguration constraintSetConfig = _constraintSetConfig("cs1");
+      constraintSetConfigs.add(constraintSetConfig);
+      configurer.setConstraintSetConfigurations(constraintSetConfigs);
+      assertThat(configurer.getConstraintSetConfiguration("cs1")).isSameAs(constraintSetConfig);
+
+      constraintSetConfigs.remove(constraintSetConfig);
+      assertThat(configurer.getConstraintSetConfiguration("cs1")).isNull();
+
+      constraintSetConfig.id = "cs2";
+      constraintSetConfigs.add(constraintSetConfig);
+      assertThat(configurer.getConstraintSetConfiguration("cs2")).isSameAs(constraintSetConfig);
+   }
+}
@@ -13,6 +13,8 @@
 import net.sf.oval.ConstraintViolation;
 import net.sf.oval.Validator;
 import net.sf.oval.constraint.NotNull;
+import net.sf.oval.constraint.NotNullCheck;
+import net.sf.oval.internal.ProfileMasks;
 
 /**
  * @author Sebastian Thomschke
@@ -185,4 +187,71 @@ public void testProfilesGloballyEnabled() {
          assertThat(violations).isEmpty();
       }
    }
+
+   @Test
+   public void testManyProfiles() throws Exception {
+      final Validator validator = new Validator();
+
+      // more distinct profiles than can be represented as bitmask
+      validator.disableAllProfiles();
+      for (int i = 0; i < 100; i++) {
+         validator.enableProfile("many" + i);
+      }
+
+      final NotNullCheck check = new NotNullCheck();
+      check.setProfiles("many99");
+      validator.addChecks(Person.class.getField("city"), check);
+
+      final Person p = new Person();
+      assertThat(validator.validate(p)).hasSize(1);
+      assertThat(validator.validate(p, "many99")).hasSize(1);
+      assertThat(validator.validate(p, "many98")).isEmpty();
+
+      validator.disableProfile("many99");
+      assertThat(validator.validate(p)).isEmpty();
+
+      check.setProfiles("many0", "many99");
+      assertThat(validator.validate(p)).hasSize(1);
+      assertThat(validator.validate(p, "many0")).hasSize(1);
+   }
+
+   @Test
+   public void testProfilesInternedAfterMasksWereComputed() throws Exception {
+      final Validator validator = new Validator();
+      final Person p = new Person();
+
+      // profiles that are only enabled or passed to a validation cycle are not interned
+      validator.disableAllProfiles();
+      validator.enableProfile("interned-late");
+      assertThat(validator.validate(p, "adhoc-profile")).isEmpty();
+      assertThat(ProfileMasks.bitOf("interned-late")).isZero();
+      assertThat(ProfileMasks.bitOf("adhoc-profile")).isZero();
+
+      // the profile is interned on first use of the check
+      final NotNullCheck check = new NotNullCheck();
+      check.setProfiles("interned-late");
+      validator.addChecks(Person.class.getField("city"), check);
+      assertThat(validator.validate(p)).hasSize(1);
+      assertThat(ProfileMasks.bitOf("interned-late")).isNotEqualTo(0L);
+      assertThat(validator.validate(p)).hasSize(1);
+      assertThat(validator.validate(p, "interned-late")).hasSize(1);
+   }
+
+   @Test
+   public void testOverriddenIsAnyProfileEnabled() {
+      // only checks with profile1 are active, regardless of the enabled profiles
+      final Validator validator = new Validator() {
+         @Override
+         protected boolean isAnyProfileEnabled(final String[] profilesOfCheck, final String[] enabledProfiles) {
+            return profilesOfCheck != null && profilesOfCheck.length > 0 && "profile1".equals(profilesOfCheck[0]);
+         }
+      };
+      final Person p = new Person();
+      List<ConstraintViolation> violations = validator.validate(p);
+      assertThat(violations).hasSize(1);
+      assertThat(violations.get(0).getMessage()).isEqualTo("NOTNULL1");
+      violations = validator.validate(p, "profile2");
+      assertThat(violations).hasSize(1);
+      assertThat(violations.get(0).getMessage()).isEqualTo("NOTNULL1");
+   }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.validator;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import net.sf.oval.Validator;
+import net.sf.oval.configuration.Configurer;
+import net.sf.oval.configuration.pojo.elements.ClassConfiguration;
+import net.sf.oval.configuration.pojo.elements.ConstraintSetConfiguration;
+import net.sf.oval.configuration.pojo.elements.FieldConfiguration;
+import net.sf.oval.constraint.AssertConstraintSetCheck;
+import net.sf.oval.constraint.LengthCheck;
+import net.sf.oval.exception.InvalidConfigurationException;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class ReloadChecksTest {
+
+   protected static class Entity {
+      protected String name;
+
+      protected Entity(final String name) {
+         this.name = name;
+      }
+   }
+
+   /**
+    * configures a constraint set "name" with a length check based on {@link #minLength} for {@link Entity#name}
+    */
+   protected static class MutableConfigurer implements Configurer {
+      protected volatile int minLength;
+      protected volatile boolean broken;
+      protected final AtomicInteger loadedClasses = new AtomicInteger();
+      protected final AtomicInteger loadedConstraintSets = new AtomicInteger();
+
+      @Override
+      public ClassConfiguration getClassConfiguration(final Class<?> clazz) throws InvalidConfigurationException {
+         if (clazz != Entity.class)
+            return null;
+         if (broken)
+            throw new InvalidConfigurationException("broken");
+
+         loadedClasses.incrementAndGet();
+         final AssertConstraintSetCheck check = new AssertConstraintSetCheck();
+         check.setId("name");
+
+         final FieldConfiguration fc = new FieldConfiguration();
+         fc.name = "name";
+         fc.checks = new ArrayList<>();
+         fc.checks.add(check);
+
+         final ClassConfiguration cc = new ClassConfiguration();
+         cc.type = clazz;
+         cc.fieldConfigurations = new HashSet<>();
+         cc.fieldConfigurations.add(fc);
+         return cc;
+      }
+
+      @Override
+      public ConstraintSetConfiguration getConstraintSetConfiguration(final String constraintSetId) {
+         loadedConstraintSets.incrementAndGet();
+         final LengthCheck check = new LengthCheck();
+         check.setMin(minLength);
+         check.setMax(Integer.MAX_VALUE);
+
+         final ConstraintSetConfiguration csc = new ConstraintSetConfiguration();
+         csc.id = constraintSetId;
+         csc.checks = new ArrayList<>();
+         csc.checks.add(check);
+         return csc;
+      }
+   }
+
+   @Test
+   public void testReconfigureChecks() {
+      final MutableConfigurer configurer = new MutableConfigurer();
+      final Validator validator = new Validator(configurer);
+
+      assertThat(validator.validate(new Entity("ab"))).isEmpty();
+      assertThat(validator.validate("ab")).isEmpty();
+      assertThat(configurer.loadedClasses.get()).isEqualTo(1);
+
+      configurer.minLength = 3;
+
+      // unaffected classes and constraint sets are kept
+      validator.reconfigureChecks(Collections.singleton(String.class), Collections.emptySet());
+      assertThat(validator.validate(new Entity("ab"))).isEmpty();
+      assertThat(configurer.loadedClasses.get()).isEqualTo(1);
+
+      // reloaded class still uses the cached constraint set
+      validator.reconfigureChecks(Collections.singleton(Entity.class), Collections.emptySet());
+      assertThat(validator.validate(new Entity("ab"))).isEmpty();
+      assertThat(configurer.loadedClasses.get()).isEqualTo(2);
+      assertThat(configurer.loadedConstraintSets.get()).isEqualTo(1);
+
+      validator.reconfigureChecks(Collections.emptySet(), Collections.singleton("name"));
+      assertThat(validator.validate(new Entity("ab"))).hasSize(1);
+      assertThat(configurer.loadedClasses.get()).isEqualTo(2);
+      assertThat(configurer.loadedConstraintSets.get()).isEqualTo(2);
+   }
+
+   @Test
+   public void testReloadChecks() throws Exception {
+      final MutableConfigurer configurer = new MutableConfigurer();
+      final Validator validator = new Validator(configurer);
+
+      assertThat(validator.validate(new Entity("ab"))).isEmpty();
+
+      // the configuration is cached
+      configurer.minLength = 3;
+      assertThat(validator.validate(new Entity("ab"))).isEmpty();
+      assertThat(configurer.loadedClasses.get()).isEqualTo(1);
+      assertThat(configurer.loadedConstraintSets.get()).isEqualTo(1);
+
+      // the reloaded configuration is complete before it is activated
+      validator.reloadChecks(Collections.singletonList(Entity.class));
+      assertThat(configurer.loadedClasses.get()).isEqualTo(2);
+      assertThat(configurer.loadedConstraintSets.get()).isEqualTo(2);
+      assertThat(validator.validate(new Entity("ab"))).hasSize(1);
+      assertThat(configurer.loadedClasses.get()).isEqualTo(2);
+      assertThat(configurer.loadedConstraintSets.get()).isEqualTo(2);
+
+      // a failing reload keeps the current configuration
+      configurer.broken = true;
+      configurer.minLength = 0;
+      try {
+         validator.reloadChecks(Collections.singletonList(Entity.class));
+         failBecauseExceptionWasNotThrown(InvalidConfigurationException.class);
+      } catch (final InvalidConfigurationException ex) {
+         // expected
+      }
+      assertThat(validator.validate(new Entity("ab"))).hasSize(1);
+
+      configurer.broken = false;
+      validator.reloadChecks(Collections.singletonList(Entity.class), Runnable::run).get();
+      assertThat(validator.validate(new Entity("ab"))).isEmpty();
+   }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.validator;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import net.sf.oval.SharedClassChecks;
+import net.sf.oval.Validator;
+import net.sf.oval.configuration.annotation.AnnotationsConfigurer;
+import net.sf.oval.configuration.pojo.elements.ClassConfiguration;
+import net.sf.oval.constraint.MaxLengthCheck;
+import net.sf.oval.constraint.NotNull;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class SharedClassChecksTest {
+
+   protected static class Entity {
+      @NotNull
+      protected String name;
+   }
+
+   private static final class CountingConfigurer extends AnnotationsConfigurer {
+      private final AtomicInteger count = new AtomicInteger();
+
+      @Override
+      public ClassConfiguration getClassConfiguration(final Class<?> clazz) {
+         count.incrementAndGet();
+         return super.getClassConfiguration(clazz);
+      }
+   }
+
+   @Test
+   public void testSharedClassChecks() throws Exception {
+      final SharedClassChecks shared = new SharedClassChecks();
+      final CountingConfigurer configurer = new CountingConfigurer();
+
+      final Validator validator1 = new Validator(configurer);
+      validator1.setSharedClassChecks(shared);
+      final Validator validator2 = new Validator(configurer);
+      validator2.setSharedClassChecks(shared);
+
+      final Entity entity = new Entity();
+      assertThat(validator1.validate(entity)).hasSize(1);
+      assertThat(validator2.validate(entity)).hasSize(1);
+      assertThat(configurer.count.get()).isEqualTo(1);
+      assertThat(shared.size()).isEqualTo(1);
+
+      // programmatically added checks only affect the modifying validator
+      entity.name = "abcd";
+      final MaxLengthCheck maxLength = new MaxLengthCheck();
+      maxLength.setMax(3);
+      validator1.addChecks(Entity.class.getDeclaredField("name"), maxLength);
+      assertThat(validator1.validate(entity)).hasSize(1);
+      assertThat(validator2.validate(entity)).isEmpty();
+
+      final Validator validator3 = new Validator(configurer);
+      validator3.setSharedClassChecks(shared);
+      assertThat(validator3.validate(entity)).isEmpty();
+      assertThat(configurer.count.get()).isEqualTo(2);
+
+      validator2.reconfigureChecks();
+      assertThat(shared.size()).isZero();
+      assertThat(validator2.validate(entity)).isEmpty();
+      assertThat(configurer.count.get()).isEqualTo(3);
+   }
+}
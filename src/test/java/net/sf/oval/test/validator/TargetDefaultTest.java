@@ -50,6 +50,26 @@ static class Level3 {
       List<List<String>> list;
    }
 
+   static class Holder {
+      @NotNull(target = "level3.name")
+      Level2 level2 = new Level2();
+
+      @NotNull(message = "NAME_IS_NULL")
+      String name;
+   }
+
+   @Test
+   public void testContextPathOfUnresolvableTarget() {
+      final Validator v = new Validator();
+
+      // the target of level2 cannot be resolved since level3 is null
+      final List<ConstraintViolation> violations = v.validate(new Holder());
+      assertThat(violations).hasSize(1);
+      assertThat(violations.get(0).getMessage()).isEqualTo("NAME_IS_NULL");
+      assertThat(violations.get(0).getContextPath()).hasSize(1);
+      assertThat(violations.get(0).getContextPathAsString()).isEqualTo(Holder.class.getName() + ".name");
+   }
+
    @Test
    public void testTarget() {
       final Validator v = new Validator();
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2005-2021 by Sebastian Thomschke and contributors.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package net.sf.oval.test.validator;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import net.sf.oval.ConstraintViolation;
+import net.sf.oval.Validator;
+import net.sf.oval.constraint.AssertValid;
+import net.sf.oval.constraint.NotNull;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class ViolationSinkTest {
+
+   protected static class Item {
+      @NotNull(message = "NAME_NULL")
+      protected String name;
+   }
+
+   protected static class Order {
+      @NotNull(message = "ID_NULL")
+      protected String id;
+
+      @AssertValid
+      protected List<Item> items = new ArrayList<>();
+   }
+
+   @Test
+   public void testViolationSink() {
+      final Validator validator = new Validator();
+
+      final Order order = new Order();
+      for (int i = 0; i < 1000; i++) {
+         order.items.add(new Item());
+      }
+
+      final List<ConstraintViolation> received = new ArrayList<>();
+      assertThat(validator.validate(order, received::add)).isEqualTo(1001);
+      assertThat(received).hasSize(1001);
+      assertThat(received.get(0).getMessage()).isEqualTo("ID_NULL");
+      assertThat(received.get(1000).getMessage()).isEqualTo("NAME_NULL");
+
+      final int[] count = {0};
+      assertThat(validator.validate(order, v -> count[0]++, 10)).isEqualTo(10);
+      assertThat(count[0]).isEqualTo(10);
+
+      // the validator's default limit applies
+      validator.setMaxViolations(5);
+      count[0] = 0;
+      assertThat(validator.validate(order, v -> count[0]++)).isEqualTo(5);
+      assertThat(count[0]).isEqualTo(5);
+
+      order.id = "1";
+      order.items.clear();
+      assertThat(validator.validate(order, v -> count[0]++)).isZero();
+   }
+}
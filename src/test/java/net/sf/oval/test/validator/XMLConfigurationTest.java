@@ -13,6 +13,9 @@
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -21,6 +24,7 @@
 
 import org.junit.Test;
 
+import com.thoughtworks.xstream.XStreamException;
 import com.thoughtworks.xstream.io.StreamException;
 
 import net.sf.oval.ConstraintTarget;
@@ -41,12 +45,17 @@
 import net.sf.oval.constraint.MatchPatternCheck;
 import net.sf.oval.constraint.NotNullCheck;
 import net.sf.oval.constraint.ValidateWithMethodCheck;
+import net.sf.oval.exception.InvalidConfigurationException;
 
 /**
  * @author Sebastian Thomschke
  */
 public class XMLConfigurationTest {
 
+   public static class Manager {
+      protected String name;
+   }
+
    public static class User {
       // added @Length to test if overwrite=true works
       @Length(min = 10, max = 10)
@@ -218,6 +227,120 @@ public void testSerializedObjectConfiguration() throws Exception {
       validateUser(new Validator(x));
    }
 
+   @Test
+   public void testLazyLoading() throws IOException {
+      final File xmlFile1 = new File("src/test/resources/net/sf/oval/test/validator/XMLConfigurationTest1.inc.xml");
+      final File xmlFile2 = new File("src/test/resources/net/sf/oval/test/validator/XMLConfigurationTest2.inc.xml");
+
+      final XMLConfigurer x1 = new XMLConfigurer();
+      x1.setLazyLoadingEnabled(true);
+      x1.fromXML(xmlFile1);
+      final XMLConfigurer x2 = new XMLConfigurer();
+      x2.setLazyLoadingEnabled(true);
+      x2.fromXML(xmlFile2);
+      validateUser(new Validator(x1, x2));
+
+      // lazily and eagerly loaded configurations are equal
+      final XMLConfigurer eager = new XMLConfigurer();
+      eager.fromXML(xmlFile2);
+      assertThat(x2.toXML()).isEqualTo(eager.toXML());
+
+      // a file modified after indexing is not silently mixed with the indexed content
+      final File tmpFile = File.createTempFile("XMLConfigurationTest", ".xml");
+      tmpFile.deleteOnExit();
+      Files.copy(xmlFile2.toPath(), tmpFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      final XMLConfigurer x3 = new XMLConfigurer();
+      x3.setLazyLoadingEnabled(true);
+      x3.fromXML(tmpFile);
+      Files.write(tmpFile.toPath(), new String(Files.readAllBytes(tmpFile.toPath()), StandardCharsets.UTF_8).replace("overwrite=\"false\"",
+         "overwrite=\"true\"").getBytes(StandardCharsets.UTF_8));
+      try {
+         x3.getClassConfiguration(User.class);
+         failBecauseExceptionWasNotThrown(InvalidConfigurationException.class);
+      } catch (final InvalidConfigurationException ex) {
+         assertThat(ex.getCause().getCause().getMessage()).contains("was modified after it was indexed");
+      }
+   }
+
+   @Test
+   public void testStreamingParser() {
+      final File xmlFile = new File("src/test/resources/net/sf/oval/test/validator/XMLConfigurationTest_XInclude.xml");
+      final XMLConfigurer x1 = new XMLConfigurer();
+      x1.fromXML(xmlFile);
+
+      final XMLConfigurer x2 = new XMLConfigurer();
+      x2.setStreamingParserEnabled(true);
+      x2.fromXML(xmlFile);
+
+      // both parsers produce the same configuration model
+      assertThat(x2.toXML()).isEqualTo(x1.toXML());
+      validateUser(new Validator(x2));
+
+      final XMLConfigurer x3 = new XMLConfigurer();
+      x3.setStreamingParserEnabled(true);
+      try {
+         x3.fromXML(new File("src/test/resources/net/sf/oval/test/validator/XMLConfigurationTest_Vulnerability_RecursiveInclude.xml"));
+         failBecauseExceptionWasNotThrown(StreamException.class);
+      } catch (final StreamException ex) {
+         assertThat(ex.getCause().getMessage()).contains("Recursive include detected");
+      }
+   }
+
+   @Test
+   public void testStreamingParserWithSharedCheck() {
+      // the same check instance is used in two <class> elements
+      final NotNullCheck sharedCheck = new NotNullCheck();
+      sharedCheck.setMessage("{context} is null");
+
+      final Set<ClassConfiguration> classConfigs = new HashSet<>();
+      for (final Class<?> type : new Class<?>[] {User.class, Manager.class}) {
+         final ClassConfiguration cf = new ClassConfiguration();
+         cf.type = type;
+         cf.fieldConfigurations = new HashSet<>();
+         final FieldConfiguration fc = new FieldConfiguration();
+         fc.name = type == User.class ? "firstName" : "name";
+         fc.checks = new ArrayList<>();
+         fc.checks.add(sharedCheck);
+         cf.fieldConfigurations.add(fc);
+         classConfigs.add(cf);
+      }
+      final POJOConfigurer pojoConfigurer = new POJOConfigurer();
+      pojoConfigurer.setClassConfigurations(classConfigs);
+
+      // the DOM based parser resolves XStream references
+      final XMLConfigurer x4 = new XMLConfigurer();
+      x4.setPojoConfigurer(pojoConfigurer);
+      final String xmlConfigWithReferences = x4.toXML();
+      assertThat(xmlConfigWithReferences).contains("reference=");
+      final XMLConfigurer x5 = new XMLConfigurer();
+      x5.fromXML(xmlConfigWithReferences);
+      assertThat(new Validator(x5).validate(new Manager())).hasSize(1);
+
+      // output written for the streaming parser contains copies
+      final XMLConfigurer x1 = new XMLConfigurer();
+      x1.setStreamingParserEnabled(true);
+      x1.setPojoConfigurer(pojoConfigurer);
+      final String xmlConfig = x1.toXML();
+      assertThat(xmlConfig).doesNotContain("reference=");
+
+      final XMLConfigurer x2 = new XMLConfigurer();
+      x2.setStreamingParserEnabled(true);
+      x2.fromXML(xmlConfig);
+      assertThat(x2.toXML()).isEqualTo(xmlConfig);
+      assertThat(new Validator(x2).validate(new Manager())).hasSize(1);
+
+      // references written by previous versions are rejected instead of being silently resolved to empty elements
+      final XMLConfigurer x3 = new XMLConfigurer();
+      x3.setStreamingParserEnabled(true);
+      try {
+         x3.fromXML("<oval><class type=\"" + Manager.class.getName() + "\"><field name=\"name\"><notNull reference=\"../../../../class/field/notNull\"/>"
+            + "</field></class></oval>");
+         failBecauseExceptionWasNotThrown(XStreamException.class);
+      } catch (final XStreamException ex) {
+         assertThat(ex).hasStackTraceContaining("XStream references are not supported");
+      }
+   }
+
    @Test
    public void testVulnerability_ExternalEntityReferences() {
       final XMLConfigurer x1 = new XMLConfigurer();
@@ -256,6 +379,73 @@ public void testVulnerability_RecursiveInclude() {
       }
    }
 
+   @Test
+   public void testReloadNotifiesChangedClassesOnly() throws Exception {
+      final String xml = "<oval xmlns=\"http://oval.sf.net/oval-configuration\">" //
+         + "<class type=\"" + User.class.getName() + "\"><field name=\"lastName\"><length min=\"1\" max=\"%d\" /></field></class>" //
+         + "<class type=\"" + Manager.class.getName() + "\"><field name=\"name\"><notNull /></field></class>" //
+         + "</oval>";
+      final File xmlFile = File.createTempFile("oval", ".xml");
+      xmlFile.deleteOnExit();
+
+      for (final boolean isLazyLoadingEnabled : new boolean[] {false, true}) {
+         Files.write(xmlFile.toPath(), String.format(xml, 5).getBytes(StandardCharsets.UTF_8));
+         final XMLConfigurer x = new XMLConfigurer();
+         x.setLazyLoadingEnabled(isLazyLoadingEnabled);
+         x.fromXML(xmlFile);
+
+         final List<Set<Class<?>>> notifications = new ArrayList<>();
+         x.addConfigurationChangeListener((classes, constraintSetIds) -> {
+            // listeners are notified without holding the lock of the configurer
+            assertThat(Thread.holdsLock(x)).isFalse();
+            notifications.add(new HashSet<>(classes));
+         });
+
+         // unmodified file
+         x.fromXML(xmlFile);
+         assertThat(notifications).isEmpty();
+
+         Files.write(xmlFile.toPath(), String.format(xml, 10).getBytes(StandardCharsets.UTF_8));
+         x.fromXML(xmlFile);
+         assertThat(notifications).hasSize(1);
+         assertThat(notifications.get(0)).containsOnly(User.class);
+      }
+   }
+
+   @Test
+   public void testWatchXMLFile() throws Exception {
+      final String xml = "<oval xmlns=\"http://oval.sf.net/oval-configuration\">" //
+         + "<class type=\"" + User.class.getName() + "\"><field name=\"lastName\"><length min=\"1\" max=\"%d\" /></field></class>" //
+         + "</oval>";
+      final File xmlFile = File.createTempFile("oval", ".xml");
+      xmlFile.deleteOnExit();
+      Files.write(xmlFile.toPath(), String.format(xml, 5).getBytes(StandardCharsets.UTF_8));
+
+      final XMLConfigurer x = new XMLConfigurer(xmlFile);
+      final Validator validator = new Validator(x);
+      final Set<Class<?>> changedClasses = new HashSet<>();
+      x.addConfigurationChangeListener(validator::reconfigureChecks);
+      x.addConfigurationChangeListener((classes, constraintSetIds) -> changedClasses.addAll(classes));
+
+      final User user = new User();
+      user.lastName = "Miller";
+      assertThat(validator.validate(user)).hasSize(1);
+
+      x.startWatching();
+      try {
+         assertThat(x.isWatching()).isTrue();
+         Files.write(xmlFile.toPath(), String.format(xml, 10).getBytes(StandardCharsets.UTF_8));
+         for (int i = 0; i < 100 && !validator.validate(user).isEmpty(); i++) {
+            Thread.sleep(100);
+         }
+         assertThat(validator.validate(user)).isEmpty();
+         assertThat(changedClasses).containsOnly(User.class);
+      } finally {
+         x.stopWatching();
+      }
+      assertThat(x.isWatching()).isFalse();
+   }
+
    public void validateUser(final Validator validator) {
       final User usr = new User();
 